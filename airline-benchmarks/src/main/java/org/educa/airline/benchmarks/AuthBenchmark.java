@@ -0,0 +1,136 @@
+package org.educa.airline.benchmarks;
+
+import org.educa.airline.entity.User;
+import org.educa.airline.hotkeys.HotKeyService;
+import org.educa.airline.logging.LogSampler;
+import org.educa.airline.repository.inmemory.InMemoryUserRepository;
+import org.educa.airline.security.SecurityUtil;
+import org.educa.airline.services.inservice.SecurityService;
+import org.educa.airline.services.inservice.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del coste de autenticación que se paga en cada petición: la carga del usuario
+ * (UserService.loadUserByUsername), la comprobación de la contraseña (SecurityService.matches/encode)
+ * y las operaciones de SecurityUtil (hash, cifrado y descifrado de los datos del usuario).
+ * Todos los hilos comparten los mismos servicios, así que ejecutándolo con uno y con varios hilos se obtiene
+ * el coste sin contención y con contención:
+ * <p>
+ * java -Dthreads=1,16 -jar target/benchmarks.jar AuthBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthBenchmark {
+
+    /**
+     * Número de usuarios dados de alta.
+     */
+    @Param({"100", "10000"})
+    public int users;
+
+    private SecurityUtil securityUtil;
+    private SecurityService securityService;
+    private UserService userService;
+
+    /**
+     * Contraseña codificada, email cifrado y email en claro de cada usuario, para no medir su construcción.
+     */
+    private String[] encodedPasswords;
+    private String[] cryptedEmails;
+    private String[] emails;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        LogSampler logSampler = new LogSampler();
+        this.securityUtil = new SecurityUtil();
+        this.securityService = new SecurityService(this.securityUtil, logSampler);
+        this.userService = new UserService(new InMemoryUserRepository(), this.securityService, logSampler,
+                new HotKeyService(4, 4096, 20, 60_000));
+        this.encodedPasswords = new String[this.users];
+        this.cryptedEmails = new String[this.users];
+        this.emails = new String[this.users];
+        for (int u = 0; u < this.users; u++) {
+            User user = BenchmarkData.user(u);
+            this.emails[u] = user.getEmail();
+            this.userService.createUser(user);
+            this.encodedPasswords[u] = user.getPassword();
+            this.cryptedEmails[u] = user.getEmail();
+        }
+    }
+
+    /**
+     * Generador aleatorio por hilo para elegir el usuario de cada operación.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        SplittableRandom random = BenchmarkData.threadRandom();
+    }
+
+    private static String username(int u) {
+        return "user" + u;
+    }
+
+    private static String password(int u) {
+        return "password" + u;
+    }
+
+    /**
+     * Lo que hace Spring Security con Basic Auth en cada petición: cargar el usuario y comprobar su contraseña.
+     */
+    @Benchmark
+    public boolean authenticate(ThreadState state) {
+        int u = state.random.nextInt(this.users);
+        UserDetails user = this.userService.loadUserByUsername(username(u));
+        return this.securityService.matches(password(u), user.getPassword());
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername(ThreadState state) {
+        return this.userService.loadUserByUsername(username(state.random.nextInt(this.users)));
+    }
+
+    @Benchmark
+    public boolean matches(ThreadState state) {
+        int u = state.random.nextInt(this.users);
+        return this.securityService.matches(password(u), this.encodedPasswords[u]);
+    }
+
+    @Benchmark
+    public String encode(ThreadState state) {
+        return this.securityService.encode(password(state.random.nextInt(this.users)));
+    }
+
+    @Benchmark
+    public String createHash(ThreadState state) throws Exception {
+        return this.securityUtil.createHash(password(state.random.nextInt(this.users)));
+    }
+
+    @Benchmark
+    public String crypt(ThreadState state) throws Exception {
+        return this.securityUtil.crypt(this.emails[state.random.nextInt(this.users)]);
+    }
+
+    @Benchmark
+    public String decrypt(ThreadState state) throws Exception {
+        return this.securityUtil.decrypt(this.cryptedEmails[state.random.nextInt(this.users)]);
+    }
+}
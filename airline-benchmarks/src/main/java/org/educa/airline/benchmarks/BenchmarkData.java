@@ -0,0 +1,131 @@
+package org.educa.airline.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Luggage;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.entity.Role;
+import org.educa.airline.entity.User;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Datos de prueba de los benchmarks. Todos los valores se calculan a partir del índice,
+ * de forma que cada ejecución trabaja con el mismo catálogo.
+ */
+public final class BenchmarkData {
+
+    /**
+     * Número de rutas (origen-destino) distintas del catálogo.
+     */
+    public static final int ROUTES = 50;
+
+    /**
+     * Número de días distintos en los que se reparten los vuelos.
+     */
+    public static final int DAYS = 365;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private static final AtomicLong NEXT_SEED = new AtomicLong(42);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Generador aleatorio para el estado de un hilo. Cada hilo recibe una semilla distinta, para que no elijan
+     * todos los mismos datos a la vez, y las semillas se repiten en cada ejecución.
+     *
+     * @return el generador del hilo.
+     */
+    public static SplittableRandom threadRandom() {
+        return new SplittableRandom(NEXT_SEED.getAndIncrement());
+    }
+
+    /**
+     * Mismo ObjectMapper que configura Spring Boot para las respuestas (fechas en formato ISO).
+     *
+     * @return un ObjectMapper nuevo.
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public static String idCode(int i) {
+        return "IB" + i;
+    }
+
+    public static String id(int i) {
+        return "F" + i;
+    }
+
+    public static String origin(int route) {
+        return "ORI" + route;
+    }
+
+    public static String destination(int route) {
+        return "DES" + route;
+    }
+
+    public static Date date(int i) {
+        return java.sql.Date.valueOf(FIRST_DAY.plusDays(i % DAYS));
+    }
+
+    public static String nif(int i) {
+        return String.format("%08d", i) + "A";
+    }
+
+    /**
+     * Vuelo número i del catálogo. Los vuelos se reparten por igual entre las rutas.
+     *
+     * @param i índice del vuelo.
+     * @return el vuelo.
+     */
+    public static Flight flight(int i) {
+        int route = i % ROUTES;
+        return new Flight(idCode(i), id(i), origin(route), destination(route), date(i));
+    }
+
+    /**
+     * Pasajero número p del vuelo número i.
+     *
+     * @param i índice del vuelo.
+     * @param p índice del pasajero en el vuelo.
+     * @return el pasajero.
+     */
+    public static Passenger passenger(int i, int p) {
+        return new Passenger(nif(p), idCode(i), "Nombre" + p, "Apellido" + p, "pasajero" + p + "@airline.com", p + 1);
+    }
+
+    /**
+     * Maleta número l del pasajero p en el vuelo i.
+     *
+     * @param i índice del vuelo.
+     * @param p índice del pasajero.
+     * @param l índice de la maleta.
+     * @return la maleta.
+     */
+    public static Luggage luggage(int i, int p, int l) {
+        return new Luggage(l, nif(p), idCode(i), "Maleta " + l);
+    }
+
+    /**
+     * Usuario número u, con los roles admin y personal.
+     *
+     * @param u índice del usuario.
+     * @return el usuario.
+     */
+    public static User user(int u) {
+        List<Role> roles = List.of(new Role("ROLE_admin", "admin", "Administrador"),
+                new Role("ROLE_personal", "personal", "Personal de vuelo"));
+        return new User("user" + u, "password" + u, nif(u), "Nombre" + u, "Apellido" + u, "user" + u + "@airline.com", roles);
+    }
+}
@@ -0,0 +1,32 @@
+package org.educa.airline.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de benchmarks.jar. Acepta las mismas opciones que JMH y, además, ejecuta los
+ * benchmarks una vez por cada número de hilos de la propiedad "threads" (por defecto 1,4,16),
+ * guardando los resultados en JSON para comparar las optimizaciones con esta línea base.
+ * <p>
+ * java -Dthreads=1,8 -jar target/benchmarks.jar FlightRepositoryBenchmark
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        for (String threads : System.getProperty("threads", "1,4,16").split(",")) {
+            int threadCount = Integer.parseInt(threads.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threadCount)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-" + threadCount + "t.json");
+            new Runner(options.build()).run();
+        }
+    }
+}
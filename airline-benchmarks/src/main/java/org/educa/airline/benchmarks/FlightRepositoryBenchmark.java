@@ -0,0 +1,141 @@
+package org.educa.airline.benchmarks;
+
+import org.educa.airline.entity.Flight;
+import org.educa.airline.repository.inmemory.InMemoryFlightRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks de InMemoryFlightRepository con catálogos de distinto tamaño.
+ * Las operaciones de escritura dejan el catálogo con el mismo tamaño (alta y baja del mismo vuelo),
+ * para que todas las iteraciones midan el mismo estado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    private InMemoryFlightRepository repository;
+
+    /**
+     * Siguiente índice libre para las altas; cada hilo usa índices distintos.
+     */
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.repository = new InMemoryFlightRepository();
+        for (int i = 0; i < this.catalogSize; i++) {
+            this.repository.add(BenchmarkData.flight(i));
+        }
+        this.nextIndex.set(this.catalogSize);
+    }
+
+    /**
+     * Generador aleatorio por hilo para elegir el vuelo o la ruta de cada operación.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        SplittableRandom random = BenchmarkData.threadRandom();
+        int ownIndex = -1;
+    }
+
+    /**
+     * Contador de lecturas que han fallado porque otro hilo modificaba el mapa mientras se recorría.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ReadFailures {
+        public long concurrentModifications;
+    }
+
+    @Benchmark
+    public List<Flight> list(ThreadState state) {
+        int route = state.random.nextInt(BenchmarkData.ROUTES);
+        return this.repository.list(BenchmarkData.origin(route), BenchmarkData.destination(route));
+    }
+
+    @Benchmark
+    public Flight getFlightByIdCodeDate(ThreadState state) {
+        int i = state.random.nextInt(this.catalogSize);
+        return this.repository.getFlightByIdCodeDate(BenchmarkData.id(i), BenchmarkData.date(i));
+    }
+
+    @Benchmark
+    public Flight getFlightIdCode(ThreadState state) {
+        return this.repository.getFlightIdCode(BenchmarkData.idCode(state.random.nextInt(this.catalogSize)));
+    }
+
+    /**
+     * Alta y baja de un vuelo nuevo, propio de cada hilo.
+     */
+    @Benchmark
+    public boolean addDelete(ThreadState state) {
+        Flight flight = BenchmarkData.flight(ownIndex(state));
+        this.repository.add(flight);
+        return this.repository.delete(flight.getIdCode());
+    }
+
+    /**
+     * Modificación de un vuelo existente manteniendo su idCode.
+     */
+    @Benchmark
+    public boolean update(ThreadState state) {
+        int i = state.random.nextInt(this.catalogSize);
+        return this.repository.updateFlight(BenchmarkData.idCode(i), BenchmarkData.flight(i));
+    }
+
+    /**
+     * Tráfico de búsqueda: 19 hilos buscan (por ruta o por id y fecha) mientras 1 modifica vuelos.
+     */
+    @Benchmark
+    @Group("searchHeavy")
+    @GroupThreads(19)
+    public Object searchHeavyRead(ThreadState state, ReadFailures failures) {
+        try {
+            return state.random.nextInt(10) < 7 ? list(state) : getFlightByIdCodeDate(state);
+        } catch (ConcurrentModificationException e) {
+            failures.concurrentModifications++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("searchHeavy")
+    @GroupThreads(1)
+    public boolean searchHeavyWrite(ThreadState state) {
+        return state.random.nextBoolean() ? update(state) : addDelete(state);
+    }
+
+    private int ownIndex(ThreadState state) {
+        if (state.ownIndex < 0) {
+            state.ownIndex = this.nextIndex.getAndIncrement();
+        }
+        return state.ownIndex;
+    }
+}
@@ -0,0 +1,104 @@
+package org.educa.airline.benchmarks;
+
+import org.educa.airline.datagen.DataGenProperties;
+import org.educa.airline.datagen.SyntheticDataGenerator;
+import org.educa.airline.diagnostics.EntityFootprint;
+import org.educa.airline.diagnostics.FootprintEstimator;
+import org.educa.airline.diagnostics.ObjectLayout;
+import org.educa.airline.diagnostics.RepositoryFootprint;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Luggage;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.repository.inmemory.InMemoryFlightRepository;
+import org.educa.airline.repository.inmemory.InMemoryLuggageRepository;
+import org.educa.airline.repository.inmemory.InMemoryPassengerRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modo de medida de memoria (no es un benchmark de JMH). Carga los datos sintéticos en los repositorios
+ * por pasos crecientes y, en cada paso, muestra la estimación de FootprintEstimator por repositorio y por
+ * entidad junto con el crecimiento real del heap tras forzar un GC, para ver la tendencia y comprobar
+ * que la estimación se ajusta a lo medido.
+ * <p>
+ * java -Xmx4g -cp target/benchmarks.jar org.educa.airline.benchmarks.FootprintBenchmark 1000 5000 20000
+ */
+public class FootprintBenchmark {
+
+    public static void main(String[] args) {
+        int[] steps = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1_000, 5_000, 10_000, 20_000};
+
+        DataGenProperties properties = new DataGenProperties();
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(properties);
+        ObjectLayout layout = ObjectLayout.current();
+        // Sin muestreo: en este modo interesa la estimación exacta.
+        FootprintEstimator estimator = new FootprintEstimator(layout, Integer.MAX_VALUE);
+
+        InMemoryFlightRepository flights = new InMemoryFlightRepository();
+        InMemoryPassengerRepository passengers = new InMemoryPassengerRepository();
+        InMemoryLuggageRepository luggage = new InMemoryLuggageRepository();
+
+        System.out.printf("Referencias de %d bytes%n", layout.getReferenceSize());
+        System.out.printf("%10s %14s %14s %14s %14s %8s%n", "Vuelos", "Estimado MB", "Heap MB",
+                "Vuelos MB", "Pasajeros MB", "Maletas MB");
+
+        long baseline = usedHeapAfterGc();
+        int loaded = 0;
+        for (int step : steps) {
+            for (; loaded < step; loaded++) {
+                load(generator, loaded, flights, passengers, luggage);
+            }
+            long heap = usedHeapAfterGc() - baseline;
+            List<RepositoryFootprint> footprints = new ArrayList<>();
+            footprints.add(estimator.estimate("flights", flights));
+            footprints.add(estimator.estimate("passengers", passengers));
+            footprints.add(estimator.estimate("luggage", luggage));
+            long estimated = footprints.stream().mapToLong(RepositoryFootprint::getTotalBytes).sum();
+
+            System.out.printf("%10d %14.1f %14.1f %14.1f %14.1f %8.1f%n", loaded, mb(estimated), mb(heap),
+                    mb(footprints.get(0).getTotalBytes()), mb(footprints.get(1).getTotalBytes()),
+                    mb(footprints.get(2).getTotalBytes()));
+            for (RepositoryFootprint footprint : footprints) {
+                for (Map.Entry<String, EntityFootprint> entity : footprint.getEntities().entrySet()) {
+                    System.out.printf("%12s %-12s %10d x %7d bytes%n", footprint.getName(), entity.getKey(),
+                            entity.getValue().getCount(), entity.getValue().getBytesPerEntity());
+                }
+            }
+        }
+    }
+
+    private static void load(SyntheticDataGenerator generator, int i, InMemoryFlightRepository flights,
+                             InMemoryPassengerRepository passengers, InMemoryLuggageRepository luggage) {
+        Flight flight = generator.flight(i);
+        flights.add(flight);
+        List<Passenger> flightPassengers = generator.passengers(i);
+        passengers.addPassengers(flightPassengers);
+        for (Passenger passenger : flightPassengers) {
+            for (Luggage item : generator.luggage(i, passenger)) {
+                luggage.addLuggage(flight.getIdCode(), passenger.getNif(), item);
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // Varias pasadas: un único System.gc() no siempre libera todo lo que ya es basura.
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
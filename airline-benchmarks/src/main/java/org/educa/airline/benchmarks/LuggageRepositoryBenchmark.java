@@ -0,0 +1,111 @@
+package org.educa.airline.benchmarks;
+
+import org.educa.airline.entity.Luggage;
+import org.educa.airline.repository.inmemory.InMemoryLuggageRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de InMemoryLuggageRepository. Las lecturas y modificaciones se hacen sobre claves ya existentes
+ * y las altas se miden sobre un repositorio propio de cada hilo, que se vacía en cada iteración para que el
+ * repositorio compartido no crezca durante la medida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LuggageRepositoryBenchmark {
+
+    @Param({"100", "1000"})
+    public int flights;
+
+    /**
+     * Pasajeros con equipaje por vuelo.
+     */
+    @Param({"100"})
+    public int passengersPerFlight;
+
+    /**
+     * Maletas por pasajero.
+     */
+    @Param({"2"})
+    public int luggagePerPassenger;
+
+    private InMemoryLuggageRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.repository = new InMemoryLuggageRepository();
+        for (int i = 0; i < this.flights; i++) {
+            for (int p = 0; p < this.passengersPerFlight; p++) {
+                for (int l = 0; l < this.luggagePerPassenger; l++) {
+                    this.repository.addLuggage(BenchmarkData.idCode(i), BenchmarkData.nif(p), BenchmarkData.luggage(i, p, l));
+                }
+            }
+        }
+    }
+
+    /**
+     * Generador aleatorio por hilo y repositorio propio para las altas.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        SplittableRandom random = BenchmarkData.threadRandom();
+        InMemoryLuggageRepository ownRepository;
+        int nextLuggageId;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            this.ownRepository = new InMemoryLuggageRepository();
+            this.nextLuggageId = 0;
+        }
+    }
+
+    @Benchmark
+    public List<Luggage> listLuggage(ThreadState state) {
+        return this.repository.listLuggage(BenchmarkData.idCode(state.random.nextInt(this.flights)),
+                BenchmarkData.nif(state.random.nextInt(this.passengersPerFlight)));
+    }
+
+    @Benchmark
+    public Luggage getLuggage(ThreadState state) {
+        return this.repository.getLuggage(BenchmarkData.idCode(state.random.nextInt(this.flights)),
+                BenchmarkData.nif(state.random.nextInt(this.passengersPerFlight)),
+                state.random.nextInt(this.luggagePerPassenger));
+    }
+
+    @Benchmark
+    public boolean updateLuggage(ThreadState state) {
+        int i = state.random.nextInt(this.flights);
+        int p = state.random.nextInt(this.passengersPerFlight);
+        return this.repository.updateLuggage(BenchmarkData.idCode(i), BenchmarkData.nif(p),
+                BenchmarkData.luggage(i, p, state.random.nextInt(this.luggagePerPassenger)));
+    }
+
+    /**
+     * Alta de maletas nuevas en un repositorio del propio hilo, repartidas por los vuelos y pasajeros.
+     */
+    @Benchmark
+    public boolean addLuggage(ThreadState state) {
+        int i = state.random.nextInt(this.flights);
+        int p = state.random.nextInt(this.passengersPerFlight);
+        return state.ownRepository.addLuggage(BenchmarkData.idCode(i), BenchmarkData.nif(p),
+                BenchmarkData.luggage(i, p, state.nextLuggageId++));
+    }
+}
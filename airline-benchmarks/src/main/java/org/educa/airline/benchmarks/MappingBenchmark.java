@@ -0,0 +1,111 @@
+package org.educa.airline.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.educa.airline.dto.FlightDTO;
+import org.educa.airline.dto.PassengerDTO;
+import org.educa.airline.dto.UserDTO;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.entity.User;
+import org.educa.airline.mappers.FlightMapper;
+import org.educa.airline.mappers.PassengerMapper;
+import org.educa.airline.mappers.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la cadena entidad → DTO → JSON de las respuestas con un solo objeto: los mappers y la
+ * serialización con Jackson. Las listas se miden en MappingListBenchmark.
+ * La tasa de asignación de memoria se obtiene con el profiler de GC de JMH:
+ * <p>
+ * java -jar target/benchmarks.jar MappingBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final FlightMapper flightMapper = new FlightMapper();
+    private final PassengerMapper passengerMapper = new PassengerMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private final ObjectMapper objectMapper = BenchmarkData.objectMapper();
+
+    private Flight flight;
+    private FlightDTO flightDTO;
+    private Passenger passenger;
+    private PassengerDTO passengerDTO;
+    private User user;
+    private UserDTO userDTO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.flight = BenchmarkData.flight(0);
+        this.passenger = BenchmarkData.passenger(0, 0);
+        this.user = BenchmarkData.user(0);
+        this.flightDTO = this.flightMapper.flightToDTO(this.flight);
+        this.passengerDTO = this.passengerMapper.passengerToDTO(this.passenger);
+        this.userDTO = this.userMapper.UserEntitytoDTO(this.user);
+    }
+
+    // Mappers
+
+    @Benchmark
+    public FlightDTO flightToDTO() {
+        return this.flightMapper.flightToDTO(this.flight);
+    }
+
+    @Benchmark
+    public PassengerDTO passengerToDTO() {
+        return this.passengerMapper.passengerToDTO(this.passenger);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return this.userMapper.UserEntitytoDTO(this.user);
+    }
+
+    // Serialización de DTOs ya convertidos
+
+    @Benchmark
+    public byte[] serializeFlight() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.flightDTO);
+    }
+
+    @Benchmark
+    public byte[] serializePassenger() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.passengerDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.userDTO);
+    }
+
+    // Cadena completa de una respuesta: entidad → DTO → JSON
+
+    @Benchmark
+    public byte[] flightResponse() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.flightMapper.flightToDTO(this.flight));
+    }
+
+    @Benchmark
+    public byte[] userResponse() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.userMapper.UserEntitytoDTO(this.user));
+    }
+}
@@ -0,0 +1,106 @@
+package org.educa.airline.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.educa.airline.dto.FlightDTO;
+import org.educa.airline.dto.PassengerDTO;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.mappers.FlightMapper;
+import org.educa.airline.mappers.PassengerMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la cadena entidad → DTO → JSON de las respuestas con listas de 10 a 100.000 elementos:
+ * los mappers y la serialización con Jackson, por separado y juntos.
+ * La tasa de asignación de memoria se obtiene con el profiler de GC de JMH:
+ * <p>
+ * java -jar target/benchmarks.jar MappingListBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingListBenchmark {
+
+    /**
+     * Número de elementos de las listas.
+     */
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private final FlightMapper flightMapper = new FlightMapper();
+    private final PassengerMapper passengerMapper = new PassengerMapper();
+
+    private final ObjectMapper objectMapper = BenchmarkData.objectMapper();
+
+    private List<Flight> flights;
+    private List<FlightDTO> flightDTOs;
+    private List<Passenger> passengers;
+    private List<PassengerDTO> passengerDTOs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.flights = new ArrayList<>(this.size);
+        this.passengers = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.flights.add(BenchmarkData.flight(i));
+            this.passengers.add(BenchmarkData.passenger(0, i));
+        }
+        this.flightDTOs = this.flightMapper.flightsToTDO(this.flights);
+        this.passengerDTOs = this.passengerMapper.passengersToDTOs(this.passengers);
+    }
+
+    // Mappers
+
+    @Benchmark
+    public List<FlightDTO> flightsToDTO() {
+        return this.flightMapper.flightsToTDO(this.flights);
+    }
+
+    @Benchmark
+    public List<PassengerDTO> passengersToDTOs() {
+        return this.passengerMapper.passengersToDTOs(this.passengers);
+    }
+
+    // Serialización de DTOs ya convertidos
+
+    @Benchmark
+    public byte[] serializeFlights() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.flightDTOs);
+    }
+
+    @Benchmark
+    public byte[] serializePassengers() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.passengerDTOs);
+    }
+
+    // Cadena completa de una respuesta: entidades → DTOs → JSON
+
+    @Benchmark
+    public byte[] flightsResponse() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.flightMapper.flightsToTDO(this.flights));
+    }
+
+    @Benchmark
+    public byte[] passengersResponse() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.passengerMapper.passengersToDTOs(this.passengers));
+    }
+}
@@ -0,0 +1,141 @@
+package org.educa.airline.benchmarks;
+
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.repository.inmemory.InMemoryPassengerRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks de InMemoryPassengerRepository con distinto número de vuelos y de pasajeros por vuelo
+ * (de vuelos regionales a vuelos de 400 plazas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassengerRepositoryBenchmark {
+
+    @Param({"100", "1000"})
+    public int flights;
+
+    @Param({"50", "400"})
+    public int passengersPerFlight;
+
+    private InMemoryPassengerRepository repository;
+
+    /**
+     * Siguiente nif libre para las altas; cada hilo usa un nif distinto.
+     */
+    private final AtomicInteger nextNif = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.repository = new InMemoryPassengerRepository();
+        for (int i = 0; i < this.flights; i++) {
+            for (int p = 0; p < this.passengersPerFlight; p++) {
+                this.repository.addPassenger(BenchmarkData.passenger(i, p));
+            }
+        }
+        this.nextNif.set(this.passengersPerFlight);
+    }
+
+    /**
+     * Generador aleatorio por hilo para elegir el vuelo y el pasajero de cada operación.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        SplittableRandom random = BenchmarkData.threadRandom();
+        int ownNif = -1;
+    }
+
+    /**
+     * Contador de lecturas que han fallado porque otro hilo modificaba el mapa mientras se recorría.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ReadFailures {
+        public long concurrentModifications;
+    }
+
+    @Benchmark
+    public List<Passenger> listPassengers(ThreadState state) {
+        return this.repository.listPassengers(BenchmarkData.idCode(state.random.nextInt(this.flights)));
+    }
+
+    @Benchmark
+    public Passenger getPassenger(ThreadState state) {
+        return this.repository.getPassenger(BenchmarkData.idCode(state.random.nextInt(this.flights)),
+                BenchmarkData.nif(state.random.nextInt(this.passengersPerFlight)));
+    }
+
+    /**
+     * Alta y baja de un pasajero nuevo, propio de cada hilo, en un vuelo aleatorio.
+     */
+    @Benchmark
+    public boolean addDelete(ThreadState state) {
+        Passenger passenger = BenchmarkData.passenger(state.random.nextInt(this.flights), ownNif(state));
+        this.repository.addPassenger(passenger);
+        return this.repository.deletePassenger(passenger.getFlightIdCode(), passenger.getNif());
+    }
+
+    /**
+     * Modificación de un pasajero existente manteniendo su nif.
+     */
+    @Benchmark
+    public Passenger update(ThreadState state) {
+        Passenger passenger = BenchmarkData.passenger(state.random.nextInt(this.flights),
+                state.random.nextInt(this.passengersPerFlight));
+        this.repository.updatePassenger(passenger.getNif(), passenger);
+        return passenger;
+    }
+
+    /**
+     * Tráfico de reservas: 3 hilos consultan manifiestos y pasajeros mientras 1 da de alta, baja o modifica.
+     */
+    @Benchmark
+    @Group("bookingHeavy")
+    @GroupThreads(3)
+    public Object bookingHeavyRead(ThreadState state, ReadFailures failures) {
+        try {
+            return state.random.nextBoolean() ? listPassengers(state) : getPassenger(state);
+        } catch (ConcurrentModificationException e) {
+            failures.concurrentModifications++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("bookingHeavy")
+    @GroupThreads(1)
+    public Object bookingHeavyWrite(ThreadState state) {
+        return state.random.nextBoolean() ? update(state) : addDelete(state);
+    }
+
+    private int ownNif(ThreadState state) {
+        if (state.ownNif < 0) {
+            state.ownNif = this.nextNif.getAndIncrement();
+        }
+        return state.ownNif;
+    }
+}
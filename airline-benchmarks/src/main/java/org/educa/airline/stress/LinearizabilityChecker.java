@@ -0,0 +1,163 @@
+package org.educa.airline.stress;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Comprobación de linealizabilidad del historial de una clave con el algoritmo de Wing y Gong, con la
+ * caché de estados de Lowe. Busca un orden de las operaciones que respete el orden real (una operación que
+ * termina antes de que empiece otra va antes) y en el que cada resultado sea el de la especificación
+ * secuencial de OpType. Las claves son independientes, así que cada una se comprueba por separado.
+ */
+public class LinearizabilityChecker {
+
+    /**
+     * Resultado de la comprobación.
+     */
+    public enum Verdict {
+        LINEARIZABLE,
+        NOT_LINEARIZABLE,
+        /**
+         * Se ha superado el límite de pasos sin llegar a una conclusión.
+         */
+        UNKNOWN
+    }
+
+    private final long maxSteps;
+
+    /**
+     * @param maxSteps pasos de la búsqueda como máximo por historial.
+     */
+    public LinearizabilityChecker(long maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Comprueba el historial de una clave, que empieza sin nada guardado.
+     *
+     * @param history operaciones sobre la clave.
+     * @return el resultado.
+     */
+    public Verdict check(List<Op> history) {
+        int n = history.size();
+        // Eventos de llamada (0..n-1) y respuesta (n..2n-1) ordenados en el tiempo. Con el mismo instante la
+        // llamada va antes, es decir, se consideran concurrentes.
+        Integer[] events = new Integer[2 * n];
+        for (int i = 0; i < 2 * n; i++) {
+            events[i] = i;
+        }
+        Arrays.sort(events, (a, b) -> {
+            int byTime = Long.compare(time(history, a, n), time(history, b, n));
+            return byTime != 0 ? byTime : Boolean.compare(a >= n, b >= n);
+        });
+
+        // Lista doblemente enlazada de eventos; el nodo 2n es la cabecera.
+        int head = 2 * n;
+        int[] next = new int[2 * n + 1];
+        int[] prev = new int[2 * n + 1];
+        int last = head;
+        for (Integer event : events) {
+            next[last] = event;
+            prev[event] = last;
+            last = event;
+        }
+        next[last] = -1;
+
+        Deque<Frame> stack = new ArrayDeque<>();
+        Set<CacheKey> cache = new HashSet<>();
+        BitSet linearized = new BitSet(n);
+        String state = null;
+        int entry = next[head];
+        long steps = 0;
+        while (next[head] != -1) {
+            if (++steps > this.maxSteps) {
+                return Verdict.UNKNOWN;
+            }
+            if (entry < n) {
+                Op op = history.get(entry);
+                Object after = op.type().next(state, op.version(), op.result());
+                boolean advanced = false;
+                if (after != OpType.ILLEGAL) {
+                    BitSet candidate = (BitSet) linearized.clone();
+                    candidate.set(entry);
+                    if (cache.add(new CacheKey(candidate, (String) after))) {
+                        stack.push(new Frame(entry, state));
+                        state = (String) after;
+                        linearized = candidate;
+                        // Se saca la operación (llamada y respuesta) de la lista.
+                        unlink(entry, next, prev);
+                        unlink(entry + n, next, prev);
+                        entry = next[head];
+                        advanced = true;
+                    }
+                }
+                if (!advanced) {
+                    entry = next[entry];
+                }
+            } else {
+                // Respuesta de una operación sin linealizar: hay que deshacer la última decisión.
+                if (stack.isEmpty()) {
+                    return Verdict.NOT_LINEARIZABLE;
+                }
+                Frame frame = stack.pop();
+                state = frame.state();
+                linearized = (BitSet) linearized.clone();
+                linearized.clear(frame.call());
+                relink(frame.call() + n, next, prev);
+                relink(frame.call(), next, prev);
+                entry = next[frame.call()];
+            }
+        }
+        return Verdict.LINEARIZABLE;
+    }
+
+    /**
+     * Agrupa un historial por clave.
+     *
+     * @param history operaciones de todos los hilos.
+     * @return las operaciones de cada clave.
+     */
+    public static Map<String, List<Op>> byKey(List<Op> history) {
+        Map<String, List<Op>> keys = new TreeMap<>();
+        for (Op op : history) {
+            keys.computeIfAbsent(op.key(), k -> new ArrayList<>()).add(op);
+        }
+        return keys;
+    }
+
+    private static long time(List<Op> history, int event, int n) {
+        return event < n ? history.get(event).invoke() : history.get(event - n).response();
+    }
+
+    private static void unlink(int node, int[] next, int[] prev) {
+        next[prev[node]] = next[node];
+        if (next[node] != -1) {
+            prev[next[node]] = prev[node];
+        }
+    }
+
+    private static void relink(int node, int[] next, int[] prev) {
+        next[prev[node]] = node;
+        if (next[node] != -1) {
+            prev[next[node]] = node;
+        }
+    }
+
+    private record Frame(int call, String state) {
+    }
+
+    /**
+     * Operaciones ya linealizadas y estado al que llevan. Si se vuelve a llegar a la misma combinación
+     * por otro orden no hace falta seguir explorando.
+     */
+    private record CacheKey(BitSet linearized, String state) {
+    }
+}
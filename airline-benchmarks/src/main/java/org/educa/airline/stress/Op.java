@@ -0,0 +1,23 @@
+package org.educa.airline.stress;
+
+/**
+ * Operación de un historial: qué hilo la ha hecho, sobre qué clave, con qué versión, qué ha devuelto
+ * y cuándo ha empezado y terminado (System.nanoTime).
+ *
+ * @param thread   hilo que ha hecho la operación.
+ * @param key      clave sobre la que se ha hecho.
+ * @param type     tipo de operación.
+ * @param version  versión que escribe o null en las lecturas.
+ * @param result   resultado devuelto, o la excepción lanzada.
+ * @param invoke   instante de la llamada.
+ * @param response instante de la respuesta.
+ */
+public record Op(int thread, String key, OpType type, String version, Object result, long invoke, long response) {
+
+    @Override
+    public String toString() {
+        String value = this.result instanceof Throwable error ? error.getClass().getSimpleName() : String.valueOf(this.result);
+        return String.format("[%d..%d] hilo %d %s(%s%s) -> %s", this.invoke, this.response, this.thread, this.type,
+                this.key, this.version == null ? "" : ", " + this.version, value);
+    }
+}
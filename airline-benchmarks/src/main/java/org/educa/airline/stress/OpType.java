@@ -0,0 +1,96 @@
+package org.educa.airline.stress;
+
+/**
+ * Operaciones sobre una clave de un repositorio y su especificación secuencial. El estado de una clave es
+ * la versión del objeto guardado, o null si no existe; cada escritura guarda una versión distinta, de forma
+ * que una lectura identifica qué escritura está viendo.
+ */
+public enum OpType {
+
+    /**
+     * Alta si no existe. Devuelve si se ha insertado.
+     */
+    ADD {
+        @Override
+        Object next(String state, String version, Object result) {
+            boolean added = state == null;
+            return ok(result, added) ? (added ? version : state) : ILLEGAL;
+        }
+    },
+
+    /**
+     * Modificación si existe. Devuelve si se ha modificado.
+     */
+    UPDATE {
+        @Override
+        Object next(String state, String version, Object result) {
+            boolean updated = state != null;
+            return ok(result, updated) ? (updated ? version : null) : ILLEGAL;
+        }
+    },
+
+    /**
+     * Modificación que inserta aunque no exista (updatePassenger). No devuelve nada.
+     */
+    PUT {
+        @Override
+        Object next(String state, String version, Object result) {
+            return ok(result, VOID) ? version : ILLEGAL;
+        }
+    },
+
+    /**
+     * Borrado. Devuelve si se ha borrado.
+     */
+    DELETE {
+        @Override
+        Object next(String state, String version, Object result) {
+            return ok(result, state != null) ? null : ILLEGAL;
+        }
+    },
+
+    /**
+     * Lectura. Devuelve la versión guardada o null.
+     */
+    GET {
+        @Override
+        Object next(String state, String version, Object result) {
+            return ok(result, state) ? state : ILLEGAL;
+        }
+    },
+
+    /**
+     * Comprobación de existencia. Devuelve si existe.
+     */
+    EXISTS {
+        @Override
+        Object next(String state, String version, Object result) {
+            return ok(result, state != null) ? state : ILLEGAL;
+        }
+    };
+
+    /**
+     * Resultado de las operaciones que no devuelven nada.
+     */
+    public static final Object VOID = "void";
+
+    /**
+     * Estado devuelto cuando el resultado observado no es posible desde el estado de partida.
+     */
+    static final Object ILLEGAL = new Object();
+
+    /**
+     * Aplica la operación al estado de la clave según la especificación secuencial.
+     *
+     * @param state   versión guardada antes de la operación o null.
+     * @param version versión que escribe la operación (null en las lecturas).
+     * @param result  resultado observado de la operación.
+     * @return la versión guardada después de la operación, null si no queda nada guardado o ILLEGAL si el
+     * resultado observado no es posible.
+     */
+    abstract Object next(String state, String version, Object result);
+
+    private static boolean ok(Object result, Object expected) {
+        return expected == null ? result == null : expected.equals(result);
+    }
+}
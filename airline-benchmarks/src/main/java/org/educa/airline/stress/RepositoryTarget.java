@@ -0,0 +1,99 @@
+package org.educa.airline.stress;
+
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.repository.FlightRepository;
+import org.educa.airline.repository.PassengerRepository;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Adaptador de un repositorio a las operaciones por clave del historial. Cada escritura guarda la versión
+ * en un campo del objeto que no forma parte de la clave, y las lecturas devuelven ese campo.
+ */
+public interface RepositoryTarget {
+
+    /**
+     * Operaciones que admite el repositorio.
+     *
+     * @return los tipos de operación.
+     */
+    List<OpType> operations();
+
+    /**
+     * Ejecuta una operación.
+     *
+     * @param type    tipo de operación.
+     * @param key     clave.
+     * @param version versión a escribir o null en las lecturas.
+     * @return el resultado en el formato de OpType.
+     */
+    Object execute(OpType type, String key, String version);
+
+    /**
+     * Vuelos por idCode. La versión se guarda en el id del vuelo.
+     *
+     * @param repository repositorio a probar.
+     * @return el adaptador.
+     */
+    static RepositoryTarget flights(FlightRepository repository) {
+        Date date = new Date(0);
+        return new RepositoryTarget() {
+            @Override
+            public List<OpType> operations() {
+                return List.of(OpType.ADD, OpType.UPDATE, OpType.DELETE, OpType.GET);
+            }
+
+            @Override
+            public Object execute(OpType type, String key, String version) {
+                return switch (type) {
+                    case ADD -> repository.add(new Flight(key, version, "MAD", "BCN", date));
+                    case UPDATE -> repository.updateFlight(key, new Flight(key, version, "MAD", "BCN", date));
+                    case DELETE -> repository.delete(key);
+                    case GET -> {
+                        Flight flight = repository.getFlightIdCode(key);
+                        yield flight == null ? null : flight.getId();
+                    }
+                    default -> throw new IllegalArgumentException(type.name());
+                };
+            }
+        };
+    }
+
+    /**
+     * Pasajeros por vuelo y NIF. Las claves tienen la forma vuelo/nif y la versión se guarda en el nombre.
+     *
+     * @param repository repositorio a probar.
+     * @return el adaptador.
+     */
+    static RepositoryTarget passengers(PassengerRepository repository) {
+        return new RepositoryTarget() {
+            @Override
+            public List<OpType> operations() {
+                return List.of(OpType.ADD, OpType.PUT, OpType.DELETE, OpType.GET, OpType.EXISTS);
+            }
+
+            @Override
+            public Object execute(OpType type, String key, String version) {
+                int slash = key.indexOf('/');
+                String flightId = key.substring(0, slash);
+                String nif = key.substring(slash + 1);
+                return switch (type) {
+                    case ADD -> repository.addPassenger(new Passenger(nif, flightId, version, "Stress", "stress@airline.com", 1));
+                    case PUT -> {
+                        repository.updatePassenger(nif, new Passenger(nif, flightId, version, "Stress", "stress@airline.com", 1));
+                        yield OpType.VOID;
+                    }
+                    case DELETE -> repository.deletePassenger(flightId, nif);
+                    case GET -> {
+                        Passenger passenger = repository.getPassenger(flightId, nif);
+                        yield passenger == null ? null : passenger.getName();
+                    }
+                    case EXISTS -> repository.existPassenger(flightId, nif);
+                    default -> throw new IllegalArgumentException(type.name());
+                };
+            }
+        };
+    }
+}
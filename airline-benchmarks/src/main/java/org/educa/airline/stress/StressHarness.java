@@ -0,0 +1,203 @@
+package org.educa.airline.stress;
+
+import org.educa.airline.repository.FlightRepository;
+import org.educa.airline.repository.PassengerRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Prueba de estrés de los repositorios. En cada ronda crea un repositorio nuevo, lanza varios hilos que
+ * hacen altas, modificaciones, borrados y lecturas aleatorias sobre pocas claves a la vez, guarda el historial
+ * de cada hilo y comprueba con LinearizabilityChecker que el de cada clave es linealizable. Sirve para
+ * cualquier implementación de FlightRepository o PassengerRepository con constructor sin argumentos, de forma
+ * que una implementación nueva (por ejemplo, sin cerrojos) se puede validar antes de sustituir a la actual.
+ * <p>
+ * Opciones, en formato --nombre=valor:
+ * <ul>
+ *     <li>--repository: flights o passengers (flights).</li>
+ *     <li>--implementation: clase a probar (InMemoryFlightRepository o InMemoryPassengerRepository).</li>
+ *     <li>--threads: hilos concurrentes (4).</li>
+ *     <li>--keys: claves distintas por ronda; menos claves, más contención (4).</li>
+ *     <li>--operations: operaciones por hilo y ronda (100).</li>
+ *     <li>--rounds: rondas (500).</li>
+ *     <li>--seed: semilla de las operaciones (1).</li>
+ *     <li>--timeout: segundos que puede durar una ronda antes de darla por bloqueada (10).</li>
+ * </ul>
+ * java -cp target/benchmarks.jar org.educa.airline.stress.StressHarness --repository=passengers --threads=8
+ * <p>
+ * Termina con código 1 si algún historial no es linealizable y con 2 si una ronda se bloquea.
+ */
+public class StressHarness {
+
+    /**
+     * Historiales no linealizables que se muestran completos.
+     */
+    private static final int MAX_REPORTED = 3;
+
+    /**
+     * Pasos de la búsqueda por historial antes de darlo por indeterminado.
+     */
+    private static final long MAX_STEPS = 5_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String repository = options.getOrDefault("repository", "flights");
+        String implementation = options.getOrDefault("implementation", switch (repository) {
+            case "flights" -> "org.educa.airline.repository.inmemory.InMemoryFlightRepository";
+            case "passengers" -> "org.educa.airline.repository.inmemory.InMemoryPassengerRepository";
+            default -> throw new IllegalArgumentException("--repository debe ser flights o passengers");
+        });
+        int threads = Integer.parseInt(options.getOrDefault("threads", "4"));
+        int keys = Integer.parseInt(options.getOrDefault("keys", "4"));
+        int operations = Integer.parseInt(options.getOrDefault("operations", "100"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "500"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        int timeout = Integer.parseInt(options.getOrDefault("timeout", "10"));
+
+        StressHarness harness = new StressHarness(repository, Class.forName(implementation), threads, keys, operations);
+        System.out.printf("%s: %d rondas, %d hilos, %d claves, %d operaciones por hilo%n",
+                implementation, rounds, threads, keys, operations);
+        int exitCode;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            exitCode = harness.run(executor, rounds, seed, timeout);
+            executor.shutdownNow();
+        }
+        System.exit(exitCode);
+    }
+
+    private final String repository;
+    private final Class<?> implementation;
+    private final int threads;
+    private final String[] keys;
+    private final int operations;
+    private final LinearizabilityChecker checker = new LinearizabilityChecker(MAX_STEPS);
+    private final Map<LinearizabilityChecker.Verdict, Long> verdicts = new EnumMap<>(LinearizabilityChecker.Verdict.class);
+    private long errors;
+    private int reported;
+
+    public StressHarness(String repository, Class<?> implementation, int threads, int keys, int operations) {
+        this.repository = repository;
+        this.implementation = implementation;
+        this.threads = threads;
+        this.operations = operations;
+        this.keys = new String[keys];
+        // Los pasajeros se reparten entre varios vuelos para que también haya altas concurrentes de vuelos nuevos.
+        int flights = Math.max(1, keys / 2);
+        for (int k = 0; k < keys; k++) {
+            this.keys[k] = repository.equals("passengers")
+                    ? "SF" + (k % flights) + "/" + String.format("%08dS", k)
+                    : "SK" + k;
+        }
+        for (LinearizabilityChecker.Verdict verdict : LinearizabilityChecker.Verdict.values()) {
+            this.verdicts.put(verdict, 0L);
+        }
+    }
+
+    /**
+     * Ejecuta las rondas y muestra el resumen.
+     *
+     * @param executor hilos de las operaciones.
+     * @param rounds   número de rondas.
+     * @param seed     semilla de las operaciones.
+     * @param timeout  segundos que puede durar una ronda.
+     * @return código de salida: 0 si todo es linealizable, 1 si no y 2 si una ronda se ha bloqueado.
+     * @throws Exception si no se puede crear el repositorio.
+     */
+    public int run(ExecutorService executor, int rounds, long seed, int timeout) throws Exception {
+        for (int round = 0; round < rounds; round++) {
+            List<Op> history = round(executor, seed + (long) round * this.threads, timeout);
+            if (history == null) {
+                System.out.printf("La ronda %d no ha terminado en %d s: posible bucle infinito o bloqueo%n", round, timeout);
+                return 2;
+            }
+            for (Map.Entry<String, List<Op>> key : LinearizabilityChecker.byKey(history).entrySet()) {
+                LinearizabilityChecker.Verdict verdict = this.checker.check(key.getValue());
+                this.verdicts.merge(verdict, 1L, Long::sum);
+                if (verdict == LinearizabilityChecker.Verdict.NOT_LINEARIZABLE && this.reported++ < MAX_REPORTED) {
+                    System.out.printf("%nRonda %d, clave %s: historial no linealizable%n", round, key.getKey());
+                    key.getValue().stream().sorted(Comparator.comparingLong(Op::invoke))
+                            .forEach(op -> System.out.println("  " + op));
+                }
+            }
+        }
+
+        long violations = this.verdicts.get(LinearizabilityChecker.Verdict.NOT_LINEARIZABLE);
+        System.out.printf("%nHistoriales: %d linealizables, %d no linealizables, %d indeterminados; %d excepciones%n",
+                this.verdicts.get(LinearizabilityChecker.Verdict.LINEARIZABLE), violations,
+                this.verdicts.get(LinearizabilityChecker.Verdict.UNKNOWN), this.errors);
+        return violations > 0 ? 1 : 0;
+    }
+
+    private List<Op> round(ExecutorService executor, long seed, int timeout) throws Exception {
+        Object instance = this.implementation.getDeclaredConstructor().newInstance();
+        RepositoryTarget target = this.repository.equals("passengers")
+                ? RepositoryTarget.passengers((PassengerRepository) instance)
+                : RepositoryTarget.flights((FlightRepository) instance);
+        List<OpType> types = target.operations();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Op>>> futures = new ArrayList<>();
+        for (int t = 0; t < this.threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed + thread);
+                List<Op> ops = new ArrayList<>(this.operations);
+                start.await();
+                for (int i = 0; i < this.operations; i++) {
+                    String key = this.keys[random.nextInt(this.keys.length)];
+                    OpType type = types.get(random.nextInt(types.size()));
+                    String version = type == OpType.GET || type == OpType.EXISTS || type == OpType.DELETE
+                            ? null
+                            : "v" + thread + "." + i;
+                    Object result;
+                    long invoke = System.nanoTime();
+                    try {
+                        result = target.execute(type, key, version);
+                    } catch (RuntimeException e) {
+                        result = e;
+                    }
+                    long response = System.nanoTime();
+                    ops.add(new Op(thread, key, type, version, result, invoke, response));
+                }
+                return ops;
+            }));
+        }
+        start.countDown();
+
+        List<Op> history = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+        for (Future<List<Op>> future : futures) {
+            try {
+                history.addAll(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                return null;
+            }
+        }
+        this.errors += history.stream().filter(op -> op.result() instanceof Throwable).count();
+        return history;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Opción mal formada: " + arg + " (se espera --nombre=valor)");
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return values;
+    }
+}
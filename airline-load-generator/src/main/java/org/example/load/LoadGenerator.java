@@ -0,0 +1,108 @@
+package org.example.load;
+
+import org.example.api.Credentials;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga HTTP contra un servidor arrancado en local, usando las clases Api* del cliente.
+ * Cada conexión es un hilo que actúa como un usuario simulado con sus propias credenciales y lanza
+ * las operaciones del escenario. Con --rate las peticiones se reparten a intervalos fijos entre las
+ * conexiones (modelo abierto) y la latencia se mide desde el instante previsto de envío.
+ * <p>
+ * java -jar target/load-generator.jar --scenario=search-heavy --connections=64 --rate=2000 --duration=60
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        // Las clases Api* leen la URL del servidor al crearse.
+        System.setProperty("airline.url", options.getUrl());
+
+        Workload workload = new Workload(options);
+        System.out.printf("Dando de alta %d usuarios, %d vuelos y %d pasajeros por vuelo en %s%n",
+                options.getUsers(), options.getFlights(), options.getPassengersPerFlight(), options.getUrl());
+        workload.seed();
+
+        LoadStats stats = new LoadStats();
+        new LoadGenerator(options, workload, stats).run();
+    }
+
+    private final LoadOptions options;
+    private final Workload workload;
+    private final LoadStats stats;
+
+    public LoadGenerator(LoadOptions options, Workload workload, LoadStats stats) {
+        this.options = options;
+        this.workload = workload;
+        this.stats = stats;
+    }
+
+    /**
+     * Lanza las conexiones, espera al final del calentamiento para descartar lo medido, espera al final
+     * de la medida y escribe el informe.
+     *
+     * @throws Exception si se interrumpe la espera o falla la escritura del informe.
+     */
+    public void run() throws Exception {
+        int connections = this.options.getConnections();
+        // Intervalo entre peticiones de una misma conexión para alcanzar la tasa objetivo entre todas.
+        long intervalNanos = this.options.getRate() > 0
+                ? TimeUnit.SECONDS.toNanos(connections) / this.options.getRate()
+                : 0;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureStart = start + TimeUnit.SECONDS.toNanos(this.options.getWarmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(this.options.getDurationSeconds());
+
+        System.out.printf("Calentamiento de %d s y medida de %d s con %d conexiones%n",
+                this.options.getWarmupSeconds(), this.options.getDurationSeconds(), connections);
+        try (ExecutorService executor = this.options.isVirtualThreads()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(connections)) {
+            for (int c = 0; c < connections; c++) {
+                int connection = c;
+                // Se escalonan las conexiones para que no envíen todas a la vez.
+                long firstSend = start + (intervalNanos * c) / connections;
+                executor.submit(() -> connection(connection, firstSend, intervalNanos, end));
+            }
+            sleepUntil(measureStart);
+            this.stats.reset();
+        }
+        this.stats.report(System.out, this.options, end - measureStart);
+    }
+
+    private void connection(int connection, long firstSend, long intervalNanos, long end) {
+        Workload.Session session = new Workload.Session(this.workload.userFor(connection), connection);
+        Credentials.use(session.getUser().getUsername(), session.getUser().getPassword());
+        long nextSend = firstSend;
+        while (true) {
+            long intended = intervalNanos > 0 ? nextSend : System.nanoTime();
+            if (intended >= end) {
+                return;
+            }
+            nextSend += intervalNanos;
+            sleepUntil(intended);
+
+            Operation operation = session.getUser().getMix().next(session.getRandom());
+            String error = null;
+            long sent = System.nanoTime();
+            try {
+                operation = this.workload.execute(session, operation);
+            } catch (Exception e) {
+                error = e.getClass().getSimpleName();
+            }
+            long received = System.nanoTime();
+            this.stats.record(operation, received - intended, received - sent, error);
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.load;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opciones de la generación de carga, en formato --nombre=valor:
+ * <ul>
+ *     <li>--url: URL del servidor (http://localhost:8080).</li>
+ *     <li>--scenario: search-heavy, booking-heavy, mixed o multi-user (mixed).</li>
+ *     <li>--connections: peticiones concurrentes, una por usuario simulado (32).</li>
+ *     <li>--users: usuarios distintos dados de alta; cada conexión usa uno (igual que connections).</li>
+ *     <li>--rate: peticiones por segundo objetivo entre todas las conexiones; 0 sin límite (0).</li>
+ *     <li>--warmup: segundos de calentamiento que no se miden (10).</li>
+ *     <li>--duration: segundos de medida (60).</li>
+ *     <li>--flights: vuelos que se dan de alta antes de empezar (200).</li>
+ *     <li>--passengers: pasajeros por vuelo que se dan de alta antes de empezar (20).</li>
+ *     <li>--threads: virtual o platform, tipo de hilo de cada conexión (virtual).</li>
+ *     <li>--output: directorio donde se guardan los histogramas (load-results).</li>
+ * </ul>
+ */
+@Getter
+public class LoadOptions {
+
+    private String url = "http://localhost:8080";
+    private Scenario scenario = Scenario.MIXED;
+    private int connections = 32;
+    private int users;
+    private int rate = 0;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private int flights = 200;
+    private int passengersPerFlight = 20;
+    private boolean virtualThreads = true;
+    private String output = "load-results";
+
+    /**
+     * Lee las opciones de la línea de comandos.
+     *
+     * @param args argumentos --nombre=valor.
+     * @return las opciones.
+     * @throws IllegalArgumentException si alguna opción no existe o no tiene un valor válido.
+     */
+    public static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Opción mal formada: " + arg + " (se espera --nombre=valor)");
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        LoadOptions options = new LoadOptions();
+        options.url = values.getOrDefault("url", options.url);
+        options.scenario = values.containsKey("scenario") ? Scenario.fromName(values.get("scenario")) : options.scenario;
+        options.connections = intValue(values, "connections", options.connections, 1);
+        options.users = intValue(values, "users", options.connections, 1);
+        options.rate = intValue(values, "rate", options.rate, 0);
+        options.warmupSeconds = intValue(values, "warmup", options.warmupSeconds, 0);
+        options.durationSeconds = intValue(values, "duration", options.durationSeconds, 1);
+        options.flights = intValue(values, "flights", options.flights, 1);
+        options.passengersPerFlight = intValue(values, "passengers", options.passengersPerFlight, 1);
+        options.output = values.getOrDefault("output", options.output);
+        String threads = values.getOrDefault("threads", "virtual");
+        if (!threads.equals("virtual") && !threads.equals("platform")) {
+            throw new IllegalArgumentException("--threads debe ser virtual o platform");
+        }
+        options.virtualThreads = threads.equals("virtual");
+
+        values.keySet().removeAll(List.of("url", "scenario", "connections", "users", "rate", "warmup",
+                "duration", "flights", "passengers", "output", "threads"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Opciones desconocidas: " + values.keySet());
+        }
+        return options;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue, int min) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        int parsed = Integer.parseInt(value);
+        if (parsed < min) {
+            throw new IllegalArgumentException("--" + name + " debe ser como mínimo " + min);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.load;
+
+import org.HdrHistogram.Histogram;
+import org.example.api.LatencyStats;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Latencias y errores de cada operación. Se guardan dos histogramas por operación:
+ * <ul>
+ *     <li>Latencia: desde el instante en el que la petición debía salir según la tasa objetivo hasta la respuesta.
+ *     Corrige la omisión coordinada: si el servidor se atasca, las peticiones que no se pudieron enviar a tiempo
+ *     cuentan el tiempo que han esperado.</li>
+ *     <li>Servicio: desde que la petición sale realmente hasta la respuesta.</li>
+ * </ul>
+ * Sin tasa objetivo (bucle cerrado) ambos coinciden.
+ */
+public class LoadStats {
+
+    private final LatencyStats<Operation> latency = new LatencyStats<>(Operation.class);
+    private final LatencyStats<Operation> service = new LatencyStats<>(Operation.class);
+
+    /**
+     * Registra una petición.
+     *
+     * @param operation    operación ejecutada.
+     * @param latencyNanos latencia desde el instante previsto de envío.
+     * @param serviceNanos latencia desde el envío real.
+     * @param error        nombre del error o null si la petición ha ido bien.
+     */
+    public void record(Operation operation, long latencyNanos, long serviceNanos, String error) {
+        this.latency.record(operation, latencyNanos, error);
+        this.service.record(operation, serviceNanos, null);
+    }
+
+    /**
+     * Descarta lo registrado hasta ahora (fin del calentamiento).
+     */
+    public void reset() {
+        this.latency.reset();
+        this.service.reset();
+    }
+
+    /**
+     * Escribe el resumen por endpoint (peticiones, rendimiento y percentiles) y guarda la distribución
+     * completa de cada endpoint en formato HdrHistogram (.hgrm) en el directorio de salida.
+     *
+     * @param out           salida del resumen.
+     * @param options       opciones de la ejecución.
+     * @param elapsedNanos  duración real de la medida.
+     * @throws IOException si no se pueden escribir los histogramas.
+     */
+    public void report(PrintStream out, LoadOptions options, long elapsedNanos) throws IOException {
+        double seconds = LatencyStats.seconds(elapsedNanos);
+        Path directory = Path.of(options.getOutput(), options.getScenario().name().toLowerCase());
+        Files.createDirectories(directory);
+
+        out.printf("%nEscenario %s, %d conexiones (hilos %s), tasa objetivo %s, %.1f s medidos%n",
+                options.getScenario(), options.getConnections(), options.isVirtualThreads() ? "virtuales" : "de plataforma",
+                options.getRate() > 0 ? options.getRate() + " op/s" : "sin límite", seconds);
+        LatencyStats.Snapshot<Operation> latencySnapshot = this.latency.snapshot();
+        LatencyStats.Snapshot<Operation> serviceSnapshot = this.service.snapshot();
+        latencySnapshot.print(out, seconds, "Endpoint", 42, Operation::getEndpoint,
+                new LatencyStats.Column<>("p99 serv. ms", operation -> operation == null ? ""
+                        : String.format("%.2f", serviceSnapshot.histograms().get(operation).getValueAtPercentile(99)
+                        / LatencyStats.NANOS_PER_MS)));
+
+        for (Map.Entry<Operation, Histogram> entry : latencySnapshot.histograms().entrySet()) {
+            writeHistogram(directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm"), entry.getValue());
+        }
+        writeHistogram(directory.resolve("total.hgrm"), latencySnapshot.total());
+        out.printf("Histogramas guardados en %s%n", directory.toAbsolutePath());
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(stream, LatencyStats.NANOS_PER_MS);
+        }
+    }
+}
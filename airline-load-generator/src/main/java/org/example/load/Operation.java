@@ -0,0 +1,35 @@
+package org.example.load;
+
+/**
+ * Operaciones (endpoints) que puede lanzar la carga. Cada una indica el rol mínimo necesario.
+ */
+public enum Operation {
+
+    SEARCH_FLIGHTS("GET /flights", UserRole.USER),
+    GET_FLIGHT("GET /flights/{id}", UserRole.USER),
+    CREATE_FLIGHT("POST /flights", UserRole.ADMIN),
+    UPDATE_FLIGHT("PUT /flights/{idCode}", UserRole.ADMIN),
+    DELETE_FLIGHT("DELETE /flights/{idCode}", UserRole.ADMIN),
+    ADD_PASSENGER("POST /flights/{idCode}/passengers", UserRole.PERSONAL),
+    GET_PASSENGER("GET /flights/{idCode}/passengers/{nif}", UserRole.PERSONAL),
+    LIST_PASSENGERS("GET /flights/{idCode}/passengers", UserRole.PERSONAL),
+    UPDATE_PASSENGER("PUT /flights/{idCode}/passengers/{nif}", UserRole.PERSONAL),
+    DELETE_PASSENGER("DELETE /flights/{idCode}/passengers/{nif}", UserRole.PERSONAL),
+    GET_USER("GET /user/{username}", UserRole.USER);
+
+    private final String endpoint;
+    private final UserRole requiredRole;
+
+    Operation(String endpoint, UserRole requiredRole) {
+        this.endpoint = endpoint;
+        this.requiredRole = requiredRole;
+    }
+
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    public UserRole getRequiredRole() {
+        return this.requiredRole;
+    }
+}
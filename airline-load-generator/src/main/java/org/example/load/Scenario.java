@@ -0,0 +1,170 @@
+package org.example.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Escenarios de carga: el peso de cada operación y el reparto de roles entre los usuarios simulados.
+ * Cada usuario solo lanza las operaciones que su rol le permite, repartidas según los pesos.
+ */
+public enum Scenario {
+
+    /**
+     * Búsqueda de vuelos: casi todo lecturas de usuarios sin permisos especiales.
+     */
+    SEARCH_HEAVY(0, 0, 100, weights()
+            .with(Operation.SEARCH_FLIGHTS, 70)
+            .with(Operation.GET_FLIGHT, 25)
+            .with(Operation.GET_USER, 5)),
+    /**
+     * Reservas: el personal de vuelo da de alta, consulta, modifica y elimina pasajeros.
+     */
+    BOOKING_HEAVY(0, 100, 0, weights()
+            .with(Operation.ADD_PASSENGER, 35)
+            .with(Operation.GET_PASSENGER, 20)
+            .with(Operation.LIST_PASSENGERS, 15)
+            .with(Operation.UPDATE_PASSENGER, 10)
+            .with(Operation.DELETE_PASSENGER, 10)
+            .with(Operation.SEARCH_FLIGHTS, 10)),
+    /**
+     * Mezcla de lecturas y escrituras de vuelos y pasajeros con administradores.
+     */
+    MIXED(100, 0, 0, weights()
+            .with(Operation.SEARCH_FLIGHTS, 40)
+            .with(Operation.GET_FLIGHT, 15)
+            .with(Operation.ADD_PASSENGER, 15)
+            .with(Operation.GET_PASSENGER, 10)
+            .with(Operation.LIST_PASSENGERS, 5)
+            .with(Operation.UPDATE_PASSENGER, 5)
+            .with(Operation.DELETE_PASSENGER, 4)
+            .with(Operation.UPDATE_FLIGHT, 3)
+            .with(Operation.CREATE_FLIGHT, 2)
+            .with(Operation.DELETE_FLIGHT, 1)),
+    /**
+     * Muchos usuarios concurrentes con roles distintos (10% administradores, 30% personal, 60% usuarios),
+     * cada uno con las operaciones que su rol permite.
+     */
+    MULTI_USER(10, 30, 60, weights()
+            .with(Operation.SEARCH_FLIGHTS, 40)
+            .with(Operation.GET_FLIGHT, 15)
+            .with(Operation.GET_USER, 5)
+            .with(Operation.ADD_PASSENGER, 12)
+            .with(Operation.GET_PASSENGER, 8)
+            .with(Operation.LIST_PASSENGERS, 5)
+            .with(Operation.UPDATE_PASSENGER, 5)
+            .with(Operation.DELETE_PASSENGER, 4)
+            .with(Operation.UPDATE_FLIGHT, 3)
+            .with(Operation.CREATE_FLIGHT, 2)
+            .with(Operation.DELETE_FLIGHT, 1));
+
+    /**
+     * Porcentaje de usuarios de cada rol (el resto son usuarios sin permisos especiales).
+     */
+    private final int adminPercent;
+    private final int personalPercent;
+    private final Map<Operation, Integer> weights;
+
+    Scenario(int adminPercent, int personalPercent, int userPercent, Weights weights) {
+        if (adminPercent + personalPercent + userPercent != 100) {
+            throw new IllegalArgumentException("El reparto de roles debe sumar 100");
+        }
+        this.adminPercent = adminPercent;
+        this.personalPercent = personalPercent;
+        this.weights = weights.map;
+    }
+
+    /**
+     * Convierte el nombre de la línea de comandos (search-heavy, booking-heavy, mixed, multi-user) al escenario.
+     *
+     * @param name nombre del escenario.
+     * @return el escenario.
+     */
+    public static Scenario fromName(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Rol del usuario simulado número i de un total, respetando el reparto del escenario.
+     *
+     * @param i     índice del usuario.
+     * @param total número de usuarios.
+     * @return rol del usuario.
+     */
+    public UserRole roleOf(int i, int total) {
+        int percent = (int) ((i * 100L) / total);
+        if (percent < this.adminPercent) {
+            return UserRole.ADMIN;
+        } else if (percent < this.adminPercent + this.personalPercent) {
+            return UserRole.PERSONAL;
+        }
+        return UserRole.USER;
+    }
+
+    /**
+     * Mezcla de operaciones que puede lanzar un usuario con el rol indicado.
+     *
+     * @param role rol del usuario.
+     * @return la mezcla de operaciones permitidas con sus pesos.
+     */
+    public Mix mixFor(UserRole role) {
+        Map<Operation, Integer> allowed = new EnumMap<>(Operation.class);
+        this.weights.forEach((operation, weight) -> {
+            if (role.allows(operation)) {
+                allowed.put(operation, weight);
+            }
+        });
+        return new Mix(allowed);
+    }
+
+    private static Weights weights() {
+        return new Weights();
+    }
+
+    /**
+     * Constructor de los pesos de cada escenario.
+     */
+    private static final class Weights {
+        private final Map<Operation, Integer> map = new EnumMap<>(Operation.class);
+
+        Weights with(Operation operation, int weight) {
+            this.map.put(operation, weight);
+            return this;
+        }
+    }
+
+    /**
+     * Selección aleatoria ponderada de operaciones.
+     */
+    public static final class Mix {
+        private final Operation[] operations;
+        private final int[] cumulative;
+
+        private Mix(Map<Operation, Integer> weights) {
+            this.operations = weights.keySet().toArray(new Operation[0]);
+            this.cumulative = new int[this.operations.length];
+            int total = 0;
+            for (int i = 0; i < this.operations.length; i++) {
+                total += weights.get(this.operations[i]);
+                this.cumulative[i] = total;
+            }
+        }
+
+        /**
+         * Elige la siguiente operación.
+         *
+         * @param random generador del usuario simulado.
+         * @return la operación.
+         */
+        public Operation next(SplittableRandom random) {
+            int value = random.nextInt(this.cumulative[this.cumulative.length - 1]);
+            for (int i = 0; i < this.cumulative.length; i++) {
+                if (value < this.cumulative[i]) {
+                    return this.operations[i];
+                }
+            }
+            return this.operations[this.operations.length - 1];
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.load;
+
+import org.example.dto.Role;
+
+import java.util.List;
+
+/**
+ * Tipos de usuario que genera la carga, con los roles que se les asignan en el servidor.
+ */
+public enum UserRole {
+
+    /**
+     * Administrador: gestiona vuelos y, como también es personal, pasajeros.
+     */
+    ADMIN(List.of(new Role("ROLE_admin", "admin", "Administrador"),
+            new Role("ROLE_personal", "personal", "Personal de vuelo"))),
+    /**
+     * Personal de vuelo: gestiona pasajeros y consulta vuelos.
+     */
+    PERSONAL(List.of(new Role("ROLE_personal", "personal", "Personal de vuelo"))),
+    /**
+     * Usuario sin permisos especiales: solo consulta vuelos y su propio usuario.
+     */
+    USER(List.of(new Role("ROLE_user", "user", "Usuario")));
+
+    private final List<Role> roles;
+
+    UserRole(List<Role> roles) {
+        this.roles = roles;
+    }
+
+    public List<Role> getRoles() {
+        return this.roles;
+    }
+
+    /**
+     * Comprueba si un usuario con este rol puede realizar una operación sin recibir un 403.
+     *
+     * @param operation operación a comprobar.
+     * @return true si tiene permiso.
+     */
+    public boolean allows(Operation operation) {
+        return switch (operation.getRequiredRole()) {
+            case ADMIN -> this == ADMIN;
+            case PERSONAL -> this == ADMIN || this == PERSONAL;
+            case USER -> true;
+        };
+    }
+}
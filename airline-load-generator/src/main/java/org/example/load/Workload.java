@@ -0,0 +1,306 @@
+package org.example.load;
+
+import org.example.api.ApiFlightService;
+import org.example.api.ApiPassengerService;
+import org.example.api.ApiUserService;
+import org.example.api.Credentials;
+import org.example.dto.FlightDTO;
+import org.example.dto.PassengerDTO;
+import org.example.dto.User;
+import org.example.exceptions.flightException.FlightExists;
+import org.example.exceptions.passengerException.PassengerExists;
+import org.example.exceptions.userExceptions.UserExists;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Datos y operaciones de la carga. Da de alta los usuarios, vuelos y pasajeros iniciales a través de las
+ * clases Api* del cliente y ejecuta cada operación con las credenciales del usuario simulado de la conexión.
+ * Las lecturas y modificaciones se hacen sobre los datos iniciales, que no se borran nunca; los borrados
+ * solo eliminan vuelos y pasajeros creados durante la propia carga.
+ */
+public class Workload {
+
+    private static final String[] AIRPORTS = {"MAD", "BCN", "LHR", "CDG", "FCO", "AMS", "FRA", "LIS", "DUB", "ATH"};
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 30;
+
+    /**
+     * Hilos con los que se dan de alta los datos iniciales.
+     */
+    private static final int SEED_THREADS = 16;
+
+    /**
+     * Usuario administrador con el que se dan de alta los datos iniciales.
+     */
+    private static final String SEED_USERNAME = "load-seed";
+    private static final String SEED_PASSWORD = "load-seed-pw";
+
+    /**
+     * Primer NIF de los pasajeros creados durante la carga, para no coincidir con los iniciales.
+     */
+    private static final long FIRST_NEW_NIF = 90_000_000L;
+
+    private final LoadOptions options;
+    private final ApiFlightService flightApi = new ApiFlightService();
+    private final ApiPassengerService passengerApi = new ApiPassengerService();
+    private final ApiUserService userApi = new ApiUserService();
+
+    private final List<SimulatedUser> users = new ArrayList<>();
+    private final AtomicLong nextNif = new AtomicLong();
+    private final AtomicLong nextFlight = new AtomicLong();
+    private final ConcurrentLinkedQueue<String> createdFlights = new ConcurrentLinkedQueue<>();
+
+    public Workload(LoadOptions options) {
+        this.options = options;
+        for (int u = 0; u < options.getUsers(); u++) {
+            UserRole role = options.getScenario().roleOf(u, options.getUsers());
+            String username = "load-" + role.name().toLowerCase() + "-" + u;
+            this.users.add(new SimulatedUser(username, username + "-pw", role, options.getScenario().mixFor(role)));
+        }
+    }
+
+    /**
+     * Usuario simulado de una conexión. Las conexiones se reparten entre los usuarios de forma circular.
+     *
+     * @param connection número de conexión.
+     * @return el usuario simulado.
+     */
+    public SimulatedUser userFor(int connection) {
+        return this.users.get(connection % this.users.size());
+    }
+
+    /**
+     * Da de alta los usuarios simulados, los vuelos y los pasajeros iniciales. Si ya existen
+     * (otra ejecución contra el mismo servidor) se reutilizan.
+     *
+     * @throws Exception si falla alguna petición.
+     */
+    public void seed() throws Exception {
+        createUser(SEED_USERNAME, SEED_PASSWORD, UserRole.ADMIN);
+        for (SimulatedUser user : this.users) {
+            createUser(user.getUsername(), user.getPassword(), user.getRole());
+        }
+
+        List<Runnable> flightTasks = new ArrayList<>();
+        for (int i = 0; i < this.options.getFlights(); i++) {
+            int flight = i;
+            flightTasks.add(() -> ignoreExisting(() -> this.flightApi.createFlight(flight(flight))));
+        }
+        runAsSeed(flightTasks);
+
+        List<Runnable> passengerTasks = new ArrayList<>();
+        for (int i = 0; i < this.options.getFlights(); i++) {
+            for (int p = 0; p < this.options.getPassengersPerFlight(); p++) {
+                PassengerDTO passenger = passenger(idCode(i), nif(i, p));
+                passengerTasks.add(() -> ignoreExisting(() -> this.passengerApi.addPassenger(passenger, passenger.getFlightIdCode())));
+            }
+        }
+        runAsSeed(passengerTasks);
+    }
+
+    /**
+     * Ejecuta una operación con las credenciales del hilo actual. Si la operación es un borrado y la conexión
+     * no ha creado nada que borrar, se ejecuta en su lugar el alta correspondiente.
+     *
+     * @param session   estado de la conexión.
+     * @param operation operación a ejecutar.
+     * @return la operación ejecutada realmente.
+     * @throws Exception la excepción del cliente si la petición falla.
+     */
+    public Operation execute(Session session, Operation operation) throws Exception {
+        SplittableRandom random = session.random;
+        int i = random.nextInt(this.options.getFlights());
+        switch (operation) {
+            case SEARCH_FLIGHTS -> this.flightApi.getFlights(origin(i), destination(i));
+            case GET_FLIGHT -> this.flightApi.getFlight(id(i), date(i));
+            case CREATE_FLIGHT -> createFlight();
+            case UPDATE_FLIGHT -> this.flightApi.modifyFlight(flight(i), idCode(i));
+            case DELETE_FLIGHT -> {
+                String idCode = this.createdFlights.poll();
+                if (idCode == null) {
+                    createFlight();
+                    return Operation.CREATE_FLIGHT;
+                }
+                this.flightApi.deleteFlight(idCode);
+            }
+            case ADD_PASSENGER -> addPassenger(session, i);
+            case GET_PASSENGER -> this.passengerApi.getPassenger(idCode(i), nif(i, random.nextInt(this.options.getPassengersPerFlight())));
+            case LIST_PASSENGERS -> this.passengerApi.getPassengers(idCode(i));
+            case UPDATE_PASSENGER -> {
+                String nif = nif(i, random.nextInt(this.options.getPassengersPerFlight()));
+                this.passengerApi.updatePassenger(passenger(idCode(i), nif), nif);
+            }
+            case DELETE_PASSENGER -> {
+                String[] own = session.passengers.poll();
+                if (own == null) {
+                    addPassenger(session, i);
+                    return Operation.ADD_PASSENGER;
+                }
+                this.passengerApi.deletePassenger(own[0], own[1]);
+            }
+            case GET_USER -> this.userApi.getUser(session.user.getUsername());
+        }
+        return operation;
+    }
+
+    private void createFlight() throws Exception {
+        long n = this.nextFlight.incrementAndGet();
+        int i = (int) (n % this.options.getFlights());
+        String idCode = "LGN" + n;
+        this.flightApi.createFlight(new FlightDTO(idCode, "N" + n, origin(i), destination(i), flightDate(i)));
+        this.createdFlights.add(idCode);
+    }
+
+    private void addPassenger(Session session, int i) throws Exception {
+        String nif = String.format("%08dN", FIRST_NEW_NIF + this.nextNif.incrementAndGet() % 10_000_000L);
+        this.passengerApi.addPassenger(passenger(idCode(i), nif), idCode(i));
+        session.passengers.push(new String[]{idCode(i), nif});
+    }
+
+    private void createUser(String username, String password, UserRole role) throws Exception {
+        ignoreExisting(() -> this.userApi.createUserApi(new User(username, password, "00000000U", username,
+                "Carga", username + "@airline.com", role.getRoles())));
+    }
+
+    private void runAsSeed(List<Runnable> tasks) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(SEED_THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    Credentials.use(SEED_USERNAME, SEED_PASSWORD);
+                    task.run();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un alta ignorando que el dato ya exista.
+     */
+    private static void ignoreExisting(Request request) {
+        try {
+            request.send();
+        } catch (UserExists | FlightExists | PassengerExists e) {
+            // Ya existe de una ejecución anterior contra el mismo servidor.
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Error al dar de alta los datos iniciales", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        String send() throws Exception;
+    }
+
+    // Datos deterministas de los vuelos y pasajeros iniciales
+
+    static String idCode(int i) {
+        return "LG" + i;
+    }
+
+    static String id(int i) {
+        return "L" + i;
+    }
+
+    static String origin(int i) {
+        return AIRPORTS[i % AIRPORTS.length];
+    }
+
+    static String destination(int i) {
+        int n = AIRPORTS.length;
+        return AIRPORTS[(i % n + 1 + (i / n) % (n - 1)) % n];
+    }
+
+    static LocalDate date(int i) {
+        return FIRST_DATE.plusDays(i % DAYS);
+    }
+
+    static String nif(int i, int p) {
+        return String.format("%08dP", i * 1000L + p);
+    }
+
+    static Date flightDate(int i) {
+        return Date.from(date(i).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    static FlightDTO flight(int i) {
+        return new FlightDTO(idCode(i), id(i), origin(i), destination(i), flightDate(i));
+    }
+
+    static PassengerDTO passenger(String idCode, String nif) {
+        return new PassengerDTO(nif, idCode, "Pasajero", nif, nif.toLowerCase() + "@airline.com", 1);
+    }
+
+    /**
+     * Usuario simulado: credenciales, rol y operaciones que puede lanzar.
+     */
+    public static final class SimulatedUser {
+        private final String username;
+        private final String password;
+        private final UserRole role;
+        private final Scenario.Mix mix;
+
+        SimulatedUser(String username, String password, UserRole role, Scenario.Mix mix) {
+            this.username = username;
+            this.password = password;
+            this.role = role;
+            this.mix = mix;
+        }
+
+        public String getUsername() {
+            return this.username;
+        }
+
+        public String getPassword() {
+            return this.password;
+        }
+
+        public UserRole getRole() {
+            return this.role;
+        }
+
+        public Scenario.Mix getMix() {
+            return this.mix;
+        }
+    }
+
+    /**
+     * Estado de una conexión: su usuario, su generador aleatorio y los pasajeros que ha creado.
+     */
+    public static final class Session {
+        private final SimulatedUser user;
+        private final SplittableRandom random;
+        private final Deque<String[]> passengers = new ArrayDeque<>();
+
+        public Session(SimulatedUser user, long seed) {
+            this.user = user;
+            this.random = new SplittableRandom(seed);
+        }
+
+        public SimulatedUser getUser() {
+            return this.user;
+        }
+
+        public SplittableRandom getRandom() {
+            return this.random;
+        }
+    }
+}
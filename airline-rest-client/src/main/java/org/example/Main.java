@@ -1,9 +1,15 @@
 package org.example;
 
+import org.example.batch.BatchMode;
+import org.example.batch.BatchOptions;
 import org.example.core.Client;
 
 public class Main {
     public static void main(String[] args) throws Exception {
+        // Con --script u --op se ejecuta el guion sin menú (ver BatchOptions).
+        if (BatchOptions.isBatch(args)) {
+            System.exit(BatchMode.run(args));
+        }
         Client client = new Client();
         client.run();
     }
@@ -1,12 +1,11 @@
 package org.example.api;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import org.example.dto.FlightDTO;
 
+import java.io.Reader;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ApiFlightService extends ApiService {
     /**
@@ -25,10 +24,7 @@ public class ApiFlightService extends ApiService {
      * @throws Exception Si falla la petición.
      */
     public List<FlightDTO> getFlights(String origin, String destination) throws Exception {
-        String body = connectionFlight.doGet(URL + "?ori=" + origin + "&des=" + destination);
-        Gson gson = new Gson();
-        FlightDTO[] flightArray = gson.fromJson(body, FlightDTO[].class);
-        return Arrays.asList(flightArray);
+        return connectionFlight.doGet(URL + "?ori=" + origin + "&des=" + destination, Json.FLIGHT_LIST_BODY);
     }
 
     /**
@@ -41,15 +37,13 @@ public class ApiFlightService extends ApiService {
      * @throws Exception Sí falla la petición al servidor.
      */
     public FlightDTO getFlight(String idCode, LocalDate date) throws Exception {
-        String body = connectionFlight.doGet(URL + "/" + idCode + "?date=" + date);
-        Gson gson = new Gson();
-        return gson.fromJson(body, FlightDTO.class);
+        return connectionFlight.doGet(URL + "/" + idCode + "?date=" + date, Json.FLIGHT_BODY);
     }
 
     /**
      * Crea un Gson con el vuelo. Para ello y muy importante,
      * hay que poner la fecha al formato que acepta SpringBoot, de lo
-     * contrario por defecto se pone una que no acepta. Una vez formateada la fecha del
+     * contrario por defecto se pone una que no acepta (lo hace FlightDTOAdapter). Una vez formateada la fecha del
      * vuelo y crear el cuerpo Gson que envía el vueloDTO.
      * Se recoge mensaje o error del servidor a capturar.
      *
@@ -58,11 +52,8 @@ public class ApiFlightService extends ApiService {
      * @throws Exception Sí falla la petición al servidor.
      */
     public String createFlight(FlightDTO flightDTO) throws Exception {
-        Gson gson = new GsonBuilder()
-                .setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX")
-                .create();
-        String jsonString = gson.toJson(flightDTO);
-        return connectionFlight.doPost(jsonString, URL);
+        String jsonString = Json.GSON.toJson(flightDTO);
+        return connectionFlight.doPost(jsonString, URL, flightDTO.getIdCode());
     }
 
     /**
@@ -85,10 +76,62 @@ public class ApiFlightService extends ApiService {
      * @throws Exception tipo de error a capturar en el servicio de vuelo.
      */
     public String modifyFlight(FlightDTO flightDTO, String idCode) throws Exception {
-        Gson gson = new GsonBuilder()
-                .setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX")
-                .create();
-        String jsonString = gson.toJson(flightDTO);
+        String jsonString = Json.GSON.toJson(flightDTO);
         return connectionFlight.doPut(jsonString, URL + "/" + idCode);
     }
+
+    /**
+     * Versión asíncrona de getFlights.
+     *
+     * @param origin      Origen en RequestParam.
+     * @param destination Destino en RequestParam.
+     * @return La lista de vuelos cuando llegue la respuesta o el error a capturar.
+     */
+    public CompletableFuture<List<FlightDTO>> getFlightsAsync(String origin, String destination) {
+        return connectionFlight.doGetAsync(URL + "?ori=" + origin + "&des=" + destination)
+                .thenApply(body -> Json.GSON.fromJson(body, Json.FLIGHT_LIST));
+    }
+
+    /**
+     * Versión asíncrona de getFlight.
+     *
+     * @param idCode IdCode del vuelo en PathVariable.
+     * @param date   Fecha del vuelo en RequestParam.
+     * @return El vueloDTO cuando llegue la respuesta o el error a capturar.
+     */
+    public CompletableFuture<FlightDTO> getFlightAsync(String idCode, LocalDate date) {
+        return connectionFlight.doGetAsync(URL + "/" + idCode + "?date=" + date)
+                .thenApply(body -> Json.GSON.fromJson(body, FlightDTO.class));
+    }
+
+    /**
+     * Versión asíncrona de createFlight.
+     *
+     * @param flightDTO VueloDTO.
+     * @return Respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> createFlightAsync(FlightDTO flightDTO) {
+        return connectionFlight.doPostAsync(Json.GSON.toJson(flightDTO), URL, flightDTO.getIdCode());
+    }
+
+    /**
+     * Versión asíncrona de deleteFlight.
+     *
+     * @param idCode IdCode del vuelo en PathVariable.
+     * @return Respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> deleteFlightAsync(String idCode) {
+        return connectionFlight.doDeleteAsync(URL + "/" + idCode);
+    }
+
+    /**
+     * Versión asíncrona de modifyFlight.
+     *
+     * @param flightDTO vuelo a modificar.
+     * @param idCode    idCode a buscar del vuelo.
+     * @return respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> modifyFlightAsync(FlightDTO flightDTO, String idCode) {
+        return connectionFlight.doPutAsync(Json.GSON.toJson(flightDTO), URL + "/" + idCode);
+    }
 }
@@ -1,10 +1,12 @@
 package org.example.api;
 
-import com.google.gson.Gson;
 import org.example.dto.PassengerDTO;
 
-import java.util.Arrays;
+import java.io.Reader;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class ApiPassengerService extends ApiService {
 
@@ -23,8 +25,7 @@ public class ApiPassengerService extends ApiService {
      */
     public String addPassenger(PassengerDTO passengerDTO, String idCode) throws Exception {
         String URLAdd = URL.replace("{idCode}", idCode);
-        Gson gson = new Gson();
-        String jsonString = gson.toJson(passengerDTO);
+        String jsonString = Json.GSON.toJson(passengerDTO);
         return connectionPassenger.doPost(jsonString, URLAdd);
     }
 
@@ -38,9 +39,7 @@ public class ApiPassengerService extends ApiService {
      */
     public PassengerDTO getPassenger(String idCode, String nif) throws Exception {
         String URLGet = URL.replace("{idCode}", idCode);
-        String body = connectionPassenger.doGet(URLGet + "/" + nif);
-        Gson gson = new Gson();
-        return gson.fromJson(body, PassengerDTO.class);
+        return connectionPassenger.doGet(URLGet + "/" + nif, Json.PASSENGER_BODY);
     }
 
     /**
@@ -65,8 +64,7 @@ public class ApiPassengerService extends ApiService {
      */
     public String updatePassenger(PassengerDTO passengerDTO, String nif) throws Exception {
         String URLDelete = URL.replace("{idCode}", passengerDTO.getFlightIdCode());
-        Gson gson = new Gson();
-        String jsonString = gson.toJson(passengerDTO);
+        String jsonString = Json.GSON.toJson(passengerDTO);
         return connectionPassenger.doPut(jsonString, URLDelete + "/" + nif);
     }
 
@@ -79,9 +77,98 @@ public class ApiPassengerService extends ApiService {
      */
     public List<PassengerDTO> getPassengers(String idCode) throws Exception {
         String URLGet = URL.replace("{idCode}", idCode);
-        String body = connectionPassenger.doGet(URLGet);
-        Gson gson = new Gson();
-        PassengerDTO[] passengersArray = gson.fromJson(body, PassengerDTO[].class);
-        return Arrays.asList(passengersArray);
+        return connectionPassenger.doGet(URLGet, Json.PASSENGER_LIST_BODY);
+    }
+
+    /**
+     * Recorre los pasajeros de un vuelo a medida que llegan del servidor, sin guardar la lista completa
+     * en memoria. Útil para manifiestos grandes.
+     *
+     * @param idCode IdCode el vuelo a buscar.
+     * @param action acción para cada pasajero.
+     * @throws Exception Lanza una excepción si ocurre algún error en el servidor.
+     */
+    public void forEachPassenger(String idCode, Consumer<PassengerDTO> action) throws Exception {
+        String URLGet = URL.replace("{idCode}", idCode);
+        try (Reader body = connectionPassenger.doGetReader(URLGet)) {
+            Json.forEach(body, Json.PASSENGER, action);
+        }
+    }
+
+    /**
+     * Versión asíncrona de addPassenger.
+     *
+     * @param passengerDTO Pasajero en el cuerpo de la petición.
+     * @param idCode       IdCode del vuelo a introducir el pasajero.
+     * @return Respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> addPassengerAsync(PassengerDTO passengerDTO, String idCode) {
+        String URLAdd = URL.replace("{idCode}", idCode);
+        return connectionPassenger.doPostAsync(Json.GSON.toJson(passengerDTO), URLAdd);
+    }
+
+    /**
+     * Embarca varios pasajeros en un vuelo manteniendo varias peticiones en vuelo a la vez (hasta el límite
+     * airline.http.max-in-flight). Cada pasajero tiene su propio futuro para poder tratar los errores uno a uno.
+     *
+     * @param passengers Pasajeros a añadir.
+     * @param idCode     IdCode del vuelo.
+     * @return la respuesta de cada alta, en el mismo orden que los pasajeros.
+     */
+    public List<CompletableFuture<String>> addPassengersAsync(List<PassengerDTO> passengers, String idCode) {
+        List<CompletableFuture<String>> responses = new ArrayList<>(passengers.size());
+        for (PassengerDTO passenger : passengers) {
+            responses.add(addPassengerAsync(passenger, idCode));
+        }
+        return responses;
+    }
+
+    /**
+     * Versión asíncrona de getPassenger.
+     *
+     * @param idCode IdCode del vuelo a buscar.
+     * @param nif    Nif del pasajero a buscar en el vuelo.
+     * @return El pasajero cuando llegue la respuesta o error a capturar.
+     */
+    public CompletableFuture<PassengerDTO> getPassengerAsync(String idCode, String nif) {
+        String URLGet = URL.replace("{idCode}", idCode);
+        return connectionPassenger.doGetAsync(URLGet + "/" + nif)
+                .thenApply(body -> Json.GSON.fromJson(body, PassengerDTO.class));
+    }
+
+    /**
+     * Versión asíncrona de deletePassenger.
+     *
+     * @param idCode IdCode del vuelo a buscar.
+     * @param nif    Nif del pasajero a buscar.
+     * @return Respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> deletePassengerAsync(String idCode, String nif) {
+        String URLDelete = URL.replace("{idCode}", idCode);
+        return connectionPassenger.doDeleteAsync(URLDelete + "/" + nif);
+    }
+
+    /**
+     * Versión asíncrona de updatePassenger.
+     *
+     * @param passengerDTO Pasajero a modificar en el vuelo.
+     * @param nif          Nif del pasajero a buscar en el vuelo.
+     * @return Respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> updatePassengerAsync(PassengerDTO passengerDTO, String nif) {
+        String URLUpdate = URL.replace("{idCode}", passengerDTO.getFlightIdCode());
+        return connectionPassenger.doPutAsync(Json.GSON.toJson(passengerDTO), URLUpdate + "/" + nif);
+    }
+
+    /**
+     * Versión asíncrona de getPassengers.
+     *
+     * @param idCode IdCode el vuelo a buscar.
+     * @return lista de pasajeros del vuelo cuando llegue la respuesta o error a capturar.
+     */
+    public CompletableFuture<List<PassengerDTO>> getPassengersAsync(String idCode) {
+        String URLGet = URL.replace("{idCode}", idCode);
+        return connectionPassenger.doGetAsync(URLGet)
+                .thenApply(body -> Json.GSON.fromJson(body, Json.PASSENGER_LIST));
     }
 }
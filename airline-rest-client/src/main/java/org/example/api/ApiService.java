@@ -1,10 +1,11 @@
 package org.example.api;
 
 /**
- * Clase para no acoplar la conexión ni la URL.
+ * Clase para no acoplar la conexión ni la URL. La URL del servidor se puede cambiar con la propiedad
+ * de sistema airline.url (por defecto http://localhost:8080).
  */
 public abstract class ApiService {
-    final String URL = "http://localhost:8080";
+    final String URL = System.getProperty("airline.url", "http://localhost:8080");
     final ConnectionFlight connectionFlight = new ConnectionFlight();
     final ConnectionPassenger connectionPassenger = new ConnectionPassenger();
     final ConnectionUser connectionUser = new ConnectionUser();
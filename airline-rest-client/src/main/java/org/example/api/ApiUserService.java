@@ -1,8 +1,9 @@
 package org.example.api;
 
-import com.google.gson.Gson;
 import org.example.dto.User;
 
+import java.util.concurrent.CompletableFuture;
+
 public class ApiUserService extends ApiService {
     /**
      * URL hacia el endpoint del servidor para gestionar los usuarios.
@@ -17,8 +18,7 @@ public class ApiUserService extends ApiService {
      * @throws Exception en caso de que falle la petición al servidor.
      */
     public String createUserApi(User user) throws Exception {
-        Gson gson = new Gson();
-        String body = gson.toJson(user);
+        String body = Json.GSON.toJson(user);
         return connectionUser.doPost(body, URL);
     }
 
@@ -30,8 +30,7 @@ public class ApiUserService extends ApiService {
      * @throws Exception en caso de que falle la petición.
      */
     public String modifyUserApi(User newUser) throws Exception {
-        Gson gson = new Gson();
-        String body = gson.toJson(newUser);
+        String body = Json.GSON.toJson(newUser);
         return connectionUser.doUpdate(body, URL + "/" + newUser.getUsername());
     }
 
@@ -55,7 +54,47 @@ public class ApiUserService extends ApiService {
      */
     public User getUser(String surname) throws Exception {
         String body = connectionUser.doGet(URL + "/" + surname);
-        Gson gson = new Gson();
-        return gson.fromJson(body, User.class);
+        return Json.GSON.fromJson(body, User.class);
+    }
+
+    /**
+     * Versión asíncrona de createUserApi.
+     *
+     * @param user usuario a inserta en la base de datos.
+     * @return respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> createUserApiAsync(User user) {
+        return connectionUser.doPostAsync(Json.GSON.toJson(user), URL);
+    }
+
+    /**
+     * Versión asíncrona de modifyUserApi.
+     *
+     * @param newUser usuario con nuevos datos.
+     * @return respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> modifyUserApiAsync(User newUser) {
+        return connectionUser.doUpdateAsync(Json.GSON.toJson(newUser), URL + "/" + newUser.getUsername());
+    }
+
+    /**
+     * Versión asíncrona de deleteUserApi.
+     *
+     * @param surname nombreUsuario a buscar en el servidor para eliminar.
+     * @return respuesta del servidor cuando llegue o error a capturar.
+     */
+    public CompletableFuture<String> deleteUserApiAsync(String surname) {
+        return connectionUser.doDeleteAsync(URL + "/" + surname);
+    }
+
+    /**
+     * Versión asíncrona de getUser.
+     *
+     * @param surname nombreUsuario.
+     * @return el usuario cuando llegue la respuesta o error a capturar.
+     */
+    public CompletableFuture<User> getUserAsync(String surname) {
+        return connectionUser.doGetAsync(URL + "/" + surname)
+                .thenApply(body -> Json.GSON.fromJson(body, User.class));
     }
 }
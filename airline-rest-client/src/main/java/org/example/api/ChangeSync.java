@@ -0,0 +1,198 @@
+package org.example.api;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import org.example.dto.FlightDTO;
+import org.example.dto.PassengerDTO;
+import org.example.exceptions.generalException.SyncExpired;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Copia local de los vuelos o pasajeros del servidor que se mantiene al día con /changes: la primera
+ * sincronización descarga todos los datos y las siguientes solo los cambios desde la anterior, así que
+ * mantenerla cuesta lo que cambia y no lo que hay. Si el servidor ya no puede dar los cambios (se ha reiniciado
+ * o han pasado demasiados borrados) se vuelve a descargar todo. La secuencia es de cada instancia del servidor,
+ * así que con varias (airline.urls) todas las peticiones de /changes van a la misma. La copia se puede leer desde
+ * otros hilos mientras se sincroniza.
+ * <pre>
+ * ChangeSync&lt;FlightDTO&gt; flights = ChangeSync.flights();
+ * flights.sync();                 // cada pocos segundos
+ * flights.replica().get("IB123");
+ * </pre>
+ *
+ * @param <T> FlightDTO o PassengerDTO.
+ */
+public class ChangeSync<T> extends ApiService {
+
+    /**
+     * Cambios que se piden en cada petición.
+     */
+    private static final int PAGE = 5000;
+
+    /**
+     * Descargas completas seguidas antes de dar por fallida una sincronización.
+     */
+    private static final int RESYNC_ATTEMPTS = 3;
+
+    private final ConnectionChanges connectionChanges = new ConnectionChanges();
+    private final String url;
+    private final TypeAdapter<T> adapter;
+    private final Function<T, String> key;
+
+    private volatile Map<String, T> replica = new ConcurrentHashMap<>();
+    private String epoch;
+    private long sequence;
+
+    private ChangeSync(String path, TypeAdapter<T> adapter, Function<T, String> key) {
+        this.url = super.URL + path;
+        this.adapter = adapter;
+        this.key = key;
+    }
+
+    /**
+     * Copia de los vuelos, por idCode. Requiere autenticación.
+     *
+     * @return la copia, vacía hasta la primera sincronización.
+     */
+    public static ChangeSync<FlightDTO> flights() {
+        return new ChangeSync<>("/changes/flights", Json.FLIGHT, FlightDTO::getIdCode);
+    }
+
+    /**
+     * Copia de los pasajeros, por idCode/nif. Requiere el rol personal.
+     *
+     * @return la copia, vacía hasta la primera sincronización.
+     */
+    public static ChangeSync<PassengerDTO> passengers() {
+        return new ChangeSync<>("/changes/passengers", Json.PASSENGER, p -> p.getFlightIdCode() + "/" + p.getNif());
+    }
+
+    /**
+     * Aplica a la copia los cambios desde la última sincronización.
+     *
+     * @return número de cambios aplicados.
+     * @throws Exception los errores de la petición (NotAuth, RoleWrong...).
+     */
+    public synchronized int sync() throws Exception {
+        if (this.epoch == null) {
+            return resync();
+        }
+        try {
+            return pull(this.replica);
+        } catch (SyncExpired e) {
+            return resync();
+        }
+    }
+
+    /**
+     * Descarga todos los datos en una copia nueva y la sustituye al terminar, de forma que quien lee
+     * no ve nunca la copia a medias. Si el servidor cambia de época durante la descarga (se ha reiniciado o,
+     * con varias instancias, la de /changes se ha apartado) se empieza de nuevo, hasta RESYNC_ATTEMPTS veces.
+     */
+    private int resync() throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            this.epoch = null;
+            this.sequence = 0;
+            Map<String, T> fresh = new ConcurrentHashMap<>();
+            try {
+                int applied = pull(fresh);
+                this.replica = fresh;
+                return applied;
+            } catch (Exception e) {
+                // La secuencia es la de la copia nueva, que se descarta.
+                this.epoch = null;
+                this.sequence = 0;
+                if (!(e instanceof SyncExpired) || attempt == RESYNC_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private int pull(Map<String, T> target) throws Exception {
+        int applied = 0;
+        boolean more = true;
+        while (more) {
+            String query = "?since=" + this.sequence + "&limit=" + PAGE + (this.epoch == null ? "" : "&epoch=" + this.epoch);
+            Page page;
+            try (Reader body = this.connectionChanges.doGetReader(this.url + query)) {
+                page = readPage(body, target);
+            }
+            applied += page.applied;
+            this.epoch = page.epoch;
+            this.sequence = page.sequence;
+            more = page.more;
+        }
+        return applied;
+    }
+
+    /**
+     * Lee una respuesta aplicando cada cambio en cuanto se lee. Si la lectura falla a medias la secuencia no
+     * avanza y la siguiente sincronización repite la página; como cada cambio es el estado final de su clave,
+     * aplicarlo dos veces da lo mismo.
+     */
+    private Page readPage(Reader body, Map<String, T> target) throws IOException {
+        Page page = new Page();
+        JsonReader reader = Json.GSON.newJsonReader(body);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "epoch" -> page.epoch = reader.nextString();
+                case "sequence" -> page.sequence = reader.nextLong();
+                case "more" -> page.more = reader.nextBoolean();
+                case "upserts" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        T value = this.adapter.read(reader);
+                        target.put(this.key.apply(value), value);
+                        page.applied++;
+                    }
+                    reader.endArray();
+                }
+                case "deletes" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        target.remove(reader.nextString());
+                        page.applied++;
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return page;
+    }
+
+    /**
+     * Datos copiados, por clave (idCode del vuelo o idCode/nif del pasajero). Es una vista de solo lectura
+     * que refleja las sincronizaciones posteriores salvo cuando se vuelve a descargar todo.
+     *
+     * @return la copia.
+     */
+    public Map<String, T> replica() {
+        return Collections.unmodifiableMap(this.replica);
+    }
+
+    /**
+     * Secuencia hasta la que está sincronizada la copia.
+     *
+     * @return la secuencia, 0 antes de la primera sincronización.
+     */
+    public synchronized long sequence() {
+        return this.sequence;
+    }
+
+    private static final class Page {
+        private String epoch;
+        private long sequence;
+        private boolean more;
+        private int applied;
+    }
+}
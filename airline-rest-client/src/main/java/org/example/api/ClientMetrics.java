@@ -0,0 +1,270 @@
+package org.example.api;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Métricas del cliente HTTP: latencia de cada operación (método y ruta sin identificadores) y código de estado,
+ * peticiones en curso y conexiones TCP con el servidor. La latencia se mide en HttpTransport desde que se envía la
+ * petición hasta que se recibe la respuesta; en las respuestas leídas como flujo (listados) solo hasta las cabeceras.
+ * Los fallos de conexión se anotan con el estado 0.
+ * <p>
+ * Con airline.http.metrics.server-timing=true las peticiones llevan la cabecera X-Server-Timing y se guarda también
+ * el tiempo total en el servidor que devuelve la cabecera Server-Timing, de forma que la diferencia entre ambos es el
+ * tiempo de red y del cliente. El servidor guarda esas respuestas en memoria antes de enviarlas, así que no conviene
+ * activarlo al medir listados grandes.
+ */
+public final class ClientMetrics {
+
+    /**
+     * Segmentos de la ruta seguidos de un identificador, que se sustituye por su nombre.
+     */
+    private static final Map<String, String> IDENTIFIERS = Map.of(
+            "flights", "{idCode}",
+            "passengers", "{nif}",
+            "user", "{username}");
+
+    /**
+     * Tiempo total en el servidor dentro de la cabecera Server-Timing, en milisegundos.
+     */
+    private static final Pattern SERVER_TOTAL = Pattern.compile("(?:^|,)\\s*total\\s*;\\s*dur=([0-9.]+)");
+
+    static final boolean SERVER_TIMING = Boolean.getBoolean("airline.http.metrics.server-timing");
+
+    private static final Map<Key, Latencies> LATENCIES = new ConcurrentHashMap<>();
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger PEAK_IN_FLIGHT = new AtomicInteger();
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final SocketSampler SOCKETS = SocketSampler.start();
+
+    private ClientMetrics() {
+    }
+
+    /**
+     * Anota el envío de una petición.
+     *
+     * @param request petición.
+     * @return la medida, que hay que terminar con finish, fail o abandon.
+     */
+    static Exchange start(HttpRequest request) {
+        REQUESTS.increment();
+        PEAK_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+        return new Exchange(request.method(), request.uri(), System.nanoTime());
+    }
+
+    /**
+     * Instantánea de las latencias desde el principio o desde el último reset y de las peticiones y conexiones.
+     *
+     * @return las métricas.
+     */
+    public static Snapshot snapshot() {
+        List<Operation> operations = new ArrayList<>();
+        LATENCIES.forEach((key, latencies) -> operations.add(latencies.snapshot(key)));
+        operations.sort(Comparator.comparing(Operation::operation).thenComparingInt(Operation::status));
+        return new Snapshot(REQUESTS.sum(), IN_FLIGHT.get(), PEAK_IN_FLIGHT.get(),
+                SOCKETS == null ? -1 : SOCKETS.open(),
+                SOCKETS == null ? -1 : SOCKETS.peakOpen(),
+                SOCKETS == null ? -1 : SOCKETS.opened(),
+                Collections.unmodifiableList(operations));
+    }
+
+    /**
+     * Descarta las latencias y el máximo de peticiones en curso registrados hasta ahora. Las peticiones
+     * y las conexiones se cuentan siempre desde el principio.
+     */
+    public static void reset() {
+        LATENCIES.values().forEach(Latencies::reset);
+        PEAK_IN_FLIGHT.set(IN_FLIGHT.get());
+    }
+
+    /**
+     * Escribe las métricas en forma de tabla.
+     *
+     * @param out salida.
+     */
+    public static void print(PrintStream out) {
+        Snapshot snapshot = snapshot();
+        out.printf("Peticiones: %d, en curso: %d (máximo %d)%n",
+                snapshot.requests(), snapshot.inFlight(), snapshot.peakInFlight());
+        if (snapshot.openConnections() < 0) {
+            out.println("Conexiones TCP: no disponible en este sistema");
+        } else {
+            out.printf("Conexiones TCP: abiertas %d (máximo %d), abiertas en total %d, %s peticiones por conexión%n",
+                    snapshot.openConnections(), snapshot.peakConnections(), snapshot.connectionsOpened(),
+                    snapshot.connectionsOpened() == 0 ? "-" : String.format("%.1f", snapshot.requestsPerConnection()));
+        }
+        if (snapshot.operations().isEmpty()) {
+            return;
+        }
+        out.printf("%-42s %6s %10s %9s %9s %9s %9s %13s%n", "Operación", "Estado", "Peticiones",
+                "p50 ms", "p90 ms", "p99 ms", "max ms", "p50 serv. ms");
+        for (Operation operation : snapshot.operations()) {
+            Histogram client = operation.client();
+            Histogram server = operation.server();
+            out.printf("%-42s %6s %10d %9.2f %9.2f %9.2f %9.2f %13s%n", operation.operation(),
+                    operation.status() == 0 ? "error" : operation.status(),
+                    client.getTotalCount(),
+                    client.getValueAtPercentile(50) / LatencyStats.NANOS_PER_MS,
+                    client.getValueAtPercentile(90) / LatencyStats.NANOS_PER_MS,
+                    client.getValueAtPercentile(99) / LatencyStats.NANOS_PER_MS,
+                    client.getMaxValue() / LatencyStats.NANOS_PER_MS,
+                    server.getTotalCount() == 0 ? "" : String.format("%.2f", server.getValueAtPercentile(50) / LatencyStats.NANOS_PER_MS));
+        }
+    }
+
+    /**
+     * Operación sin identificadores: GET /flights/AB12/passengers/123 pasa a GET /flights/{idCode}/passengers/{nif}.
+     */
+    static String operation(String method, URI uri) {
+        String[] segments = uri.getPath().split("/");
+        StringBuilder path = new StringBuilder(method).append(' ');
+        for (int i = 1; i < segments.length; i++) {
+            path.append('/');
+            String identifier = IDENTIFIERS.get(segments[i - 1]);
+            path.append(identifier != null && i > 1 ? identifier : segments[i]);
+        }
+        return segments.length <= 1 ? path.append('/').toString() : path.toString();
+    }
+
+    private static long serverNanos(HttpResponse<?> response) {
+        return response.headers().firstValue("Server-Timing").map(header -> {
+            Matcher matcher = SERVER_TOTAL.matcher(header);
+            return matcher.find() ? (long) (Double.parseDouble(matcher.group(1)) * LatencyStats.NANOS_PER_MS) : -1L;
+        }).orElse(-1L);
+    }
+
+    /**
+     * Medida de una petición en curso.
+     */
+    static final class Exchange {
+        private final String method;
+        private final URI uri;
+        private final long start;
+
+        private Exchange(String method, URI uri, long start) {
+            this.method = method;
+            this.uri = uri;
+            this.start = start;
+        }
+
+        /**
+         * La petición ha recibido respuesta.
+         */
+        void finish(HttpResponse<?> response) {
+            record(response.statusCode(), serverNanos(response));
+        }
+
+        /**
+         * La petición ha fallado sin respuesta.
+         */
+        void fail() {
+            record(0, -1);
+        }
+
+        /**
+         * La petición se ha cancelado (una petición de cobertura que ya no hace falta) y no se anota su latencia.
+         */
+        void abandon() {
+            IN_FLIGHT.decrementAndGet();
+        }
+
+        private void record(int status, long serverNanos) {
+            long elapsed = System.nanoTime() - this.start;
+            IN_FLIGHT.decrementAndGet();
+            Latencies latencies = LATENCIES.computeIfAbsent(new Key(operation(this.method, this.uri), status),
+                    key -> new Latencies());
+            latencies.client.recordValue(elapsed);
+            if (serverNanos >= 0) {
+                latencies.server.recordValue(serverNanos);
+            }
+        }
+    }
+
+    private record Key(String operation, int status) {
+    }
+
+    /**
+     * Histogramas de una operación y estado. Cada Recorder se vacía al hacer una instantánea y lo leído se
+     * acumula en el histograma correspondiente, de forma que registrar no bloquea nunca.
+     */
+    private static final class Latencies {
+        private final Recorder client = new Recorder(LatencyStats.SIGNIFICANT_DIGITS);
+        private final Recorder server = new Recorder(LatencyStats.SIGNIFICANT_DIGITS);
+        private final Histogram clientTotal = new Histogram(LatencyStats.SIGNIFICANT_DIGITS);
+        private final Histogram serverTotal = new Histogram(LatencyStats.SIGNIFICANT_DIGITS);
+
+        private synchronized Operation snapshot(Key key) {
+            this.clientTotal.add(this.client.getIntervalHistogram());
+            this.serverTotal.add(this.server.getIntervalHistogram());
+            return new Operation(key.operation(), key.status(), this.clientTotal.copy(), this.serverTotal.copy());
+        }
+
+        private synchronized void reset() {
+            this.client.reset();
+            this.server.reset();
+            this.clientTotal.reset();
+            this.serverTotal.reset();
+        }
+    }
+
+    /**
+     * Latencias de una operación con un código de estado.
+     *
+     * @param operation método y ruta sin identificadores.
+     * @param status    código de estado, 0 si falló la conexión.
+     * @param client    latencia medida en el cliente, en nanosegundos.
+     * @param server    tiempo en el servidor según Server-Timing, en nanosegundos; vacío si no lo envía.
+     */
+    public record Operation(String operation, int status, Histogram client, Histogram server) {
+    }
+
+    /**
+     * Métricas del cliente en un instante.
+     *
+     * @param requests          peticiones enviadas.
+     * @param inFlight          peticiones en curso.
+     * @param peakInFlight      máximo de peticiones en curso a la vez.
+     * @param openConnections   conexiones TCP abiertas con el servidor, -1 si no se puede saber.
+     * @param peakConnections   máximo de conexiones abiertas a la vez, -1 si no se puede saber.
+     * @param connectionsOpened conexiones abiertas desde el principio (como mínimo), -1 si no se puede saber.
+     * @param operations        latencias por operación y estado.
+     */
+    public record Snapshot(long requests, int inFlight, int peakInFlight, int openConnections, int peakConnections,
+                           long connectionsOpened, List<Operation> operations) {
+
+        /**
+         * Peticiones enviadas por cada conexión abierta: cuanto mayor, más se reutilizan las conexiones.
+         *
+         * @return la media, o 0 si no se han visto conexiones.
+         */
+        public double requestsPerConnection() {
+            return this.connectionsOpened <= 0 ? 0 : (double) this.requests / this.connectionsOpened;
+        }
+
+        /**
+         * Latencia de todas las operaciones juntas, en nanosegundos.
+         *
+         * @return el histograma.
+         */
+        public Histogram total() {
+            Histogram total = new Histogram(LatencyStats.SIGNIFICANT_DIGITS);
+            this.operations.forEach(operation -> total.add(operation.client()));
+            return total;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.api;
+
+import org.example.exceptions.generalException.NotAuth;
+import org.example.exceptions.generalException.RoleWrong;
+import org.example.exceptions.generalException.SyncExpired;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+public class ConnectionChanges {
+
+    /**
+     * Construye una petición GET para conseguir los cambios desde una secuencia y devuelve el cuerpo sin leer,
+     * para aplicar los cambios a medida que llegan. Hay que cerrar el Reader al terminar.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return los cambios en el cuerpo Json (httpStatus=200).
+     * @throws Exception Sí falla la petición al servidor.
+     *                   SyncExpired si hay que sincronizar desde 0 y httpStatus=410.
+     *                   NotAuth si no se ha autenticado.
+     *                   RoleWrong si no tiene los permisos de rol.
+     */
+    public Reader doGetReader(String url) throws Exception {
+        HttpRequest request = HttpTransport.request(url)
+                .header("Authorization", Credentials.header())
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = HttpTransport.sendStream(request);
+        if (response.statusCode() == 200) {
+            return new InputStreamReader(response.body(), StandardCharsets.UTF_8);
+        }
+        response.body().close();
+        if (response.statusCode() == 410) {
+            throw new SyncExpired();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
+        }
+    }
+}
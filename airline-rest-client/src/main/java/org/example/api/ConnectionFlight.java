@@ -1,16 +1,19 @@
 package org.example.api;
 
-import org.example.core.Client;
 import org.example.exceptions.flightException.FlightExists;
 import org.example.exceptions.flightException.FlightNotFound;
 import org.example.exceptions.generalException.BadRequest;
 import org.example.exceptions.generalException.NotAuth;
 import org.example.exceptions.generalException.RoleWrong;
 
-import java.net.URI;
-import java.net.http.HttpClient;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 public class ConnectionFlight {
 
@@ -25,28 +28,80 @@ public class ConnectionFlight {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doGet(String url) throws Exception {
+        return doGetResponse(HttpTransport.sendCached(doGetRequest(url)));
+    }
+
+    /**
+     * Igual que doGet, pero devuelve el vuelo o vuelos ya decodificados. Con la caché de respuestas activada, si no
+     * han cambiado se devuelve lo decodificado la vez anterior sin volver a leer el Json; sin caché se decodifica
+     * a medida que llega (como doGetReader).
+     *
+     * @param url     EndPoint a buscar en el servidor.
+     * @param decoder lectura del cuerpo; una constante de Json.
+     * @param <T>     tipo del resultado.
+     * @return el cuerpo decodificado.
+     * @throws Exception los mismos errores que doGet.
+     */
+    <T> T doGet(String url, Json.Decoder<T> decoder) throws Exception {
+        if (!HttpTransport.cacheEnabled()) {
+            try (Reader body = doGetReader(url)) {
+                return decoder.decode(body);
+            }
+        }
+        return HttpTransport.sendCached(doGetRequest(url), ConnectionFlight::doGetResponse, decoder);
+    }
+
+    /**
+     * Versión asíncrona de doGet: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doGetAsync(String url) {
+        return HttpTransport.sendAsync(doGetRequest(url), ConnectionFlight::doGetResponse);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Authorization", Client.headerAuth)
+    /**
+     * Igual que doGet, pero devuelve el cuerpo sin leer para decodificar el vuelo o vuelos a medida que llegan.
+     * Hay que cerrar el Reader al terminar. Con la caché de respuestas activada el cuerpo se lee entero
+     * (pasa por doGet) para poder guardarlo.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return el cuerpo Json de la respuesta.
+     * @throws Exception los mismos errores que doGet.
+     */
+    public Reader doGetReader(String url) throws Exception {
+        if (HttpTransport.cacheEnabled()) {
+            return new StringReader(doGet(url));
+        }
+        HttpResponse<InputStream> response = HttpTransport.sendStream(doGetRequest(url));
+        try {
+            return new InputStreamReader(doGetResponse(response), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            response.body().close();
+            throw e;
+        }
+    }
+
+    private static HttpRequest doGetRequest(String url) {
+        return HttpTransport.request(url)
+                .header("Authorization", Credentials.header())
                 .GET()
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 404) {
-                throw new FlightNotFound();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else {
-                throw new Exception();
-            }
-
+    private static <T> T doGetResponse(HttpResponse<T> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 404) {
+            throw new FlightNotFound();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
 
@@ -54,8 +109,9 @@ public class ConnectionFlight {
     /**
      * Construye petición POST para insertar un vuelo.
      *
-     * @param body vueloDTO en json.
-     * @param url  EndPoint a buscar en el servidor.
+     * @param body   vueloDTO en json.
+     * @param url    EndPoint a buscar en el servidor.
+     * @param idCode idCode del vuelo, para enviarlo a su instancia si hay varias.
      * @return Mensaje si se crea correctamente y httpStatus=201.
      * @throws Exception Sí falla la petición al servidor.
      *                   BadRequest sí falta algún atributo del pasajero y httpStatus=400, devuelve cúales datos están mal formados.
@@ -63,32 +119,44 @@ public class ConnectionFlight {
      *                   NotAuth si no se ha autenticado.
      *                   RoleWrong si no tiene los permisos de rol.
      */
-    public String doPost(String body, String url) throws Exception {
+    public String doPost(String body, String url, String idCode) throws Exception {
+        return doPostResponse(HttpTransport.send(doPostRequest(body, url, idCode)));
+    }
 
+    /**
+     * Versión asíncrona de doPost: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param body   cuerpo Json de la petición.
+     * @param url    EndPoint a buscar en el servidor.
+     * @param idCode idCode del vuelo, para enviarlo a su instancia si hay varias.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doPostAsync(String body, String url, String idCode) {
+        return HttpTransport.sendAsync(doPostRequest(body, url, idCode), ConnectionFlight::doPostResponse);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    private static HttpRequest doPostRequest(String body, String url, String idCode) {
+        return HttpTransport.request(url, idCode)
                 .header("Content-Type", "application/json") // Define el tipo de contenido del cuerpo de la solicitud
                 .POST(HttpRequest.BodyPublishers.ofString(body))
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 201) {
-                return response.body();
-            } else if (response.statusCode() == 400) {
-                throw new BadRequest(response.body());
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 409) {
-                throw new FlightExists();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else {
-                throw new Exception();
-            }
+    private static String doPostResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 201) {
+            return response.body();
+        } else if (response.statusCode() == 400) {
+            throw new BadRequest(response.body());
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 409) {
+            throw new FlightExists();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
 
@@ -103,28 +171,38 @@ public class ConnectionFlight {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doDelete(String url) throws Exception {
+        return doDeleteResponse(HttpTransport.send(doDeleteRequest(url)));
+    }
+
+    /**
+     * Versión asíncrona de doDelete: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doDeleteAsync(String url) {
+        return HttpTransport.sendAsync(doDeleteRequest(url), ConnectionFlight::doDeleteResponse);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    private static HttpRequest doDeleteRequest(String url) {
+        return HttpTransport.request(url)
                 .DELETE()
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 404) {
-                throw new FlightNotFound();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else {
-                throw new Exception();
-            }
-
+    private static String doDeleteResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 404) {
+            throw new FlightNotFound();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
 
@@ -143,29 +221,42 @@ public class ConnectionFlight {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doPut(String body, String url) throws Exception {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+        return doPutResponse(HttpTransport.send(doPutRequest(body, url)));
+    }
+
+    /**
+     * Versión asíncrona de doPut: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param body cuerpo Json de la petición.
+     * @param url  EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doPutAsync(String body, String url) {
+        return HttpTransport.sendAsync(doPutRequest(body, url), ConnectionFlight::doPutResponse);
+    }
+
+    private static HttpRequest doPutRequest(String body, String url) {
+        return HttpTransport.request(url)
                 .header("Content-Type", "application/json") // Define el tipo de contenido del cuerpo de la solicitud
                 .PUT(HttpRequest.BodyPublishers.ofString(body))
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 400) {
-                throw new BadRequest(response.body());
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 404) {
-                throw new FlightNotFound();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else {
-                throw new Exception();
-            }
+    private static String doPutResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 400) {
+            throw new BadRequest(response.body());
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 404) {
+            throw new FlightNotFound();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
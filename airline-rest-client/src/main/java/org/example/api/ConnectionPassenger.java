@@ -1,6 +1,5 @@
 package org.example.api;
 
-import org.example.core.Client;
 import org.example.exceptions.flightException.FlightNotFound;
 import org.example.exceptions.generalException.BadRequest;
 import org.example.exceptions.generalException.NotAuth;
@@ -8,10 +7,14 @@ import org.example.exceptions.generalException.RoleWrong;
 import org.example.exceptions.passengerException.PassengerExists;
 import org.example.exceptions.passengerException.PassengerNotFound;
 
-import java.net.URI;
-import java.net.http.HttpClient;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 public class ConnectionPassenger {
 
@@ -27,30 +30,82 @@ public class ConnectionPassenger {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doGet(String url) throws Exception {
+        return doGetResponse(HttpTransport.sendCached(doGetRequest(url)));
+    }
+
+    /**
+     * Igual que doGet, pero devuelve el pasajero o pasajeros ya decodificados. Con la caché de respuestas activada, si no
+     * han cambiado se devuelve lo decodificado la vez anterior sin volver a leer el Json; sin caché se decodifica
+     * a medida que llega (como doGetReader).
+     *
+     * @param url     EndPoint a buscar en el servidor.
+     * @param decoder lectura del cuerpo; una constante de Json.
+     * @param <T>     tipo del resultado.
+     * @return el cuerpo decodificado.
+     * @throws Exception los mismos errores que doGet.
+     */
+    <T> T doGet(String url, Json.Decoder<T> decoder) throws Exception {
+        if (!HttpTransport.cacheEnabled()) {
+            try (Reader body = doGetReader(url)) {
+                return decoder.decode(body);
+            }
+        }
+        return HttpTransport.sendCached(doGetRequest(url), ConnectionPassenger::doGetResponse, decoder);
+    }
+
+    /**
+     * Versión asíncrona de doGet: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doGetAsync(String url) {
+        return HttpTransport.sendAsync(doGetRequest(url), ConnectionPassenger::doGetResponse);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    /**
+     * Igual que doGet, pero devuelve el cuerpo sin leer para decodificar el pasajero o pasajeros a medida que llegan.
+     * Hay que cerrar el Reader al terminar. Con la caché de respuestas activada el cuerpo se lee entero
+     * (pasa por doGet) para poder guardarlo.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return el cuerpo Json de la respuesta.
+     * @throws Exception los mismos errores que doGet.
+     */
+    public Reader doGetReader(String url) throws Exception {
+        if (HttpTransport.cacheEnabled()) {
+            return new StringReader(doGet(url));
+        }
+        HttpResponse<InputStream> response = HttpTransport.sendStream(doGetRequest(url));
+        try {
+            return new InputStreamReader(doGetResponse(response), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            response.body().close();
+            throw e;
+        }
+    }
+
+    private static HttpRequest doGetRequest(String url) {
+        return HttpTransport.request(url)
                 .GET()
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 409) {
-                throw new PassengerNotFound();
-            } else if (response.statusCode() == 404) {
-                throw new FlightNotFound();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else {
-                throw new Exception();
-            }
-
+    private static <T> T doGetResponse(HttpResponse<T> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 409) {
+            throw new PassengerNotFound();
+        } else if (response.statusCode() == 404) {
+            throw new FlightNotFound();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
 
@@ -68,38 +123,48 @@ public class ConnectionPassenger {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doPost(String body, String url) throws Exception {
+        return doPostResponse(HttpTransport.send(doPostRequest(body, url)));
+    }
 
+    /**
+     * Versión asíncrona de doPost: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param body cuerpo Json de la petición.
+     * @param url  EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doPostAsync(String body, String url) {
+        return HttpTransport.sendAsync(doPostRequest(body, url), ConnectionPassenger::doPostResponse);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    private static HttpRequest doPostRequest(String body, String url) {
+        return HttpTransport.request(url)
                 .POST(HttpRequest.BodyPublishers.ofString(body))
                 .header("Content-Type", "application/json")
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 201) {
-                return response.body();
-            } else if (response.statusCode() == 400) {
-                if (response.body().startsWith("Mensaje")) {
-                    throw new BadRequest(response.body());
-                } else {
-                    throw new BadRequest(" Petición mal construida. Debes introducir el id del vuelo.");
-                }
-            } else if (response.statusCode() == 404) {
-                throw new FlightNotFound();
-            } else if (response.statusCode() == 409) {
-                throw new PassengerExists();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
+    private static String doPostResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 201) {
+            return response.body();
+        } else if (response.statusCode() == 400) {
+            if (response.body().startsWith("Mensaje")) {
+                throw new BadRequest(response.body());
             } else {
-                throw new Exception();
+                throw new BadRequest(" Petición mal construida. Debes introducir el id del vuelo.");
             }
-
+        } else if (response.statusCode() == 404) {
+            throw new FlightNotFound();
+        } else if (response.statusCode() == 409) {
+            throw new PassengerExists();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
 
@@ -115,28 +180,40 @@ public class ConnectionPassenger {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doDelete(String url) throws Exception {
+        return doDeleteResponse(HttpTransport.send(doDeleteRequest(url)));
+    }
+
+    /**
+     * Versión asíncrona de doDelete: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doDeleteAsync(String url) {
+        return HttpTransport.sendAsync(doDeleteRequest(url), ConnectionPassenger::doDeleteResponse);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    private static HttpRequest doDeleteRequest(String url) {
+        return HttpTransport.request(url)
                 .DELETE()
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 409) {
-                throw new PassengerNotFound();
-            } else if (response.statusCode() == 404) {
-                throw new FlightNotFound();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else {
-                throw new Exception();
-            }
+    }
+
+    private static String doDeleteResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 409) {
+            throw new PassengerNotFound();
+        } else if (response.statusCode() == 404) {
+            throw new FlightNotFound();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
 
@@ -154,35 +231,48 @@ public class ConnectionPassenger {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doPut(String body, String url) throws Exception {
+        return doPutResponse(HttpTransport.send(doPutRequest(body, url)));
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    /**
+     * Versión asíncrona de doPut: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param body cuerpo Json de la petición.
+     * @param url  EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doPutAsync(String body, String url) {
+        return HttpTransport.sendAsync(doPutRequest(body, url), ConnectionPassenger::doPutResponse);
+    }
+
+    private static HttpRequest doPutRequest(String body, String url) {
+        return HttpTransport.request(url)
                 .PUT(HttpRequest.BodyPublishers.ofString(body))
                 .header("Content-Type", "application/json")
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 400) {
-                if (response.body().startsWith("Mensaje")) {
-                    throw new BadRequest(response.body());
-                } else {
-                    throw new BadRequest(" Petición mal construida. Debes introducir el id del vuelo.");
-                }
-            } else if (response.statusCode() == 404) {
-                throw new FlightNotFound();
-            } else if (response.statusCode() == 409) {
-                throw new PassengerNotFound();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
+    }
+
+    private static String doPutResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 400) {
+            if (response.body().startsWith("Mensaje")) {
+                throw new BadRequest(response.body());
             } else {
-                throw new Exception();
+                throw new BadRequest(" Petición mal construida. Debes introducir el id del vuelo.");
             }
+        } else if (response.statusCode() == 404) {
+            throw new FlightNotFound();
+        } else if (response.statusCode() == 409) {
+            throw new PassengerNotFound();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
 
@@ -1,16 +1,14 @@
 package org.example.api;
 
-import org.example.core.Client;
 import org.example.exceptions.generalException.BadRequest;
 import org.example.exceptions.generalException.NotAuth;
 import org.example.exceptions.generalException.RoleWrong;
 import org.example.exceptions.userExceptions.UserExists;
 import org.example.exceptions.userExceptions.UserNotFound;
 
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
 
 public class ConnectionUser {
 
@@ -25,23 +23,37 @@ public class ConnectionUser {
      *                   UserExists si ya existe.
      */
     public String doPost(String body, String url) throws Exception {
-        HttpRequest httpRequest = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+        return doPostResponse(HttpTransport.send(doPostRequest(body, url)));
+    }
+
+    /**
+     * Versión asíncrona de doPost: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param body cuerpo Json de la petición.
+     * @param url  EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doPostAsync(String body, String url) {
+        return HttpTransport.sendAsync(doPostRequest(body, url), ConnectionUser::doPostResponse);
+    }
+
+    private static HttpRequest doPostRequest(String body, String url) {
+        return HttpTransport.request(url)
                 .POST(HttpRequest.BodyPublishers.ofString(body))
                 .header("Content-Type", "application/json")
                 .build();
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 201) {
-                return response.body();
-            } else if (response.statusCode() == 400) {
-                throw new BadRequest(response.body());
-            } else if (response.statusCode() == 409) {
-                throw new UserExists();
-            } else {
-                throw new Exception("Unexpected HTTP status code: " + response.statusCode());
-            }
+    }
+
+    private static String doPostResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 201) {
+            return response.body();
+        } else if (response.statusCode() == 400) {
+            throw new BadRequest(response.body());
+        } else if (response.statusCode() == 409) {
+            throw new UserExists();
+        } else {
+            throw new Exception("Unexpected HTTP status code: " + response.statusCode());
         }
     }
 
@@ -56,28 +68,38 @@ public class ConnectionUser {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doDelete(String url) throws Exception {
+        return doDeleteResponse(HttpTransport.send(doDeleteRequest(url)));
+    }
+
+    /**
+     * Versión asíncrona de doDelete: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doDeleteAsync(String url) {
+        return HttpTransport.sendAsync(doDeleteRequest(url), ConnectionUser::doDeleteResponse);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    private static HttpRequest doDeleteRequest(String url) {
+        return HttpTransport.request(url)
                 .DELETE()
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 404) {
-                throw new UserNotFound();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else {
-                throw new Exception();
-            }
-
+    private static String doDeleteResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 404) {
+            throw new UserNotFound();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else {
+            throw new Exception();
         }
     }
 
@@ -92,30 +114,39 @@ public class ConnectionUser {
      *                   RoleWrong si no tiene los permisos de rol.
      */
     public String doGet(String url) throws Exception {
+        return doGetResponse(HttpTransport.sendGet(doGetRequest(url)));
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    /**
+     * Versión asíncrona de doGet: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param url EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doGetAsync(String url) {
+        return HttpTransport.sendAsync(doGetRequest(url), ConnectionUser::doGetResponse);
+    }
+
+    private static HttpRequest doGetRequest(String url) {
+        return HttpTransport.request(url)
                 .GET()
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else if (response.statusCode() == 404) {
-                throw new UserNotFound();
-            } else {
-                throw new Exception();
-            }
-
+    private static String doGetResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else if (response.statusCode() == 404) {
+            throw new UserNotFound();
+        } else {
+            throw new Exception();
         }
-
     }
 
     /**
@@ -131,31 +162,42 @@ public class ConnectionUser {
      *                   UserNotFound si el usuario no existe en el servidor.
      */
     public String doUpdate(String body, String url) throws Exception {
+        return doUpdateResponse(HttpTransport.send(doUpdateRequest(body, url)));
+    }
+
+    /**
+     * Versión asíncrona de doUpdate: la petición se envía sin esperar la respuesta, que se trata igual
+     * que en la versión síncrona. Los errores del servidor completan el futuro con la misma excepción.
+     *
+     * @param body cuerpo Json de la petición.
+     * @param url  EndPoint a buscar en el servidor.
+     * @return la respuesta del servidor cuando llegue.
+     */
+    public CompletableFuture<String> doUpdateAsync(String body, String url) {
+        return HttpTransport.sendAsync(doUpdateRequest(body, url), ConnectionUser::doUpdateResponse);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+    private static HttpRequest doUpdateRequest(String body, String url) {
+        return HttpTransport.request(url)
                 .PUT(HttpRequest.BodyPublishers.ofString(body))
                 .header("Content-Type", "application/json")
-                .header("Authorization", Client.headerAuth)
+                .header("Authorization", Credentials.header())
                 .build();
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return response.body();
-            } else if (response.statusCode() == 401) {
-                throw new NotAuth();
-            } else if (response.statusCode() == 403) {
-                throw new RoleWrong();
-            } else if (response.statusCode() == 404) {
-                throw new UserNotFound();
-            } else if (response.statusCode() == 400) {
-                throw new BadRequest(response.body());
-            } else {
-                throw new Exception();
-            }
-
+    private static String doUpdateResponse(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else if (response.statusCode() == 401) {
+            throw new NotAuth();
+        } else if (response.statusCode() == 403) {
+            throw new RoleWrong();
+        } else if (response.statusCode() == 404) {
+            throw new UserNotFound();
+        } else if (response.statusCode() == 400) {
+            throw new BadRequest(response.body());
+        } else {
+            throw new Exception();
         }
     }
 
@@ -0,0 +1,58 @@
+package org.example.api;
+
+import org.example.core.Client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cabecera de autenticación que usan las conexiones. Por defecto es la del login del cliente
+ * (Client.headerAuth), pero cada hilo puede fijar sus propias credenciales, de forma que varios
+ * usuarios distintos pueden usar las mismas clases Api* a la vez.
+ */
+public final class Credentials {
+
+    private static final ThreadLocal<String> THREAD_HEADER = new ThreadLocal<>();
+
+    private Credentials() {
+    }
+
+    /**
+     * Fija las credenciales del hilo actual.
+     *
+     * @param username nombre de usuario.
+     * @param password contraseña del usuario.
+     */
+    public static void use(String username, String password) {
+        THREAD_HEADER.set(basic(username, password));
+    }
+
+    /**
+     * Elimina las credenciales del hilo actual, volviendo a las del login del cliente.
+     */
+    public static void clear() {
+        THREAD_HEADER.remove();
+    }
+
+    /**
+     * Construye la cabecera Basic Auth.
+     *
+     * @param username nombre de usuario.
+     * @param password contraseña del usuario.
+     * @return valor de la cabecera Authorization.
+     */
+    public static String basic(String username, String password) {
+        String valueToEncode = username + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(valueToEncode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cabecera de autenticación a enviar desde el hilo actual.
+     *
+     * @return las credenciales del hilo o, si no tiene, las del login del cliente.
+     */
+    static String header() {
+        String header = THREAD_HEADER.get();
+        return header != null ? header : Client.headerAuth;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.api;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.example.dto.FlightDTO;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+/**
+ * Lee y escribe un FlightDTO campo a campo, sin reflexión. La fecha se envía en el formato que acepta
+ * el servidor (yyyy-MM-dd'T'HH:mm:ss.SSSX, en UTC) y se lee en ISO-8601 con zona, que es como la devuelve.
+ */
+class FlightDTOAdapter extends TypeAdapter<FlightDTO> {
+
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX").withZone(ZoneOffset.UTC);
+
+    @Override
+    public void write(JsonWriter out, FlightDTO flight) throws IOException {
+        out.beginObject();
+        out.name("idCode").value(flight.getIdCode());
+        out.name("id").value(flight.getId());
+        out.name("origin").value(flight.getOrigin());
+        out.name("destination").value(flight.getDestination());
+        out.name("date").value(flight.getDate() == null ? null : DATE_FORMAT.format(Instant.ofEpochMilli(flight.getDate().getTime())));
+        out.endObject();
+    }
+
+    @Override
+    public FlightDTO read(JsonReader in) throws IOException {
+        FlightDTO flight = new FlightDTO();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "idCode" -> flight.setIdCode(in.nextString());
+                case "id" -> flight.setId(in.nextString());
+                case "origin" -> flight.setOrigin(in.nextString());
+                case "destination" -> flight.setDestination(in.nextString());
+                case "date" -> flight.setDate(parseDate(in.nextString()));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return flight;
+    }
+
+    private static Date parseDate(String value) {
+        try {
+            return Date.from(OffsetDateTime.parse(value).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new JsonParseException("Fecha de vuelo no válida: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package org.example.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Cliente HTTP compartido por todas las conexiones. HttpClient mantiene un pool de conexiones keep-alive,
+ * de forma que las peticiones consecutivas al servidor reutilizan la conexión TCP en lugar de abrir una
+ * nueva (y crear un HttpClient con sus hilos) en cada llamada. Se configura con propiedades de sistema:
+ * <ul>
+ *     <li>airline.http.connect-timeout-ms: tiempo máximo para abrir una conexión (5000).</li>
+ *     <li>airline.http.request-timeout-ms: tiempo máximo de espera de cada respuesta (30000).</li>
+ *     <li>airline.http.version: HTTP_1_1 o HTTP_2 (HTTP_1_1).</li>
+ *     <li>airline.http.executor: virtual (un hilo virtual por tarea) o default, el pool del propio HttpClient (virtual).</li>
+ *     <li>airline.http.max-in-flight: peticiones asíncronas enviadas sin respuesta como máximo (64).</li>
+ *     <li>airline.http.cache.entries: respuestas GET de vuelos y pasajeros guardadas y revalidadas con ETag;
+ *     0 desactiva la caché (0).</li>
+ *     <li>airline.http.cache.max-body-kb: tamaño máximo de una respuesta para guardarla (1024).</li>
+ *     <li>airline.http.retries, airline.http.retry.* y airline.http.hedge.*: reintentos y peticiones de cobertura
+ *     de las peticiones GET, ver IdempotentSender.</li>
+ *     <li>airline.urls y airline.lb.*: reparto de las peticiones entre varias instancias del servidor,
+ *     ver LoadBalancer.</li>
+ *     <li>airline.http.metrics.*: latencias y conexiones de todas las peticiones, ver ClientMetrics.</li>
+ *     <li>jdk.httpclient.keepalive.timeout y jdk.httpclient.connectionPoolSize: segundos que se mantiene abierta una
+ *     conexión sin uso y conexiones máximas del pool, propiedades del propio JDK.</li>
+ * </ul>
+ */
+public final class HttpTransport {
+
+    private static final Duration REQUEST_TIMEOUT =
+            Duration.ofMillis(Long.getLong("airline.http.request-timeout-ms", 30_000));
+
+    private static final HttpClient CLIENT = createClient();
+
+    /**
+     * Reparto entre instancias del servidor, o null si solo hay una.
+     */
+    private static final LoadBalancer BALANCER = LoadBalancer.fromSystemProperties();
+
+    /**
+     * Envío con reintentos y peticiones de cobertura de las peticiones GET.
+     */
+    private static final IdempotentSender GETS = new IdempotentSender();
+
+    /**
+     * Ventana de peticiones asíncronas en vuelo. Quien envía espera a que haya hueco, de forma que un trabajo
+     * con miles de peticiones no las encola todas a la vez en el cliente ni satura el servidor.
+     */
+    private static final Semaphore IN_FLIGHT = new Semaphore(Integer.getInteger("airline.http.max-in-flight", 64));
+
+    /**
+     * Caché de respuestas GET, o null si está desactivada.
+     */
+    private static final ResponseCache CACHE = createCache();
+
+    private HttpTransport() {
+    }
+
+    /**
+     * Cliente HTTP compartido.
+     *
+     * @return el cliente.
+     */
+    public static HttpClient client() {
+        return CLIENT;
+    }
+
+    /**
+     * Empieza una petición a la URL con el tiempo máximo de respuesta configurado. Si hay varias instancias
+     * del servidor, la URL se cambia a la instancia elegida.
+     *
+     * @param url URL de la petición.
+     * @return el constructor de la petición.
+     */
+    public static HttpRequest.Builder request(String url) {
+        return request(url, null);
+    }
+
+    /**
+     * Igual que request(url), pero con varias instancias del servidor la instancia se elige por la clave indicada,
+     * como las peticiones /flights/{idCode}. Se usa en el alta de un vuelo, cuyo idCode va en el cuerpo.
+     *
+     * @param url         URL de la petición.
+     * @param affinityKey idCode del vuelo.
+     * @return el constructor de la petición.
+     */
+    public static HttpRequest.Builder request(String url, String affinityKey) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(BALANCER == null ? URI.create(url) : BALANCER.route(url, affinityKey))
+                .timeout(REQUEST_TIMEOUT);
+        return ClientMetrics.SERVER_TIMING ? builder.header("X-Server-Timing", "true") : builder;
+    }
+
+    /**
+     * Envía una petición con el cliente compartido y lee la respuesta como texto.
+     *
+     * @param request petición.
+     * @return la respuesta.
+     * @throws IOException          si falla la conexión o se supera el tiempo máximo.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    public static HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return exchange(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Indica si está activada la caché de respuestas de sendCached.
+     *
+     * @return true si está activada.
+     */
+    public static boolean cacheEnabled() {
+        return CACHE != null;
+    }
+
+    /**
+     * Envía una petición GET usando la caché de respuestas. Si ya hay una respuesta guardada para la URL se pide
+     * con If-None-Match y, si el servidor contesta 304, se devuelve la guardada como un 200. Sin caché es igual que sendGet.
+     *
+     * @param request petición GET.
+     * @return la respuesta.
+     * @throws IOException          si falla la conexión o se supera el tiempo máximo.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    public static HttpResponse<String> sendCached(HttpRequest request) throws IOException, InterruptedException {
+        if (CACHE == null) {
+            return sendGet(request);
+        }
+        ResponseCache.Entry cached = CACHE.get(request.uri());
+        if (cached == null) {
+            HttpResponse<String> response = sendGet(request);
+            CACHE.update(response);
+            return response;
+        }
+        HttpResponse<String> response = sendGet(HttpRequest.newBuilder(request, (name, value) -> true)
+                .header("If-None-Match", cached.etag())
+                .build());
+        if (response.statusCode() == 304) {
+            return cached.toResponse(response);
+        }
+        CACHE.update(response);
+        return response;
+    }
+
+    /**
+     * Igual que sendCached, pero devuelve el cuerpo decodificado. Si el servidor contesta 304 se devuelve una
+     * copia de lo decodificado con la respuesta guardada, sin volver a leer el Json. Sin caché es igual que sendGet
+     * seguido del decodificador.
+     *
+     * @param request petición GET.
+     * @param handler comprobación del código de estado, que devuelve el cuerpo de un 200.
+     * @param decoder lectura del cuerpo; una constante de Json.
+     * @param <T>     tipo del resultado.
+     * @return el cuerpo decodificado.
+     * @throws Exception las excepciones del manejador o si falla la petición.
+     */
+    static <T> T sendCached(HttpRequest request, ResponseHandler<String> handler, Json.Decoder<T> decoder)
+            throws Exception {
+        if (CACHE == null) {
+            return decoder.decode(new StringReader(handler.handle(sendGet(request))));
+        }
+        ResponseCache.Entry cached = CACHE.get(request.uri());
+        HttpResponse<String> response = cached == null ? sendGet(request) : sendGet(HttpRequest.newBuilder(request, (name, value) -> true)
+                .header("If-None-Match", cached.etag())
+                .build());
+        if (cached != null && response.statusCode() == 304) {
+            return cached.decode(decoder);
+        }
+        ResponseCache.Entry entry = CACHE.update(response);
+        String body = handler.handle(response);
+        return entry != null ? entry.decode(decoder) : decoder.decode(new StringReader(body));
+    }
+
+    /**
+     * Envía una petición sin esperar la respuesta. Si la ventana de peticiones en vuelo está llena se espera
+     * a que termine alguna antes de enviarla. La respuesta se trata con el manejador en el hilo del cliente
+     * y, si este lanza una excepción, el futuro se completa con ella.
+     *
+     * @param request petición.
+     * @param handler tratamiento de la respuesta (código de estado y cuerpo).
+     * @param <T>     tipo del resultado.
+     * @return el resultado del manejador cuando llegue la respuesta.
+     */
+    public static <T> CompletableFuture<T> sendAsync(HttpRequest request, ResponseHandler<T> handler) {
+        try {
+            IN_FLIGHT.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = exchangeAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            IN_FLIGHT.release();
+            throw e;
+        }
+        return response
+                .whenComplete((r, e) -> IN_FLIGHT.release())
+                .thenApply(r -> {
+                    try {
+                        return handler.handle(r);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * Tratamiento de la respuesta de una petición asíncrona.
+     *
+     * @param <T> tipo del resultado.
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(HttpResponse<String> response) throws Exception;
+    }
+
+    /**
+     * Envía una petición GET con el cliente compartido, reintentándola si falla la conexión o el servidor no está
+     * disponible y, si está activado, enviando una segunda petición cuando la primera tarda más de lo normal.
+     *
+     * @param request petición GET.
+     * @return la respuesta.
+     * @throws IOException          si fallan todos los intentos.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    public static HttpResponse<String> sendGet(HttpRequest request) throws IOException, InterruptedException {
+        return GETS.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Envía una petición GET como sendGet y devuelve el cuerpo de la respuesta sin leer, para
+     * procesarlo a medida que llega. Hay que cerrar el cuerpo al terminar para liberar la conexión.
+     *
+     * @param request petición GET.
+     * @return la respuesta.
+     * @throws IOException          si falla la conexión o se supera el tiempo máximo.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    public static HttpResponse<InputStream> sendStream(HttpRequest request) throws IOException, InterruptedException {
+        return GETS.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * Envía una petición anotando su latencia en ClientMetrics y, en su instancia del servidor, las pendientes y los fallos.
+     *
+     * @param request petición.
+     * @param handler lectura del cuerpo de la respuesta.
+     * @param <T>     tipo del cuerpo.
+     * @return la respuesta.
+     * @throws IOException          si falla la conexión o se supera el tiempo máximo.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    static <T> HttpResponse<T> exchange(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        LoadBalancer.Endpoint endpoint = BALANCER == null ? null : BALANCER.endpointOf(request.uri());
+        ClientMetrics.Exchange metrics = ClientMetrics.start(request);
+        if (endpoint != null) {
+            endpoint.start();
+        }
+        try {
+            HttpResponse<T> response = CLIENT.send(request, handler);
+            metrics.finish(response);
+            if (endpoint != null) {
+                endpoint.finish(response.statusCode() < 500);
+            }
+            return response;
+        } catch (InterruptedException e) {
+            metrics.abandon();
+            if (endpoint != null) {
+                endpoint.abandon();
+            }
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            metrics.fail();
+            if (endpoint != null) {
+                endpoint.finish(false);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Versión asíncrona de exchange.
+     *
+     * @param request petición.
+     * @param handler lectura del cuerpo de la respuesta.
+     * @param <T>     tipo del cuerpo.
+     * @return la respuesta cuando llegue.
+     */
+    static <T> CompletableFuture<HttpResponse<T>> exchangeAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        LoadBalancer.Endpoint endpoint = BALANCER == null ? null : BALANCER.endpointOf(request.uri());
+        ClientMetrics.Exchange metrics = ClientMetrics.start(request);
+        if (endpoint != null) {
+            endpoint.start();
+        }
+        CompletableFuture<HttpResponse<T>> response = CLIENT.sendAsync(request, handler);
+        response.whenComplete((r, e) -> {
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause == null) {
+                metrics.finish(r);
+            } else if (cause instanceof CancellationException) {
+                metrics.abandon();
+            } else {
+                metrics.fail();
+            }
+            if (endpoint == null) {
+                return;
+            }
+            if (cause == null) {
+                endpoint.finish(r.statusCode() < 500);
+            } else if (cause instanceof CancellationException) {
+                endpoint.abandon();
+            } else {
+                endpoint.finish(false);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Copia de la petición dirigida a otra instancia del servidor, para reintentarla o cubrirla.
+     *
+     * @param request petición.
+     * @return la petición en otra instancia, o la misma si solo hay una.
+     */
+    static HttpRequest alternate(HttpRequest request) {
+        return BALANCER == null ? request : BALANCER.alternate(request);
+    }
+
+    private static ResponseCache createCache() {
+        int entries = Integer.getInteger("airline.http.cache.entries", 0);
+        return entries > 0 ? new ResponseCache(entries, Integer.getInteger("airline.http.cache.max-body-kb", 1024) * 1024) : null;
+    }
+
+    private static HttpClient createClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(Long.getLong("airline.http.connect-timeout-ms", 5_000)))
+                .version(HttpClient.Version.valueOf(System.getProperty("airline.http.version", "HTTP_1_1")))
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if ("virtual".equals(System.getProperty("airline.http.executor", "virtual"))) {
+            // Las tareas del cliente (lectura de respuestas, peticiones asíncronas) pasan la mayor parte
+            // del tiempo esperando a la red: con hilos virtuales no hace falta dimensionar un pool.
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+}
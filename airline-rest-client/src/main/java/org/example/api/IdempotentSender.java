@@ -0,0 +1,176 @@
+package org.example.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Envío de peticiones que se pueden repetir sin efectos (GET). Se configura con propiedades de sistema:
+ * <ul>
+ *     <li>Reintentos: si falla la conexión o el servidor contesta 502, 503 o 504 se repite la petición hasta
+ *     airline.http.retries veces (2), esperando entre intentos un tiempo aleatorio entre 0 y
+ *     airline.http.retry.backoff-ms * 2^intento (50), como mucho airline.http.retry.max-backoff-ms (1000).
+ *     El azar evita que muchos clientes reintenten a la vez.</li>
+ *     <li>Peticiones de cobertura (airline.http.hedge.enabled, desactivado): si la respuesta tarda más que el
+ *     percentil airline.http.hedge.percentile (95) de las últimas peticiones, se envía una segunda (a otra instancia
+ *     del servidor si hay varias) y se usa la
+ *     primera que conteste bien; la otra se cancela. Así una pausa de una instancia del servidor (por ejemplo de
+ *     GC) solo afecta si coincide en los dos intentos. Para no duplicar la carga, como mucho se cubre un
+ *     airline.http.hedge.max-percent (10) por ciento de las peticiones y nunca antes de
+ *     airline.http.hedge.min-delay-ms (1).</li>
+ * </ul>
+ */
+final class IdempotentSender {
+
+    private static final Set<Integer> RETRY_STATUS = Set.of(502, 503, 504);
+
+    /**
+     * Muestras con las que se calcula el retardo de la petición de cobertura.
+     */
+    private static final int LATENCY_WINDOW = 1024;
+
+    private final int retries;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final boolean hedge;
+    private final long minHedgeDelayNanos;
+    private final int maxHedgePercent;
+    private final LatencyTracker latency;
+
+    private final LongAdder requests = new LongAdder();
+    private final AtomicInteger hedges = new AtomicInteger();
+
+    IdempotentSender() {
+        this.retries = Integer.getInteger("airline.http.retries", 2);
+        this.backoffMillis = Long.getLong("airline.http.retry.backoff-ms", 50);
+        this.maxBackoffMillis = Long.getLong("airline.http.retry.max-backoff-ms", 1_000);
+        this.hedge = Boolean.getBoolean("airline.http.hedge.enabled");
+        this.minHedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("airline.http.hedge.min-delay-ms", 1));
+        this.maxHedgePercent = Integer.getInteger("airline.http.hedge.max-percent", 10);
+        this.latency = new LatencyTracker(Double.parseDouble(System.getProperty("airline.http.hedge.percentile", "95")),
+                LATENCY_WINDOW);
+    }
+
+    /**
+     * Envía la petición con reintentos y, si está activada, petición de cobertura.
+     *
+     * @param request petición sin efectos.
+     * @param handler lectura del cuerpo de la respuesta.
+     * @param <T>     tipo del cuerpo.
+     * @return la respuesta.
+     * @throws IOException          si fallan todos los intentos.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                // Los reintentos van a otra instancia del servidor si hay varias.
+                HttpRequest target = attempt == 0 ? request : HttpTransport.alternate(request);
+                HttpResponse<T> response = this.hedge ? sendHedged(target, handler) : HttpTransport.exchange(target, handler);
+                if (attempt >= this.retries || !RETRY_STATUS.contains(response.statusCode())) {
+                    return response;
+                }
+                discard(response);
+            } catch (IOException e) {
+                if (attempt >= this.retries) {
+                    throw e;
+                }
+            }
+            long ceiling = Math.min(this.maxBackoffMillis, this.backoffMillis << Math.min(attempt, 20));
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+
+    private <T> HttpResponse<T> sendHedged(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        this.requests.increment();
+        CompletableFuture<HttpResponse<T>> first = HttpTransport.exchangeAsync(request, handler);
+        CompletableFuture<HttpResponse<T>> winner = first;
+        long delay = Math.max(this.latency.percentileNanos(), this.minHedgeDelayNanos);
+        try {
+            first.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (claimHedge()) {
+                winner = firstSuccessful(first, HttpTransport.exchangeAsync(HttpTransport.alternate(request), handler));
+            }
+        } catch (ExecutionException e) {
+            // El error se lanza al leer el resultado.
+        }
+        try {
+            HttpResponse<T> response = winner.get();
+            this.latency.record(System.nanoTime() - start);
+            return response;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            winner.cancel(true);
+            first.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Reserva una petición de cobertura si no se ha superado el porcentaje máximo.
+     */
+    private boolean claimHedge() {
+        while (true) {
+            int current = this.hedges.get();
+            if ((long) (current + 1) * 100 > this.requests.sum() * this.maxHedgePercent) {
+                return false;
+            }
+            if (this.hedges.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Primera respuesta de las dos que llegue sin error; falla solo si fallan las dos. La otra se cancela
+     * y, si aun así llega, se descarta su cuerpo.
+     */
+    private static <T> CompletableFuture<HttpResponse<T>> firstSuccessful(CompletableFuture<HttpResponse<T>> a,
+                                                                         CompletableFuture<HttpResponse<T>> b) {
+        CompletableFuture<HttpResponse<T>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<HttpResponse<T>> attempt : List.of(a, b)) {
+            CompletableFuture<HttpResponse<T>> other = attempt == a ? b : a;
+            attempt.whenComplete((response, error) -> {
+                if (error == null) {
+                    if (winner.complete(response)) {
+                        other.cancel(true);
+                    } else {
+                        discard(response);
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    /**
+     * Libera la conexión de una respuesta que no se va a usar.
+     */
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream body) {
+            try {
+                body.close();
+            } catch (IOException e) {
+                // La respuesta se descarta de todas formas.
+            }
+        }
+    }
+}
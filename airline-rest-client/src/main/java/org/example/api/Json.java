@@ -0,0 +1,126 @@
+package org.example.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import org.example.dto.FlightDTO;
+import org.example.dto.PassengerDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Gson compartido por las clases Api*. Gson es seguro entre hilos, así que no hace falta crear uno (y repetir
+ * la búsqueda de adaptadores por reflexión) en cada llamada. Los vuelos y pasajeros usan sus propios adaptadores,
+ * y las listas se leen del cuerpo de la respuesta elemento a elemento en lugar de cargar antes todo el texto.
+ */
+final class Json {
+
+    static final TypeAdapter<FlightDTO> FLIGHT = new FlightDTOAdapter().nullSafe();
+    static final TypeAdapter<PassengerDTO> PASSENGER = new PassengerDTOAdapter().nullSafe();
+
+    static final Type FLIGHT_LIST = TypeToken.getParameterized(List.class, FlightDTO.class).getType();
+    static final Type PASSENGER_LIST = TypeToken.getParameterized(List.class, PassengerDTO.class).getType();
+
+    static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(FlightDTO.class, FLIGHT)
+            .registerTypeAdapter(PassengerDTO.class, PASSENGER)
+            .create();
+
+    static final Decoder<FlightDTO> FLIGHT_BODY = new Decoder<>(
+            body -> GSON.fromJson(body, FlightDTO.class), Json::copy);
+    static final Decoder<List<FlightDTO>> FLIGHT_LIST_BODY = new Decoder<>(
+            body -> readList(body, FLIGHT), flights -> copyList(flights, Json::copy));
+    static final Decoder<PassengerDTO> PASSENGER_BODY = new Decoder<>(
+            body -> GSON.fromJson(body, PassengerDTO.class), Json::copy);
+    static final Decoder<List<PassengerDTO>> PASSENGER_LIST_BODY = new Decoder<>(
+            body -> readList(body, PASSENGER), passengers -> copyList(passengers, Json::copy));
+
+    private Json() {
+    }
+
+    /**
+     * Lee un array Json a una lista.
+     *
+     * @param body    cuerpo de la respuesta.
+     * @param adapter adaptador de los elementos.
+     * @param <T>     tipo de los elementos.
+     * @return los elementos leídos.
+     * @throws IOException si falla la lectura o el Json no es válido.
+     */
+    static <T> List<T> readList(Reader body, TypeAdapter<T> adapter) throws IOException {
+        List<T> list = new ArrayList<>();
+        forEach(body, adapter, list::add);
+        return list;
+    }
+
+    /**
+     * Recorre un array Json entregando cada elemento en cuanto se lee, sin guardar los anteriores.
+     *
+     * @param body    cuerpo de la respuesta.
+     * @param adapter adaptador de los elementos.
+     * @param action  acción para cada elemento.
+     * @param <T>     tipo de los elementos.
+     * @throws IOException si falla la lectura o el Json no es válido.
+     */
+    static <T> void forEach(Reader body, TypeAdapter<T> adapter, Consumer<? super T> action) throws IOException {
+        JsonReader reader = GSON.newJsonReader(body);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            action.accept(adapter.read(reader));
+        }
+        reader.endArray();
+    }
+
+    private static FlightDTO copy(FlightDTO flight) {
+        return flight == null ? null : new FlightDTO(flight.getIdCode(), flight.getId(), flight.getOrigin(),
+                flight.getDestination(), flight.getDate() == null ? null : new Date(flight.getDate().getTime()));
+    }
+
+    private static PassengerDTO copy(PassengerDTO passenger) {
+        return passenger == null ? null : new PassengerDTO(passenger.getNif(), passenger.getFlightIdCode(),
+                passenger.getName(), passenger.getSurname(), passenger.getEmail(), passenger.getSeatNumber());
+    }
+
+    private static <T> List<T> copyList(List<T> list, UnaryOperator<T> copy) {
+        List<T> copied = new ArrayList<>(list.size());
+        for (T element : list) {
+            copied.add(copy.apply(element));
+        }
+        return copied;
+    }
+
+    /**
+     * Lectura del cuerpo de una respuesta y copia de lo leído. La caché de respuestas guarda lo leído junto a su
+     * decodificador (por eso se usan las constantes de esta clase) y en cada 304 entrega una copia, de forma que
+     * quien la recibe la puede modificar sin cambiar la caché. Copiar los DTO cuesta mucho menos que leer el Json.
+     *
+     * @param read lectura del cuerpo.
+     * @param copy copia de lo leído.
+     * @param <T>  tipo del resultado.
+     */
+    record Decoder<T>(Read<T> read, UnaryOperator<T> copy) {
+
+        T decode(Reader body) throws IOException {
+            return this.read.read(body);
+        }
+    }
+
+    /**
+     * Lectura del cuerpo de una respuesta.
+     *
+     * @param <T> tipo del resultado.
+     */
+    @FunctionalInterface
+    interface Read<T> {
+        T read(Reader body) throws IOException;
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.api;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Latencia y errores por operación, con una tabla de peticiones, rendimiento y percentiles. La usan el modo sin
+ * menú del cliente y el generador de carga; ClientMetrics comparte sus constantes.
+ *
+ * @param <K> enumerado de las operaciones.
+ */
+public final class LatencyStats<K extends Enum<K>> {
+
+    /**
+     * Dígitos significativos de los histogramas.
+     */
+    public static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * Los valores se registran en nanosegundos y se muestran en milisegundos.
+     */
+    public static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final Class<K> operations;
+    private final Map<K, Recorder> latency;
+    private final Map<K, Map<String, LongAdder>> errors;
+
+    /**
+     * @param operations enumerado de las operaciones.
+     */
+    public LatencyStats(Class<K> operations) {
+        this.operations = operations;
+        this.latency = new EnumMap<>(operations);
+        this.errors = new EnumMap<>(operations);
+        for (K operation : operations.getEnumConstants()) {
+            this.latency.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            this.errors.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Registra una operación.
+     *
+     * @param operation    operación ejecutada.
+     * @param latencyNanos duración de la operación.
+     * @param error        nombre del error o null si ha ido bien.
+     */
+    public void record(K operation, long latencyNanos, String error) {
+        this.latency.get(operation).recordValue(latencyNanos);
+        if (error != null) {
+            this.errors.get(operation).computeIfAbsent(error, e -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Descarta lo registrado hasta ahora.
+     */
+    public void reset() {
+        this.latency.values().forEach(Recorder::reset);
+        this.errors.values().forEach(Map::clear);
+    }
+
+    /**
+     * Toma lo registrado desde la instantánea anterior (o desde reset).
+     *
+     * @return los histogramas de las operaciones con alguna muestra y sus errores.
+     */
+    public Snapshot<K> snapshot() {
+        Map<K, Histogram> histograms = new EnumMap<>(this.operations);
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        for (K operation : this.operations.getEnumConstants()) {
+            Histogram histogram = this.latency.get(operation).getIntervalHistogram();
+            if (histogram.getTotalCount() > 0) {
+                histograms.put(operation, histogram);
+                total.add(histogram);
+                totalErrors += errorCount(this.errors.get(operation));
+            }
+        }
+        return new Snapshot<>(histograms, this.errors, total, totalErrors);
+    }
+
+    /**
+     * @param nanos duración en nanosegundos.
+     * @return la duración en segundos.
+     */
+    public static double seconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static long errorCount(Map<String, LongAdder> errors) {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Columna adicional de la tabla.
+     *
+     * @param header título de la columna.
+     * @param value  valor de cada operación; recibe null en la fila TOTAL.
+     * @param <K>    enumerado de las operaciones.
+     */
+    public record Column<K>(String header, Function<K, String> value) {
+    }
+
+    /**
+     * Histogramas de las operaciones con alguna muestra en el intervalo, su total y los errores.
+     *
+     * @param histograms  histograma de cada operación con alguna muestra.
+     * @param errors      errores de cada operación por nombre.
+     * @param total       histograma de todas las operaciones.
+     * @param totalErrors número total de errores.
+     * @param <K>         enumerado de las operaciones.
+     */
+    public record Snapshot<K extends Enum<K>>(Map<K, Histogram> histograms, Map<K, Map<String, LongAdder>> errors,
+                                              Histogram total, long totalErrors) {
+
+        /**
+         * Escribe una fila por operación con peticiones, rendimiento, errores y percentiles de latencia, y la fila
+         * TOTAL.
+         *
+         * @param out     salida de la tabla.
+         * @param seconds duración del intervalo en segundos.
+         * @param title   título de la primera columna.
+         * @param width   ancho de la primera columna.
+         * @param name    nombre de cada operación en la tabla.
+         * @param extra   columna adicional o null.
+         */
+        public void print(PrintStream out, double seconds, String title, int width, Function<K, String> name,
+                          Column<K> extra) {
+            String extraFormat = extra == null ? "" : " %12s";
+            out.printf("%-" + width + "s %10s %9s %8s %9s %9s %9s %9s %9s" + extraFormat + "%n", title,
+                    "Peticiones", "op/s", "Errores", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms",
+                    extra == null ? "" : extra.header());
+            this.histograms.forEach((operation, histogram) -> {
+                long operationErrors = errorCount(this.errors.get(operation));
+                printRow(out, width, extraFormat, name.apply(operation), histogram, operationErrors, seconds,
+                        extra == null ? null : extra.value().apply(operation));
+                if (operationErrors > 0) {
+                    out.printf("    errores: %s%n", this.errors.get(operation));
+                }
+            });
+            printRow(out, width, extraFormat, "TOTAL", this.total, this.totalErrors, seconds,
+                    extra == null ? null : extra.value().apply(null));
+        }
+
+        private static void printRow(PrintStream out, int width, String extraFormat, String name, Histogram histogram,
+                                     long errors, double seconds, String extra) {
+            out.printf("%-" + width + "s %10d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f" + extraFormat + "%n", name,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    errors,
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MS,
+                    histogram.getValueAtPercentile(90) / NANOS_PER_MS,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MS,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MS,
+                    histogram.getMaxValue() / NANOS_PER_MS,
+                    extra);
+        }
+    }
+}
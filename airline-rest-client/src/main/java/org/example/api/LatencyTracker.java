@@ -0,0 +1,55 @@
+package org.example.api;
+
+import java.util.Arrays;
+
+/**
+ * Latencias de las últimas peticiones y su percentil. Las muestras se guardan en un buffer circular y el percentil
+ * se recalcula cada RECOMPUTE_EVERY muestras, de forma que leerlo no cuesta nada.
+ */
+final class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final double percentile;
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    /**
+     * Percentil de las últimas muestras, o Long.MAX_VALUE mientras no hay suficientes.
+     */
+    private volatile long percentileNanos = Long.MAX_VALUE;
+
+    /**
+     * @param percentile percentil a calcular (por ejemplo 95).
+     * @param window     muestras que se tienen en cuenta.
+     */
+    LatencyTracker(double percentile, int window) {
+        this.percentile = percentile;
+        this.samples = new long[window];
+    }
+
+    /**
+     * Registra la latencia de una petición.
+     *
+     * @param nanos latencia en nanosegundos.
+     */
+    synchronized void record(long nanos) {
+        this.samples[this.next] = nanos;
+        this.next = (this.next + 1) % this.samples.length;
+        this.count = Math.min(this.count + 1, this.samples.length);
+        if (this.next % RECOMPUTE_EVERY == 0) {
+            long[] sorted = Arrays.copyOf(this.samples, this.count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(this.percentile / 100 * sorted.length) - 1;
+            this.percentileNanos = sorted[Math.max(index, 0)];
+        }
+    }
+
+    /**
+     * @return el percentil de las últimas muestras o Long.MAX_VALUE si aún no hay suficientes.
+     */
+    long percentileNanos() {
+        return this.percentileNanos;
+    }
+}
@@ -0,0 +1,275 @@
+package org.example.api;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparto de las peticiones entre varias instancias del servidor (airline.urls, separadas por comas). Las clases
+ * Api* siguen construyendo la URL con airline.url; aquí se cambia su servidor por el elegido:
+ * <ul>
+ *     <li>Las peticiones de un vuelo concreto (/flights/{idCode}/...) van siempre a la misma instancia, elegida por
+ *     hashing de rendezvous con el idCode (airline.lb.affinity, activado), para aprovechar lo que cada instancia
+ *     tenga ya en caché y porque cada instancia guarda sus propios datos. El alta de un vuelo (POST /flights) va a la
+ *     instancia de su idCode, que se indica al crear la petición. Si esa instancia cae, solo sus vuelos pasan a la
+ *     siguiente en el orden de rendezvous, que es también la que reciben los reintentos y las peticiones de cobertura.</li>
+ *     <li>El resto va a la instancia con menos peticiones pendientes: comparando dos al azar (p2c) o todas
+ *     (least-outstanding), según airline.lb.policy (p2c).</li>
+ *     <li>Una instancia que falla airline.lb.eject-after veces seguidas (3), por error de conexión o respuesta 5xx,
+ *     deja de recibir peticiones durante airline.lb.eject-ms (10000). Al volver, un solo fallo la vuelve a apartar.
+ *     Si están todas apartadas se usan todas.</li>
+ * </ul>
+ */
+final class LoadBalancer {
+
+    /**
+     * Clave de reparto de /changes. La secuencia y la época de los cambios son de cada instancia, así que todas
+     * las peticiones de cambios van a la misma, sin reintentos ni peticiones de cobertura en otra.
+     */
+    private static final String CHANGES_KEY = "/changes";
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final boolean powerOfTwo;
+    private final boolean affinity;
+    private final int ejectAfter;
+    private final long ejectNanos;
+
+    private LoadBalancer(List<String> urls) {
+        for (String url : urls) {
+            this.endpoints.add(new Endpoint(url.endsWith("/") ? url.substring(0, url.length() - 1) : url));
+        }
+        String policy = System.getProperty("airline.lb.policy", "p2c");
+        if (!policy.equals("p2c") && !policy.equals("least-outstanding")) {
+            throw new IllegalArgumentException("airline.lb.policy debe ser p2c o least-outstanding");
+        }
+        this.powerOfTwo = policy.equals("p2c");
+        this.affinity = Boolean.parseBoolean(System.getProperty("airline.lb.affinity", "true"));
+        this.ejectAfter = Integer.getInteger("airline.lb.eject-after", 3);
+        this.ejectNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("airline.lb.eject-ms", 10_000));
+    }
+
+    /**
+     * Crea el reparto si hay varias instancias configuradas en airline.urls.
+     *
+     * @return el reparto o null si no hay que repartir.
+     */
+    static LoadBalancer fromSystemProperties() {
+        String urls = System.getProperty("airline.urls", "").trim();
+        if (urls.isEmpty()) {
+            return null;
+        }
+        return new LoadBalancer(List.of(urls.split("\\s*,\\s*")));
+    }
+
+    /**
+     * Elige la instancia de una petición y cambia el servidor de su URL.
+     *
+     * @param url URL construida con airline.url.
+     * @return la URL en la instancia elegida.
+     */
+    URI route(String url) {
+        return route(url, null);
+    }
+
+    /**
+     * Elige la instancia de una petición y cambia el servidor de su URL.
+     *
+     * @param url         URL construida con airline.url.
+     * @param affinityKey idCode del vuelo cuando no está en la ruta (alta de un vuelo), o null.
+     * @return la URL en la instancia elegida.
+     */
+    URI route(String url, String affinityKey) {
+        URI target = URI.create(url);
+        String key = affinityKey != null && this.affinity ? affinityKey : affinityKey(target.getRawPath());
+        Endpoint endpoint = key != null ? ranked(key).get(0) : leastLoaded(null);
+        return endpoint.resolve(target);
+    }
+
+    /**
+     * Copia de una petición dirigida a otra instancia, para reintentarla o cubrirla donde no ha fallado. Las peticiones
+     * de un vuelo van a la siguiente instancia en el orden de rendezvous y las de /changes no cambian de instancia.
+     *
+     * @param request petición original.
+     * @return la petición en otra instancia, o la original si no hay otra disponible.
+     */
+    HttpRequest alternate(HttpRequest request) {
+        Endpoint current = endpointOf(request.uri());
+        String key = affinityKey(request.uri().getRawPath());
+        if (CHANGES_KEY.equals(key)) {
+            return request;
+        }
+        Endpoint other = key != null ? nextRanked(key, current) : leastLoaded(current);
+        if (other == null || other == current) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .uri(other.resolve(request.uri()))
+                .build();
+    }
+
+    /**
+     * Instancia a la que va una URL, o null si no es de ninguna configurada.
+     *
+     * @param uri URL de la petición.
+     * @return la instancia.
+     */
+    Endpoint endpointOf(URI uri) {
+        String url = uri.toString();
+        for (Endpoint endpoint : this.endpoints) {
+            if (url.startsWith(endpoint.base)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Clave de reparto de una ruta: el vuelo de /flights/{idCode}/..., CHANGES_KEY para /changes o null si la
+     * petición no es de un vuelo concreto. Sin airline.lb.affinity solo se fija /changes.
+     */
+    private String affinityKey(String path) {
+        if (path != null && path.startsWith("/changes/")) {
+            return CHANGES_KEY;
+        }
+        if (!this.affinity || path == null || !path.startsWith("/flights/")) {
+            return null;
+        }
+        int start = "/flights/".length();
+        int end = path.indexOf('/', start);
+        String key = end < 0 ? path.substring(start) : path.substring(start, end);
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * Hashing de rendezvous: las instancias ordenadas por su peso para la clave, primero las sanas. Cada vuelo
+     * va a la primera y, si falla, a la siguiente.
+     */
+    private List<Endpoint> ranked(String key) {
+        long now = System.nanoTime();
+        List<Endpoint> ranked = new ArrayList<>(this.endpoints);
+        ranked.sort(Comparator.comparing((Endpoint e) -> !e.isHealthy(now))
+                .thenComparing(e -> mix(key.hashCode() * 0x9E3779B97F4A7C15L + e.base.hashCode()), Comparator.reverseOrder()));
+        return ranked;
+    }
+
+    /**
+     * Siguiente instancia en el orden de rendezvous después de la actual.
+     */
+    private Endpoint nextRanked(String key, Endpoint current) {
+        for (Endpoint endpoint : ranked(key)) {
+            if (endpoint != current) {
+                return endpoint;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Instancia sana con menos peticiones pendientes, sin contar la excluida.
+     */
+    private Endpoint leastLoaded(Endpoint excluded) {
+        long now = System.nanoTime();
+        List<Endpoint> candidates = new ArrayList<>(this.endpoints.size());
+        for (Endpoint endpoint : this.endpoints) {
+            if (endpoint != excluded && endpoint.isHealthy(now)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (Endpoint endpoint : this.endpoints) {
+                if (endpoint != excluded) {
+                    candidates.add(endpoint);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return excluded;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (this.powerOfTwo || candidates.size() == 1) {
+            Endpoint a = candidates.get(random.nextInt(candidates.size()));
+            if (candidates.size() == 1) {
+                return a;
+            }
+            Endpoint b = candidates.get(random.nextInt(candidates.size() - 1));
+            if (b == a) {
+                b = candidates.get(candidates.size() - 1);
+            }
+            return b.outstanding.get() < a.outstanding.get() ? b : a;
+        }
+        // Se empieza por una posición al azar para repartir los empates.
+        int offset = random.nextInt(candidates.size());
+        Endpoint best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            Endpoint endpoint = candidates.get((offset + i) % candidates.size());
+            if (best == null || endpoint.outstanding.get() < best.outstanding.get()) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Una instancia del servidor: peticiones pendientes, fallos seguidos y hasta cuándo está apartada.
+     */
+    final class Endpoint {
+        private final String base;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+
+        private Endpoint(String base) {
+            this.base = base;
+        }
+
+        private boolean isHealthy(long now) {
+            return !this.ejected || now - this.ejectedUntil >= 0;
+        }
+
+        private URI resolve(URI target) {
+            String query = target.getRawQuery();
+            return URI.create(this.base + target.getRawPath() + (query != null ? "?" + query : ""));
+        }
+
+        /**
+         * Anota que se envía una petición a la instancia.
+         */
+        void start() {
+            this.outstanding.incrementAndGet();
+        }
+
+        /**
+         * Anota el final de una petición.
+         *
+         * @param ok false si ha fallado la conexión o el servidor ha contestado 5xx.
+         */
+        void finish(boolean ok) {
+            this.outstanding.decrementAndGet();
+            if (ok) {
+                this.failures.set(0);
+            } else if (this.failures.incrementAndGet() >= LoadBalancer.this.ejectAfter) {
+                this.ejectedUntil = System.nanoTime() + LoadBalancer.this.ejectNanos;
+                this.ejected = true;
+            }
+        }
+
+        /**
+         * Anota una petición cancelada o interrumpida, que no dice nada de la salud de la instancia.
+         */
+        void abandon() {
+            this.outstanding.decrementAndGet();
+        }
+    }
+}
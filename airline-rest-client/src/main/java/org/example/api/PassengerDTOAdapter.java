@@ -0,0 +1,51 @@
+package org.example.api;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.example.dto.PassengerDTO;
+
+import java.io.IOException;
+
+/**
+ * Lee y escribe un PassengerDTO campo a campo, sin reflexión.
+ */
+class PassengerDTOAdapter extends TypeAdapter<PassengerDTO> {
+
+    @Override
+    public void write(JsonWriter out, PassengerDTO passenger) throws IOException {
+        out.beginObject();
+        out.name("nif").value(passenger.getNif());
+        out.name("flightIdCode").value(passenger.getFlightIdCode());
+        out.name("name").value(passenger.getName());
+        out.name("surname").value(passenger.getSurname());
+        out.name("email").value(passenger.getEmail());
+        out.name("seatNumber").value(passenger.getSeatNumber());
+        out.endObject();
+    }
+
+    @Override
+    public PassengerDTO read(JsonReader in) throws IOException {
+        PassengerDTO passenger = new PassengerDTO();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "nif" -> passenger.setNif(in.nextString());
+                case "flightIdCode" -> passenger.setFlightIdCode(in.nextString());
+                case "name" -> passenger.setName(in.nextString());
+                case "surname" -> passenger.setSurname(in.nextString());
+                case "email" -> passenger.setEmail(in.nextString());
+                case "seatNumber" -> passenger.setSeatNumber(in.nextInt());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return passenger;
+    }
+}
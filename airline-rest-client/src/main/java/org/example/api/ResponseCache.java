@@ -0,0 +1,173 @@
+package org.example.api;
+
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caché de respuestas GET con su ETag, limitada a un número de entradas (se descarta la menos usada). Las entradas
+ * no caducan: cada uso se revalida con If-None-Match y, si el servidor contesta 304, se devuelve el cuerpo guardado
+ * o, si se pidió con un decodificador, lo que se decodificó la primera vez, sin volver a leer el Json.
+ * Como el servidor comprueba las credenciales antes de contestar 304, una entrada guardada por un usuario no se
+ * entrega a otro que no tenga permiso.
+ */
+final class ResponseCache {
+
+    private final int maxBodyChars;
+    private final Map<String, Entry> entries;
+
+    /**
+     * @param maxEntries   entradas máximas.
+     * @param maxBodyChars tamaño máximo de un cuerpo para guardarlo.
+     */
+    ResponseCache(int maxEntries, int maxBodyChars) {
+        this.maxBodyChars = maxBodyChars;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Respuesta guardada de una URL.
+     *
+     * @param uri URL de la petición.
+     * @return la entrada o null si no hay.
+     */
+    synchronized Entry get(URI uri) {
+        return this.entries.get(key(uri));
+    }
+
+    /**
+     * Guarda la respuesta si es un 200 con ETag y no es demasiado grande; si no, descarta lo que hubiera.
+     *
+     * @param response respuesta del servidor.
+     * @return la entrada guardada o null si no se ha guardado.
+     */
+    synchronized Entry update(HttpResponse<String> response) {
+        String key = key(response.request().uri());
+        Optional<String> etag = response.headers().firstValue("ETag");
+        if (response.statusCode() == 200 && etag.isPresent() && response.body().length() <= this.maxBodyChars) {
+            Entry entry = new Entry(etag.get(), response.body());
+            this.entries.put(key, entry);
+            return entry;
+        }
+        this.entries.remove(key);
+        return null;
+    }
+
+    /**
+     * Las entradas se guardan por ruta, sin el servidor, para compartirlas entre instancias del servidor: el ETag
+     * se calcula con el cuerpo y es el mismo en todas.
+     */
+    private static String key(URI uri) {
+        String query = uri.getRawQuery();
+        return query != null ? uri.getRawPath() + "?" + query : uri.getRawPath();
+    }
+
+    /**
+     * Cuerpo y ETag de una respuesta guardada, y el cuerpo ya decodificado.
+     */
+    static final class Entry {
+
+        private final String etag;
+        private final String body;
+        private volatile Decoded decoded;
+
+        /**
+         * @param etag ETag de la respuesta.
+         * @param body cuerpo de la respuesta.
+         */
+        Entry(String etag, String body) {
+            this.etag = etag;
+            this.body = body;
+        }
+
+        String etag() {
+            return this.etag;
+        }
+
+        String body() {
+            return this.body;
+        }
+
+        /**
+         * Cuerpo decodificado, leyéndolo solo la primera vez que se pide con cada decodificador.
+         *
+         * @param decoder decodificador.
+         * @param <T>     tipo del resultado.
+         * @return una copia del resultado guardado.
+         * @throws IOException si el Json no es válido.
+         */
+        @SuppressWarnings("unchecked")
+        <T> T decode(Json.Decoder<T> decoder) throws IOException {
+            Decoded decoded = this.decoded;
+            if (decoded == null || decoded.decoder() != decoder) {
+                decoded = new Decoded(decoder, decoder.decode(new StringReader(this.body)));
+                this.decoded = decoded;
+            }
+            return decoder.copy().apply((T) decoded.value());
+        }
+
+        /**
+         * Convierte el 304 del servidor en la respuesta guardada.
+         *
+         * @param notModified respuesta 304 del servidor.
+         * @return una respuesta 200 con el cuerpo guardado.
+         */
+        HttpResponse<String> toResponse(HttpResponse<String> notModified) {
+            return new CachedResponse(notModified, this.body);
+        }
+    }
+
+    private record Decoded(Json.Decoder<?> decoder, Object value) {
+    }
+
+    private record CachedResponse(HttpResponse<String> notModified, String body) implements HttpResponse<String> {
+
+        @Override
+        public int statusCode() {
+            return 200;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return this.notModified.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<String>> previousResponse() {
+            return this.notModified.previousResponse();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return this.notModified.headers();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return this.notModified.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return this.notModified.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return this.notModified.version();
+        }
+    }
+}
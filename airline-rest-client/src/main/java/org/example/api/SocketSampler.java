@@ -0,0 +1,163 @@
+package org.example.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conexiones TCP del proceso con el servidor. HttpClient no informa de cuándo abre una conexión nueva o reutiliza
+ * una del pool, así que en Linux se muestrean cada airline.http.metrics.socket-sample-ms (500) los sockets del propio
+ * proceso (/proc/self/fd) que están conectados a los puertos del servidor (/proc/net/tcp y tcp6). Las conexiones que
+ * se abren y cierran entre dos muestras no se ven, así que las conexiones abiertas en total son un mínimo.
+ * En otros sistemas no se muestrea nada.
+ */
+final class SocketSampler {
+
+    private static final Path PROC_FD = Path.of("/proc/self/fd");
+    private static final List<Path> PROC_TCP = List.of(Path.of("/proc/net/tcp"), Path.of("/proc/net/tcp6"));
+
+    /**
+     * Estado ESTABLISHED en /proc/net/tcp.
+     */
+    private static final String ESTABLISHED = "01";
+
+    private final Set<Integer> ports;
+    private final AtomicInteger open = new AtomicInteger(-1);
+    private final AtomicInteger peakOpen = new AtomicInteger(-1);
+    private final AtomicLong opened = new AtomicLong(-1);
+    private Set<Long> previous = Set.of();
+
+    private SocketSampler(Set<Integer> ports) {
+        this.ports = ports;
+    }
+
+    /**
+     * Empieza a muestrear en un hilo virtual si el sistema lo permite.
+     *
+     * @return el muestreo o null si no se puede muestrear.
+     */
+    static SocketSampler start() {
+        long interval = Long.getLong("airline.http.metrics.socket-sample-ms", 500);
+        if (interval <= 0 || !Files.isDirectory(PROC_FD) || !Files.isReadable(PROC_TCP.get(0))) {
+            return null;
+        }
+        SocketSampler sampler = new SocketSampler(serverPorts());
+        sampler.open.set(0);
+        sampler.peakOpen.set(0);
+        sampler.opened.set(0);
+        Thread.ofVirtual().name("airline-socket-sampler").start(() -> {
+            while (true) {
+                sampler.sample();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(interval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        return sampler;
+    }
+
+    /**
+     * @return conexiones abiertas en la última muestra.
+     */
+    int open() {
+        return this.open.get();
+    }
+
+    /**
+     * @return máximo de conexiones abiertas a la vez.
+     */
+    int peakOpen() {
+        return this.peakOpen.get();
+    }
+
+    /**
+     * @return conexiones distintas vistas desde el principio.
+     */
+    long opened() {
+        return this.opened.get();
+    }
+
+    private void sample() {
+        Set<Long> current;
+        try {
+            current = established(ownSockets());
+        } catch (IOException | RuntimeException e) {
+            return;
+        }
+        long added = current.stream().filter(inode -> !this.previous.contains(inode)).count();
+        this.previous = current;
+        this.opened.addAndGet(added);
+        this.open.set(current.size());
+        this.peakOpen.accumulateAndGet(current.size(), Math::max);
+    }
+
+    private static Set<Long> ownSockets() throws IOException {
+        Set<Long> inodes = new HashSet<>();
+        try (DirectoryStream<Path> fds = Files.newDirectoryStream(PROC_FD)) {
+            for (Path fd : fds) {
+                try {
+                    String target = Files.readSymbolicLink(fd).toString();
+                    if (target.startsWith("socket:[")) {
+                        inodes.add(Long.parseLong(target.substring(8, target.length() - 1)));
+                    }
+                } catch (IOException e) {
+                    // El descriptor se ha cerrado mientras se leía.
+                }
+            }
+        }
+        return inodes;
+    }
+
+    /**
+     * Sockets propios conectados a un puerto del servidor. Cada línea de /proc/net/tcp tiene, separados por
+     * espacios: número, dirección:puerto local, dirección:puerto remoto (en hexadecimal), estado, ... e inodo.
+     */
+    private Set<Long> established(Set<Long> own) throws IOException {
+        Set<Long> connected = new HashSet<>();
+        for (Path table : PROC_TCP) {
+            if (!Files.isReadable(table)) {
+                continue;
+            }
+            List<String> lines = Files.readAllLines(table);
+            for (int i = 1; i < lines.size(); i++) {
+                String[] columns = lines.get(i).trim().split("\\s+");
+                if (columns.length < 10 || !columns[3].equals(ESTABLISHED)) {
+                    continue;
+                }
+                String remote = columns[2];
+                int port = Integer.parseInt(remote.substring(remote.indexOf(':') + 1), 16);
+                long inode = Long.parseLong(columns[9]);
+                if (this.ports.contains(port) && own.contains(inode)) {
+                    connected.add(inode);
+                }
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * Puertos de airline.url y airline.urls.
+     */
+    private static Set<Integer> serverPorts() {
+        Set<Integer> ports = new HashSet<>();
+        String urls = System.getProperty("airline.url", "http://localhost:8080") + "," + System.getProperty("airline.urls", "");
+        for (String url : urls.split("\\s*,\\s*")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            URI uri = URI.create(url.trim());
+            ports.add(uri.getPort() >= 0 ? uri.getPort() : "https".equals(uri.getScheme()) ? 443 : 80);
+        }
+        return ports;
+    }
+}
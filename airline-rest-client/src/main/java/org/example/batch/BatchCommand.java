@@ -0,0 +1,126 @@
+package org.example.batch;
+
+import org.example.api.ApiFlightService;
+import org.example.api.ApiPassengerService;
+import org.example.api.ApiUserService;
+import org.example.dto.FlightDTO;
+import org.example.dto.PassengerDTO;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones que se pueden escribir en un guion. Cada una llama a las mismas clases Api* que usa el menú
+ * interactivo, con los argumentos separados por espacios. Las fechas van en formato yyyy-MM-dd.
+ */
+public enum BatchCommand {
+
+    GET_FLIGHTS("get-flights", "origen destino", 2,
+            (a) -> Apis.FLIGHTS.getFlights(a[0], a[1])),
+    GET_FLIGHT("get-flight", "id fecha", 2,
+            (a) -> Apis.FLIGHTS.getFlight(a[0], LocalDate.parse(a[1]))),
+    CREATE_FLIGHT("create-flight", "idCode id origen destino fecha", 5,
+            (a) -> Apis.FLIGHTS.createFlight(flight(a))),
+    MODIFY_FLIGHT("modify-flight", "idCode id origen destino fecha", 5,
+            (a) -> Apis.FLIGHTS.modifyFlight(flight(a), a[0])),
+    DELETE_FLIGHT("delete-flight", "idCode", 1,
+            (a) -> Apis.FLIGHTS.deleteFlight(a[0])),
+    ADD_PASSENGER("add-passenger", "idCode nif nombre apellido email asiento", 6,
+            (a) -> Apis.PASSENGERS.addPassenger(passenger(a), a[0])),
+    GET_PASSENGER("get-passenger", "idCode nif", 2,
+            (a) -> Apis.PASSENGERS.getPassenger(a[0], a[1])),
+    GET_PASSENGERS("get-passengers", "idCode", 1,
+            (a) -> Apis.PASSENGERS.getPassengers(a[0])),
+    UPDATE_PASSENGER("update-passenger", "idCode nif nombre apellido email asiento", 6,
+            (a) -> Apis.PASSENGERS.updatePassenger(passenger(a), a[1])),
+    DELETE_PASSENGER("delete-passenger", "idCode nif", 2,
+            (a) -> Apis.PASSENGERS.deletePassenger(a[0], a[1])),
+    GET_USER("get-user", "nombreUsuario", 1,
+            (a) -> Apis.USERS.getUser(a[0])),
+    SLEEP("sleep", "milisegundos", 1,
+            (a) -> TimeUnit.MILLISECONDS.sleep(Long.parseLong(a[0])));
+
+    private final String name;
+    private final String usage;
+    private final int arguments;
+    private final Action action;
+
+    BatchCommand(String name, String usage, int arguments, Action action) {
+        this.name = name;
+        this.usage = usage;
+        this.arguments = arguments;
+        this.action = action;
+    }
+
+    /**
+     * Busca una operación por su nombre en el guion.
+     *
+     * @param name nombre de la operación (get-flights, add-passenger...).
+     * @return la operación.
+     * @throws IllegalArgumentException si no existe.
+     */
+    public static BatchCommand fromName(String name) {
+        for (BatchCommand command : values()) {
+            if (command.name.equals(name)) {
+                return command;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + name + ". Operaciones: "
+                + Arrays.stream(values()).map(BatchCommand::getName).toList());
+    }
+
+    /**
+     * Ejecuta la operación con las credenciales del hilo actual.
+     *
+     * @param arguments argumentos ya sustituidos.
+     * @throws Exception la excepción del cliente si la petición falla.
+     */
+    public void execute(String[] arguments) throws Exception {
+        this.action.execute(arguments);
+    }
+
+    /**
+     * @return true si la operación es una petición al servidor (se mide en las estadísticas).
+     */
+    public boolean isRequest() {
+        return this != SLEEP;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getUsage() {
+        return this.name + " " + this.usage;
+    }
+
+    public int getArguments() {
+        return this.arguments;
+    }
+
+    private static FlightDTO flight(String[] a) {
+        Date date = Date.from(LocalDate.parse(a[4]).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        return new FlightDTO(a[0], a[1], a[2], a[3], date);
+    }
+
+    private static PassengerDTO passenger(String[] a) {
+        return new PassengerDTO(a[1], a[0], a[2], a[3], a[4], Integer.parseInt(a[5]));
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void execute(String[] arguments) throws Exception;
+    }
+
+    /**
+     * Clases Api* compartidas por todos los hilos; no guardan estado de la petición.
+     */
+    private static final class Apis {
+        private static final ApiFlightService FLIGHTS = new ApiFlightService();
+        private static final ApiPassengerService PASSENGERS = new ApiPassengerService();
+        private static final ApiUserService USERS = new ApiUserService();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.batch;
+
+import org.example.api.ClientMetrics;
+import org.example.api.Credentials;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modo sin menú del cliente: ejecuta un guion de operaciones con varios usuarios simulados a la vez, cada uno en
+ * su hilo y con sus credenciales, usando las mismas clases Api* que el menú. Al terminar escribe el rendimiento
+ * y los percentiles de latencia de cada operación.
+ * <p>
+ * java -cp ... org.example.Main --script=ops.txt --user=dg-user-{n}:dg-pw-{n} --user-count=50 --iterations=20
+ */
+public class BatchMode {
+
+    private final BatchOptions options;
+    private final List<BatchStep> steps;
+    private final BatchStats stats;
+
+    public BatchMode(BatchOptions options, List<BatchStep> steps, BatchStats stats) {
+        this.options = options;
+        this.steps = steps;
+        this.stats = stats;
+    }
+
+    /**
+     * Lee las opciones, ejecuta el guion y escribe el resumen.
+     *
+     * @param args argumentos --nombre=valor.
+     * @return 0 si todas las operaciones han ido bien y 1 si alguna ha fallado.
+     * @throws Exception si las opciones no son válidas o se interrumpe la ejecución.
+     */
+    public static int run(String[] args) throws Exception {
+        BatchOptions options = BatchOptions.parse(args);
+        // Las clases Api* leen la URL del servidor al crearse.
+        System.setProperty("airline.url", options.getUrl());
+        List<BatchStep> steps = BatchStep.parse(options.getOperations());
+        System.out.printf("%d operaciones x %d vueltas, %d usuarios, %d a la vez, modo %s contra %s%n",
+                steps.size(), options.getIterations(), options.getUsers().size(), options.getConcurrency(),
+                options.isReplay() ? "replay" : "script", options.getUrl());
+
+        BatchStats stats = new BatchStats();
+        long start = System.nanoTime();
+        new BatchMode(options, steps, stats).execute();
+        long errors = stats.report(System.out, System.nanoTime() - start);
+        if (options.isMetrics()) {
+            System.out.println();
+            ClientMetrics.print(System.out);
+        }
+        return errors > 0 ? 1 : 0;
+    }
+
+    /**
+     * Lanza los hilos y espera a que terminen. En modo script cada hilo ejecuta el guion completo las vueltas
+     * indicadas; en modo replay los hilos se van repartiendo las operaciones en el orden del guion.
+     */
+    public void execute() {
+        int workers = this.options.getConcurrency();
+        AtomicInteger next = new AtomicInteger();
+        int total = this.steps.size() * this.options.getIterations();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                executor.submit(() -> {
+                    String[] user = this.options.getUsers().get(worker % this.options.getUsers().size());
+                    Credentials.use(user[0], user[1]);
+                    if (this.options.isReplay()) {
+                        for (int i = next.getAndIncrement(); i < total; i = next.getAndIncrement()) {
+                            execute(this.steps.get(i % this.steps.size()), user[0], worker, i / this.steps.size());
+                        }
+                    } else {
+                        for (int iteration = 0; iteration < this.options.getIterations(); iteration++) {
+                            for (BatchStep step : this.steps) {
+                                execute(step, user[0], worker, iteration);
+                            }
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private void execute(BatchStep step, String user, int worker, int iteration) {
+        Map<String, String> variables = Map.of("user", user, "worker", String.valueOf(worker),
+                "iteration", String.valueOf(iteration));
+        String error = null;
+        long start = System.nanoTime();
+        try {
+            step.execute(variables);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = e.getClass().getSimpleName();
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName();
+        }
+        this.stats.record(step.command(), System.nanoTime() - start, error);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.batch;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opciones del modo sin menú, en formato --nombre=valor. Las opciones --op y --user se pueden repetir.
+ * <ul>
+ *     <li>--url: URL del servidor (la de airline.url o http://localhost:8080).</li>
+ *     <li>--script: fichero con una operación por línea.</li>
+ *     <li>--op: operación suelta, con el mismo formato que una línea del guion (por ejemplo --op="get-flights MAD BCN").</li>
+ *     <li>--user: usuario simulado nombre:contraseña. Si lleva {n} se generan --user-count usuarios cambiando {n}
+ *     por 0, 1, 2... (por ejemplo --user=dg-user-{n}:dg-pw-{n}).</li>
+ *     <li>--user-count: usuarios generados por cada --user con {n} (1).</li>
+ *     <li>--users-file: fichero con un usuario nombre:contraseña por línea.</li>
+ *     <li>--mode: script, cada usuario ejecuta el guion completo; replay, las operaciones del guion se reparten
+ *     entre los usuarios y cada una se ejecuta una sola vez (script).</li>
+ *     <li>--concurrency: hilos a la vez, cada uno con un usuario (uno por usuario).</li>
+ *     <li>--iterations: veces que se repite el guion (1).</li>
+ *     <li>--metrics: true para escribir al final las métricas del cliente HTTP (ClientMetrics) (false).</li>
+ * </ul>
+ */
+@Getter
+public class BatchOptions {
+
+    private String url = System.getProperty("airline.url", "http://localhost:8080");
+    private final List<String> operations = new ArrayList<>();
+    private final List<String[]> users = new ArrayList<>();
+    private boolean replay;
+    private int concurrency;
+    private int iterations = 1;
+    private boolean metrics;
+
+    /**
+     * Indica si los argumentos piden el modo sin menú.
+     *
+     * @param args argumentos de la línea de comandos.
+     * @return true si hay alguna opción --script u --op.
+     */
+    public static boolean isBatch(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--script=") || arg.startsWith("--op=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lee las opciones de la línea de comandos.
+     *
+     * @param args argumentos --nombre=valor.
+     * @return las opciones.
+     * @throws IOException              si no se puede leer el guion o el fichero de usuarios.
+     * @throws IllegalArgumentException si alguna opción no existe o no tiene un valor válido.
+     */
+    public static BatchOptions parse(String[] args) throws IOException {
+        BatchOptions options = new BatchOptions();
+        List<String> userPatterns = new ArrayList<>();
+        int userCount = 1;
+        Integer concurrency = null;
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Opción mal formada: " + arg + " (se espera --nombre=valor)");
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "url" -> options.url = value;
+                case "script" -> options.operations.addAll(Files.readAllLines(Path.of(value)));
+                case "op" -> options.operations.add(value);
+                case "user" -> userPatterns.add(value);
+                case "user-count" -> userCount = intValue(name, value, 1);
+                case "users-file" -> userPatterns.addAll(Files.readAllLines(Path.of(value)).stream()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .toList());
+                case "mode" -> {
+                    if (!value.equals("script") && !value.equals("replay")) {
+                        throw new IllegalArgumentException("--mode debe ser script o replay");
+                    }
+                    options.replay = value.equals("replay");
+                }
+                case "concurrency" -> concurrency = intValue(name, value, 1);
+                case "iterations" -> options.iterations = intValue(name, value, 1);
+                case "metrics" -> options.metrics = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Opción desconocida: --" + name);
+            }
+        }
+
+        for (String pattern : userPatterns) {
+            int count = pattern.contains("{n}") ? userCount : 1;
+            for (int n = 0; n < count; n++) {
+                String user = pattern.replace("{n}", String.valueOf(n));
+                int colon = user.indexOf(':');
+                if (colon < 0) {
+                    throw new IllegalArgumentException("Usuario mal formado: " + user + " (se espera nombre:contraseña)");
+                }
+                options.users.add(new String[]{user.substring(0, colon), user.substring(colon + 1)});
+            }
+        }
+        if (options.users.isEmpty()) {
+            throw new IllegalArgumentException("Hace falta al menos un usuario (--user o --users-file)");
+        }
+        options.concurrency = concurrency != null ? concurrency : options.users.size();
+        return options;
+    }
+
+    private static int intValue(String name, String value, int min) {
+        int parsed = Integer.parseInt(value);
+        if (parsed < min) {
+            throw new IllegalArgumentException("--" + name + " debe ser como mínimo " + min);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.batch;
+
+import org.example.api.LatencyStats;
+
+import java.io.PrintStream;
+
+/**
+ * Latencia y errores de cada operación del modo sin menú. Solo se cuentan las operaciones que hacen peticiones.
+ */
+public class BatchStats {
+
+    private final LatencyStats<BatchCommand> stats = new LatencyStats<>(BatchCommand.class);
+
+    /**
+     * Registra una operación.
+     *
+     * @param command      operación ejecutada.
+     * @param latencyNanos duración de la operación.
+     * @param error        nombre del error o null si ha ido bien.
+     */
+    public void record(BatchCommand command, long latencyNanos, String error) {
+        if (command.isRequest()) {
+            this.stats.record(command, latencyNanos, error);
+        }
+    }
+
+    /**
+     * Escribe el rendimiento y los percentiles de latencia de cada operación y del total.
+     *
+     * @param out          salida del resumen.
+     * @param elapsedNanos duración de la ejecución.
+     * @return el número total de errores.
+     */
+    public long report(PrintStream out, long elapsedNanos) {
+        double seconds = LatencyStats.seconds(elapsedNanos);
+        LatencyStats.Snapshot<BatchCommand> snapshot = this.stats.snapshot();
+        out.println();
+        snapshot.print(out, seconds, "Operación", 18, BatchCommand::getName, null);
+        out.printf("%.1f s en total%n", seconds);
+        return snapshot.totalErrors();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.batch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Una línea del guion: la operación y sus argumentos. Los argumentos pueden llevar variables que se sustituyen
+ * al ejecutar: ${user} (usuario simulado), ${worker} (número de hilo) e ${iteration} (vuelta del guion), para
+ * que cada usuario cree sus propios vuelos o pasajeros.
+ *
+ * @param command   operación.
+ * @param arguments argumentos sin sustituir.
+ * @param line      línea del guion, para los mensajes de error.
+ */
+public record BatchStep(BatchCommand command, String[] arguments, int line) {
+
+    /**
+     * Lee las líneas de un guion. Las líneas vacías y las que empiezan por # se ignoran.
+     *
+     * @param lines líneas del guion.
+     * @return los pasos del guion.
+     * @throws IllegalArgumentException si una línea no es una operación válida.
+     */
+    public static List<BatchStep> parse(List<String> lines) {
+        List<BatchStep> steps = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] words = line.split("\\s+");
+            BatchCommand command;
+            try {
+                command = BatchCommand.fromName(words[0]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Línea " + (i + 1) + ": " + e.getMessage());
+            }
+            String[] arguments = Arrays.copyOfRange(words, 1, words.length);
+            if (arguments.length != command.getArguments()) {
+                throw new IllegalArgumentException("Línea " + (i + 1) + ": se espera " + command.getUsage());
+            }
+            steps.add(new BatchStep(command, arguments, i + 1));
+        }
+        return steps;
+    }
+
+    /**
+     * Ejecuta el paso con las credenciales del hilo actual.
+     *
+     * @param variables valores de las variables ${...}.
+     * @throws Exception la excepción del cliente si la petición falla.
+     */
+    public void execute(Map<String, String> variables) throws Exception {
+        String[] resolved = new String[this.arguments.length];
+        for (int i = 0; i < resolved.length; i++) {
+            String argument = this.arguments[i];
+            if (argument.contains("${")) {
+                for (Map.Entry<String, String> variable : variables.entrySet()) {
+                    argument = argument.replace("${" + variable.getKey() + "}", variable.getValue());
+                }
+            }
+            resolved[i] = argument;
+        }
+        this.command.execute(resolved);
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.core;
 
+import org.example.api.ClientMetrics;
 import org.example.service.FlightService;
 import org.example.service.PassengerService;
 import org.example.service.UserService;
@@ -41,6 +42,9 @@ public class Client {
                     case "4":
                         headerAuth = getBasicAuthenticationHeader(sc);
                         break;
+                    case "5":
+                        ClientMetrics.print(System.out);
+                        break;
                     default:
                         System.out.println("Opción incorrecta. Por favor, elija una opción válida.\n");
                 }
@@ -57,6 +61,7 @@ public class Client {
         System.out.println("2 - Gestión de Pasajeros");
         System.out.println("3 - Gestión de Usuarios");
         System.out.println("4 - Login Nuevo Usuario");
+        System.out.println("5 - Estadísticas de la conexión");
         System.out.println("Introduce la operación que deseas realizar: ");
         return sc.nextLine();
     }
@@ -0,0 +1,7 @@
+package org.example.exceptions.generalException;
+
+/**
+ * Excepción para recoger códigos 410: la secuencia de cambios ya no vale y hay que sincronizar desde el principio.
+ */
+public class SyncExpired extends Exception {
+}
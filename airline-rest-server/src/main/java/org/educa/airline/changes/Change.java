@@ -0,0 +1,19 @@
+package org.educa.airline.changes;
+
+/**
+ * Último cambio de una clave de un repositorio.
+ *
+ * @param sequence número de secuencia del cambio, creciente entre todos los repositorios.
+ * @param key      clave del dato (idCode del vuelo, idCode/nif del pasajero).
+ * @param value    dato después del cambio, o null si se ha borrado.
+ * @param <T>      tipo del dato.
+ */
+public record Change<T>(long sequence, String key, T value) {
+
+    /**
+     * @return true si el cambio es un borrado.
+     */
+    public boolean deleted() {
+        return this.value == null;
+    }
+}
@@ -0,0 +1,21 @@
+package org.educa.airline.changes;
+
+/**
+ * Escritura en un repositorio tal y como se envía a los suscriptores de ChangeRing.
+ *
+ * @param sequence número de secuencia, el mismo que en el registro de cambios.
+ * @param entity   entidad cambiada.
+ * @param type     tipo de escritura.
+ * @param key      clave del dato (idCode del vuelo, idCode/nif del pasajero).
+ * @param value    dato después del cambio, o null si se ha borrado.
+ */
+public record ChangeEvent(long sequence, Entity entity, ChangeType type, String key, Object value) {
+
+    /**
+     * Entidades que se registran.
+     */
+    public enum Entity {
+        FLIGHT,
+        PASSENGER
+    }
+}
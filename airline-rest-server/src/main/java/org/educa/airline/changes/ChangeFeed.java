@@ -0,0 +1,47 @@
+package org.educa.airline.changes;
+
+import lombok.Getter;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Passenger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registros de cambios de los vuelos y los pasajeros, con una secuencia común. Los repositorios en memoria
+ * registran cada escritura y ChangesController los sirve para que otros sistemas se mantengan al día pidiendo
+ * solo los cambios desde su última sincronización en lugar de volver a descargar todos los datos. Las escrituras
+ * también se publican en ChangeRing para enviarlas al momento por /changes/stream.
+ * <p>
+ * La secuencia vuelve a empezar al reiniciar el servidor, así que cada arranque tiene su propia época:
+ * una secuencia de otra época no vale y hay que sincronizar desde 0.
+ */
+@Getter
+@Component
+public class ChangeFeed {
+
+    /**
+     * Época del arranque actual.
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ChangeRing ring;
+    private final ChangeLog<Flight> flights;
+    private final ChangeLog<Passenger> passengers;
+
+    /**
+     * @param enabled        false para no registrar los cambios.
+     * @param maxTombstones  borrados que se guardan como máximo en cada registro.
+     * @param streamCapacity escrituras que se guardan para /changes/stream.
+     */
+    @Autowired
+    public ChangeFeed(@Value("${airline.changes.enabled:true}") boolean enabled,
+                      @Value("${airline.changes.max-tombstones:100000}") int maxTombstones,
+                      @Value("${airline.changes.stream.capacity:8192}") int streamCapacity) {
+        this.ring = new ChangeRing(streamCapacity);
+        this.flights = new ChangeLog<>((type, key, value) ->
+                this.ring.append(ChangeEvent.Entity.FLIGHT, type, key, value), enabled, maxTombstones);
+        this.passengers = new ChangeLog<>((type, key, value) ->
+                this.ring.append(ChangeEvent.Entity.PASSENGER, type, key, value), enabled, maxTombstones);
+    }
+}
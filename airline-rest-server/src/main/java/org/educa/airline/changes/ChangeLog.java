@@ -0,0 +1,216 @@
+package org.educa.airline.changes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cambios de un repositorio ordenados por secuencia. De cada clave solo se guarda el último cambio, así que
+ * el registro ocupa lo mismo que los datos más los borrados recientes, y pedir los cambios desde una secuencia
+ * recorre solo los que hay a partir de ella. Pedirlos desde 0 devuelve todos los datos actuales.
+ * <p>
+ * Los borrados se guardan como máximo max-tombstones; al descartar el más antiguo, quien esté sincronizado
+ * antes de su secuencia ya no puede seguir por cambios y tiene que volver a empezar desde 0.
+ * <p>
+ * create, update y delete los llama el repositorio con su cerrojo de escritura tomado, de forma que los cambios
+ * de un mismo repositorio llegan en orden. Las lecturas no bloquean. La secuencia de cada cambio la da el Sequencer,
+ * que también lo publica en ChangeRing.
+ *
+ * @param <T> tipo de los datos del repositorio.
+ */
+public final class ChangeLog<T> {
+
+    private final Sequencer<T> sequencer;
+    private final boolean enabled;
+    private final int maxTombstones;
+
+    private final ConcurrentSkipListMap<Long, Change<T>> changes = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> latest = new HashMap<>();
+    private final Deque<Long> tombstones = new ArrayDeque<>();
+
+    /**
+     * Última secuencia registrada. Se actualiza después de guardar el cambio, de forma que todo
+     * cambio con secuencia menor o igual ya se puede leer.
+     */
+    private volatile long published;
+
+    /**
+     * Secuencia del último borrado descartado.
+     */
+    private volatile long compacted;
+
+    /**
+     * @param sequencer     secuencia compartida con los registros de los demás repositorios.
+     * @param enabled       false para no guardar los cambios (se siguen numerando y publicando).
+     * @param maxTombstones borrados que se guardan como máximo.
+     */
+    public ChangeLog(Sequencer<T> sequencer, boolean enabled, int maxTombstones) {
+        this.sequencer = sequencer;
+        this.enabled = enabled;
+        this.maxTombstones = maxTombstones;
+    }
+
+    /**
+     * Registro que no guarda nada, para los repositorios creados fuera de Spring.
+     *
+     * @param <T> tipo de los datos.
+     * @return el registro.
+     */
+    public static <T> ChangeLog<T> disabled() {
+        AtomicLong sequence = new AtomicLong();
+        return new ChangeLog<>((type, key, value) -> sequence.incrementAndGet(), false, 0);
+    }
+
+    /**
+     * Registra el alta de una clave.
+     *
+     * @param key   clave.
+     * @param value dato nuevo.
+     * @return el cambio registrado, o null si el registro está desactivado.
+     */
+    public Change<T> create(String key, T value) {
+        return record(ChangeType.CREATE, key, value);
+    }
+
+    /**
+     * Registra la modificación de una clave.
+     *
+     * @param key   clave.
+     * @param value dato nuevo.
+     * @return el cambio registrado, o null si el registro está desactivado.
+     */
+    public Change<T> update(String key, T value) {
+        return record(ChangeType.UPDATE, key, value);
+    }
+
+    /**
+     * Registra el borrado de una clave.
+     *
+     * @param key clave.
+     * @return el cambio registrado, o null si el registro está desactivado.
+     */
+    public Change<T> delete(String key) {
+        return record(ChangeType.DELETE, key, null);
+    }
+
+    private Change<T> record(ChangeType type, String key, T value) {
+        long sequence = this.sequencer.next(type, key, value);
+        if (!this.enabled) {
+            return null;
+        }
+        Change<T> change = new Change<>(sequence, key, value);
+        // Se añade el cambio nuevo antes de quitar el anterior: una lectura a la vez puede ver los dos,
+        // pero nunca ninguno.
+        this.changes.put(change.sequence(), change);
+        Long previous = this.latest.put(key, change.sequence());
+        if (previous != null) {
+            this.changes.remove(previous);
+        }
+        if (change.deleted()) {
+            this.tombstones.addLast(change.sequence());
+            pruneTombstones();
+        }
+        this.published = change.sequence();
+        return change;
+    }
+
+    /**
+     * Descarta los borrados más antiguos por encima del máximo. Las secuencias de borrados que ya se han
+     * sustituido por un cambio posterior de la misma clave no están en el registro y solo se sacan de la cola.
+     */
+    private void pruneTombstones() {
+        while (this.tombstones.size() > this.maxTombstones) {
+            long oldest = this.tombstones.removeFirst();
+            Change<T> change = this.changes.get(oldest);
+            if (change != null && change.deleted()) {
+                this.changes.remove(oldest);
+                this.latest.remove(change.key());
+                this.compacted = oldest;
+            }
+        }
+    }
+
+    /**
+     * Última secuencia registrada en este repositorio.
+     *
+     * @return la secuencia, 0 si no hay cambios.
+     */
+    public long sequence() {
+        return this.published;
+    }
+
+    /**
+     * Indica si se pueden dar los cambios desde una secuencia, es decir, si no se ha descartado ningún
+     * borrado posterior a ella.
+     *
+     * @param since secuencia hasta la que está sincronizado quien pregunta.
+     * @return true si se puede seguir por cambios.
+     */
+    public boolean covers(long since) {
+        return since == 0 || (since >= this.compacted && since <= this.published);
+    }
+
+    /**
+     * Cambios posteriores a una secuencia, en orden y con un solo cambio por clave.
+     *
+     * @param since secuencia hasta la que está sincronizado quien pregunta.
+     * @param limit cambios como máximo.
+     * @return los cambios y la secuencia desde la que pedir los siguientes.
+     */
+    public Page<T> since(long since, int limit) {
+        long upTo = this.published;
+        ConcurrentNavigableMap<Long, Change<T>> range = this.changes.subMap(since, false, upTo, true);
+        Map<String, Change<T>> byKey = new HashMap<>();
+        List<Change<T>> result = new ArrayList<>();
+        long last = since;
+        for (Change<T> change : range.values()) {
+            if (result.size() == limit) {
+                return new Page<>(result, last, true);
+            }
+            // Si una clave cambia durante la lectura puede aparecer dos veces: se queda el último cambio.
+            Change<T> duplicate = byKey.put(change.key(), change);
+            if (duplicate != null) {
+                result.remove(duplicate);
+            }
+            result.add(change);
+            last = change.sequence();
+        }
+        return new Page<>(result, upTo, false);
+    }
+
+    /**
+     * Origen de las secuencias de los cambios.
+     *
+     * @param <T> tipo de los datos.
+     */
+    @FunctionalInterface
+    public interface Sequencer<T> {
+
+        /**
+         * Numera un cambio.
+         *
+         * @param type  tipo de escritura.
+         * @param key   clave.
+         * @param value dato nuevo o null si se ha borrado.
+         * @return la secuencia del cambio, mayor que la de todos los anteriores.
+         */
+        long next(ChangeType type, String key, T value);
+    }
+
+    /**
+     * Página de cambios.
+     *
+     * @param changes  cambios en orden de secuencia.
+     * @param sequence secuencia hasta la que llegan los cambios, desde la que pedir los siguientes.
+     * @param more     true si quedan cambios posteriores a sequence.
+     * @param <T>      tipo de los datos.
+     */
+    public record Page<T>(List<Change<T>> changes, long sequence, boolean more) {
+    }
+}
@@ -0,0 +1,170 @@
+package org.educa.airline.changes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Últimas escrituras de los repositorios en un buffer circular de tamaño fijo, para enviarlas a los suscriptores
+ * de /changes/stream. También da la secuencia común de los registros de cambios, de forma que el buffer siempre
+ * está en orden de secuencia.
+ * <p>
+ * Escribir no espera nunca a los suscriptores: cada uno lleva su propia posición y, si se queda atrás más de
+ * lo que cabe en el buffer, sus escrituras pendientes ya se han sobrescrito y tiene que volver a sincronizar.
+ * Las escrituras se publican y se leen sin cerrojo: cada posición guarda la escritura con su secuencia, y quien
+ * lee comprueba después de leerla que es la que buscaba y no una anterior (aún sin publicar) o una posterior
+ * (sobrescrita). El cerrojo solo se usa para esperar, y quien escribe solo lo toma si hay suscriptores esperando.
+ * Con capacidad 0 solo se numeran los cambios.
+ */
+public final class ChangeRing {
+
+    private final AtomicReferenceArray<ChangeEvent> events;
+
+    /**
+     * Se usa ReentrantLock en lugar de synchronized para que los hilos virtuales que esperan
+     * no bloqueen su hilo portador (pinning).
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = this.lock.newCondition();
+
+    /**
+     * Suscriptores dentro de await, para no tomar el cerrojo al escribir si no hay ninguno.
+     */
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    /**
+     * Última secuencia asignada. Su escritura puede no estar publicada todavía.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity escrituras que se guardan.
+     */
+    public ChangeRing(int capacity) {
+        this.events = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Numera una escritura y la guarda en el buffer. Se llama con el cerrojo del repositorio tomado; los
+     * repositorios de vuelos y pasajeros pueden llamarlo a la vez.
+     *
+     * @param entity entidad cambiada.
+     * @param type   tipo de escritura.
+     * @param key    clave.
+     * @param value  dato nuevo o null si se ha borrado.
+     * @return la secuencia de la escritura.
+     */
+    public long append(ChangeEvent.Entity entity, ChangeType type, String key, Object value) {
+        long next = this.sequence.incrementAndGet();
+        if (this.events.length() > 0) {
+            this.events.set(slot(next), new ChangeEvent(next, entity, type, key, value));
+            if (this.waiters.get() > 0) {
+                this.lock.lock();
+                try {
+                    this.appended.signalAll();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Última secuencia.
+     *
+     * @return la secuencia, 0 si no hay escrituras.
+     */
+    public long sequence() {
+        return this.sequence.get();
+    }
+
+    /**
+     * Indica si el buffer guarda todavía todas las escrituras posteriores a una secuencia.
+     *
+     * @param after secuencia.
+     * @return true si se pueden leer desde ella.
+     */
+    public boolean covers(long after) {
+        long current = this.sequence.get();
+        return after <= current && current - after <= this.events.length();
+    }
+
+    /**
+     * Espera a que se publique la escritura siguiente a una secuencia.
+     *
+     * @param after   secuencia.
+     * @param timeout tiempo máximo de espera en milisegundos.
+     * @return true si está publicada (o ya sobrescrita), false si se ha agotado el tiempo.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    public boolean await(long after, long timeout) throws InterruptedException {
+        if (published(after + 1)) {
+            return true;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+        this.lock.lock();
+        this.waiters.incrementAndGet();
+        try {
+            // Se comprueba después de apuntarse en waiters: quien publique después lo verá y avisará.
+            while (!published(after + 1)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = this.appended.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            this.waiters.decrementAndGet();
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Escrituras publicadas posteriores a una secuencia, en orden. Se para en la primera que aún no está
+     * publicada.
+     *
+     * @param after secuencia.
+     * @param max   escrituras como máximo.
+     * @return las escrituras, o null si alguna ya se ha sobrescrito.
+     */
+    public List<ChangeEvent> read(long after, int max) {
+        long current = this.sequence.get();
+        if (after > current || current - after > this.events.length()) {
+            return null;
+        }
+        long last = Math.min(current, after + max);
+        List<ChangeEvent> read = new ArrayList<>((int) (last - after));
+        for (long s = after + 1; s <= last; s++) {
+            ChangeEvent event = this.events.get(slot(s));
+            if (event == null || event.sequence() < s) {
+                break;
+            }
+            if (event.sequence() > s) {
+                return null;
+            }
+            read.add(event);
+        }
+        return read;
+    }
+
+    /**
+     * Indica si la escritura de una secuencia ya está en el buffer o se ha sobrescrito con otra posterior.
+     */
+    private boolean published(long sequence) {
+        if (this.events.length() == 0) {
+            return this.sequence.get() >= sequence;
+        }
+        ChangeEvent event = this.events.get(slot(sequence));
+        return event != null && event.sequence() >= sequence;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % this.events.length());
+    }
+}
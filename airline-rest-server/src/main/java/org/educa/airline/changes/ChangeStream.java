@@ -0,0 +1,160 @@
+package org.educa.airline.changes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.educa.airline.dto.ChangeEventDTO;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.mappers.FlightMapper;
+import org.educa.airline.mappers.PassengerMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suscripciones a /changes/stream. Cada suscriptor tiene un hilo virtual que lee de ChangeRing desde su propia
+ * posición y envía las escrituras por lotes (un solo envío por lote). Si el cliente lee despacio, el envío se
+ * bloquea y solo se retrasa ese suscriptor; si se queda atrás más de lo que cabe en el buffer recibe un evento
+ * reset y sigue desde la escritura actual. Sin escrituras se envía un comentario cada heartbeat-ms, que además
+ * sirve para detectar los clientes que se han ido.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ChangeStream {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final ChangeFeed changeFeed;
+    private final FlightMapper flightMapper;
+    private final PassengerMapper passengerMapper;
+
+    private final int maxSubscribers;
+    private final int batchSize;
+    private final long heartbeatMillis;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    /**
+     * @param changeFeed      registros de cambios y buffer de escrituras.
+     * @param flightMapper    para transformar vuelos a DTO.
+     * @param passengerMapper para transformar pasajeros a DTO.
+     * @param maxSubscribers  suscriptores a la vez como máximo.
+     * @param batchSize       escrituras como máximo en cada envío.
+     * @param heartbeatMillis milisegundos sin escrituras tras los que se envía un comentario.
+     */
+    @Autowired
+    public ChangeStream(ChangeFeed changeFeed, FlightMapper flightMapper, PassengerMapper passengerMapper,
+                        @Value("${airline.changes.stream.max-subscribers:256}") int maxSubscribers,
+                        @Value("${airline.changes.stream.batch:256}") int batchSize,
+                        @Value("${airline.changes.stream.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.changeFeed = changeFeed;
+        this.flightMapper = flightMapper;
+        this.passengerMapper = passengerMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.batchSize = batchSize;
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    /**
+     * Abre una suscripción.
+     *
+     * @param since      secuencia desde la que continuar, o null para recibir solo las escrituras a partir de ahora.
+     * @param epoch      época de la secuencia, o null si es la actual.
+     * @param flights    true para recibir los cambios de vuelos.
+     * @param passengers true para recibir los cambios de pasajeros.
+     * @return el emisor de eventos, o null si ya hay el máximo de suscriptores.
+     */
+    public SseEmitter subscribe(Long since, String epoch, boolean flights, boolean passengers) {
+        if (this.subscribers.incrementAndGet() > this.maxSubscribers) {
+            this.subscribers.decrementAndGet();
+            return null;
+        }
+        ChangeRing ring = this.changeFeed.getRing();
+        boolean resume = since != null && (epoch == null || epoch.equals(this.changeFeed.getEpoch()));
+        // Se continúa desde la secuencia pedida si es de esta época y el buffer todavía la cubre; si no, se avisa
+        // con reset, también cuando una secuencia de otra época coincide con la actual.
+        long cursor = resume && ring.covers(since) ? since : ring.sequence();
+        boolean reset = since != null && (!resume || cursor != since);
+
+        SseEmitter emitter = new SseEmitter(0L);
+        Thread sender = Thread.ofVirtual().name("changes-stream").unstarted(
+                () -> send(emitter, cursor, reset, flights, passengers));
+        emitter.onCompletion(sender::interrupt);
+        emitter.onTimeout(sender::interrupt);
+        emitter.onError(e -> sender.interrupt());
+        sender.start();
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, long cursor, boolean reset, boolean flights, boolean passengers) {
+        ChangeRing ring = this.changeFeed.getRing();
+        try {
+            if (reset) {
+                emitter.send(resetEvent(ring.sequence()));
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!ring.await(cursor, this.heartbeatMillis)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                List<ChangeEvent> events = ring.read(cursor, this.batchSize);
+                if (events == null) {
+                    // Las escrituras pendientes ya se han sobrescrito.
+                    cursor = ring.sequence();
+                    emitter.send(resetEvent(cursor));
+                    continue;
+                }
+                Set<ResponseBodyEmitter.DataWithMediaType> batch = new LinkedHashSet<>();
+                for (ChangeEvent event : events) {
+                    boolean wanted = event.entity() == ChangeEvent.Entity.FLIGHT ? flights : passengers;
+                    if (wanted) {
+                        batch.addAll(event(event).build());
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    emitter.send(batch);
+                }
+                cursor = events.get(events.size() - 1).sequence();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // El cliente se ha desconectado.
+            log.debug("Suscriptor de cambios desconectado: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Error al enviar los cambios a un suscriptor", e);
+        } finally {
+            this.subscribers.decrementAndGet();
+            emitter.complete();
+        }
+    }
+
+    private SseEmitter.SseEventBuilder event(ChangeEvent event) {
+        Object value = switch (event.entity()) {
+            case FLIGHT -> event.value() == null ? null : this.flightMapper.flightToDTO((Flight) event.value());
+            case PASSENGER -> event.value() == null ? null : this.passengerMapper.passengerToDTO((Passenger) event.value());
+        };
+        return SseEmitter.event()
+                .id(this.changeFeed.getEpoch() + ":" + event.sequence())
+                .name(event.entity().name().toLowerCase())
+                .data(new ChangeEventDTO(event.sequence(), event.type().name(), event.key(), value), MediaType.APPLICATION_JSON);
+    }
+
+    private SseEmitter.SseEventBuilder resetEvent(long sequence) {
+        return SseEmitter.event()
+                .id(this.changeFeed.getEpoch() + ":" + sequence)
+                .name("reset")
+                .data(Map.of("epoch", this.changeFeed.getEpoch(), "sequence", sequence), MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,10 @@
+package org.educa.airline.changes;
+
+/**
+ * Tipo de escritura de un cambio.
+ */
+public enum ChangeType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,165 @@
+package org.educa.airline.controllers;
+
+import org.educa.airline.changes.Change;
+import org.educa.airline.changes.ChangeFeed;
+import org.educa.airline.changes.ChangeLog;
+import org.educa.airline.changes.ChangeStream;
+import org.educa.airline.dto.ChangesDTO;
+import org.educa.airline.dto.FlightDTO;
+import org.educa.airline.dto.PassengerDTO;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.mappers.FlightMapper;
+import org.educa.airline.mappers.PassengerMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Controlador asociado a ruta /changes. Devuelve los cambios de vuelos y pasajeros desde una secuencia para
+ * mantener una copia al día: se empieza con since=0, que devuelve todos los datos, y después se pide desde la
+ * secuencia de la respuesta anterior. Si la secuencia ya no vale (otra época o borrados ya descartados)
+ * se responde 410 y hay que empezar de nuevo desde 0. /changes/stream envía además cada escritura al momento
+ * como Server-Sent Events.
+ * Los vuelos requieren autenticación y los pasajeros el rol personal.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path = "/changes")
+public class ChangesController {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final ChangeFeed changeFeed;
+    private final ChangeStream changeStream;
+    private final FlightMapper flightMapper;
+    private final PassengerMapper passengerMapper;
+    private final int maxLimit;
+
+    /**
+     * Se inyectan los registros de cambios y los mappers.
+     *
+     * @param changeFeed      registros de cambios de los repositorios.
+     * @param changeStream    suscripciones a las escrituras.
+     * @param flightMapper    para transformar vuelos a DTO.
+     * @param passengerMapper para transformar pasajeros a DTO.
+     * @param maxLimit        cambios como máximo en cada respuesta.
+     */
+    @Autowired
+    public ChangesController(ChangeFeed changeFeed, ChangeStream changeStream, FlightMapper flightMapper,
+                             PassengerMapper passengerMapper, @Value("${airline.changes.max-limit:10000}") int maxLimit) {
+        this.changeFeed = changeFeed;
+        this.changeStream = changeStream;
+        this.flightMapper = flightMapper;
+        this.passengerMapper = passengerMapper;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Cambios de vuelos desde una secuencia.
+     *
+     * @param since secuencia de la última sincronización, 0 para todos los vuelos.
+     * @param epoch época de la última sincronización, obligatoria si since es mayor que 0.
+     * @param limit cambios como máximo.
+     * @return httpStatus 200 con los cambios.
+     * httpStatus 410 gone si hay que sincronizar desde 0.
+     */
+    @GetMapping("/flights")
+    public ResponseEntity<ChangesDTO<FlightDTO>> getFlightChanges(@RequestParam(name = "since", defaultValue = "0") long since,
+                                                                  @RequestParam(name = "epoch", required = false) String epoch,
+                                                                  @RequestParam(name = "limit", defaultValue = "10000") int limit) {
+        return changes(this.changeFeed.getFlights(), since, epoch, limit, this.flightMapper::flightToDTO);
+    }
+
+    /**
+     * Cambios de pasajeros desde una secuencia.
+     *
+     * @param since secuencia de la última sincronización, 0 para todos los pasajeros.
+     * @param epoch época de la última sincronización, obligatoria si since es mayor que 0.
+     * @param limit cambios como máximo.
+     * @return httpStatus 200 con los cambios.
+     * httpStatus 410 gone si hay que sincronizar desde 0.
+     */
+    @GetMapping("/passengers")
+    public ResponseEntity<ChangesDTO<PassengerDTO>> getPassengerChanges(@RequestParam(name = "since", defaultValue = "0") long since,
+                                                                        @RequestParam(name = "epoch", required = false) String epoch,
+                                                                        @RequestParam(name = "limit", defaultValue = "10000") int limit) {
+        return changes(this.changeFeed.getPassengers(), since, epoch, limit, this.passengerMapper::passengerToDTO);
+    }
+
+    /**
+     * Envía las escrituras de vuelos (eventos flight) y pasajeros (eventos passenger) a medida que ocurren.
+     * Cada evento lleva como id epoch:secuencia; al reconectar, el navegador lo envía en Last-Event-ID y se continúa
+     * desde ahí. Si ya no se puede continuar se envía un evento reset con la secuencia actual y hay que volver
+     * a cargar los datos (por ejemplo con /changes/flights).
+     *
+     * @param types       flights, passengers o ambos separados por coma; por defecto los que permite el rol.
+     * @param since       secuencia desde la que continuar; sin ella solo se envían las escrituras a partir de ahora.
+     * @param epoch       época de since.
+     * @param lastEventId id del último evento recibido, en lugar de since y epoch.
+     * @return httpStatus 200 con el flujo de eventos.
+     * httpStatus 403 forbidden si se piden pasajeros sin el rol personal.
+     * httpStatus 503 serviceUnavailable si ya hay el máximo de suscriptores.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(name = "types", required = false) String types,
+                                             @RequestParam(name = "since", required = false) Long since,
+                                             @RequestParam(name = "epoch", required = false) String epoch,
+                                             @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean isPersonal = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(role -> role.getAuthority().equals("ROLE_personal"));
+        List<String> requested = types == null ? List.of() : Arrays.asList(types.split(","));
+        boolean flights = requested.isEmpty() || requested.contains("flights");
+        boolean passengers = requested.isEmpty() ? isPersonal : requested.contains("passengers");
+        if (passengers && !isPersonal) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (lastEventId != null && lastEventId.matches("[0-9a-z]+:[0-9]+")) {
+            epoch = lastEventId.substring(0, lastEventId.indexOf(':'));
+            since = Long.parseLong(lastEventId.substring(lastEventId.indexOf(':') + 1));
+        }
+        SseEmitter emitter = this.changeStream.subscribe(since, epoch, flights, passengers);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private <T, D> ResponseEntity<ChangesDTO<D>> changes(ChangeLog<T> log, long since, String epoch, int limit,
+                                                         Function<T, D> toDTO) {
+        // Sin época no se sabe si since es de esta ejecución del servidor, así que también se responde 410.
+        boolean sameEpoch = this.changeFeed.getEpoch().equals(epoch);
+        if (since < 0 || (since > 0 && (!sameEpoch || !log.covers(since)))) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        ChangeLog.Page<T> page = log.since(since, Math.max(1, Math.min(limit, this.maxLimit)));
+        List<D> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (Change<T> change : page.changes()) {
+            if (change.deleted()) {
+                deletes.add(change.key());
+            } else {
+                upserts.add(toDTO.apply(change.value()));
+            }
+        }
+        return ResponseEntity.ok(new ChangesDTO<>(this.changeFeed.getEpoch(), page.sequence(), page.more(), upserts, deletes));
+    }
+}
@@ -6,6 +6,7 @@ import org.educa.airline.entity.Flight;
 import org.educa.airline.mappers.FlightMapper;
 import org.educa.airline.services.inservice.FlightService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -20,6 +21,7 @@ import java.util.List;
  * Controlador asociado a ruta /flights
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/flights")
 public class FlightController {
 
@@ -0,0 +1,65 @@
+package org.educa.airline.controllers;
+
+import org.educa.airline.diagnostics.FootprintService;
+import org.educa.airline.diagnostics.FootprintSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Controlador asociado a ruta /admin/footprint. Solo accesible con el rol admin.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path = "/admin/footprint")
+public class FootprintController {
+
+    /**
+     * Clase a inyectar en el constructor.
+     */
+    private final FootprintService footprintService;
+
+    /**
+     * Se inyecta el servicio de estimación de memoria.
+     *
+     * @param footprintService servicio de estimación de memoria.
+     */
+    @Autowired
+    public FootprintController(FootprintService footprintService) {
+        this.footprintService = footprintService;
+    }
+
+    /**
+     * Estima el tamaño actual de los repositorios y devuelve la estimación junto con la evolución
+     * de las estimaciones anteriores (bytes totales y bytes por entidad en cada una).
+     *
+     * @return httpStatus 200 con la estimación actual y la evolución.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getFootprint() {
+        FootprintSnapshot current = this.footprintService.snapshot();
+        List<Map<String, Object>> trend = this.footprintService.history().stream()
+                .map(snapshot -> {
+                    Map<String, Object> point = new LinkedHashMap<>();
+                    point.put("timestamp", snapshot.getTimestamp());
+                    point.put("totalBytes", snapshot.getTotalBytes());
+                    point.put("heapUsedBytes", snapshot.getHeapUsedBytes());
+                    point.put("entities", snapshot.getEntities());
+                    return point;
+                })
+                .collect(Collectors.toList());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("current", current);
+        body.put("trend", trend);
+        return ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,45 @@
+package org.educa.airline.controllers;
+
+import org.educa.airline.hotkeys.HotKeyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controlador asociado a ruta /admin/hotkeys. Solo accesible con el rol admin.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path = "/admin/hotkeys")
+public class HotKeysController {
+
+    /**
+     * Clase a inyectar en el constructor.
+     */
+    private final HotKeyService hotKeyService;
+
+    /**
+     * Se inyecta el servicio de claves frecuentes.
+     *
+     * @param hotKeyService servicio de claves frecuentes.
+     */
+    @Autowired
+    public HotKeysController(HotKeyService hotKeyService) {
+        this.hotKeyService = hotKeyService;
+    }
+
+    /**
+     * Devuelve los vuelos, rutas y usuarios más consultados recientemente con su cuenta estimada.
+     *
+     * @return httpStatus 200 con las claves frecuentes.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getHotKeys() {
+        return ResponseEntity.ok(this.hotKeyService.snapshot());
+    }
+}
@@ -6,6 +6,7 @@ import org.educa.airline.entity.Passenger;
 import org.educa.airline.mappers.PassengerMapper;
 import org.educa.airline.services.inservice.PassengerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -19,6 +20,7 @@ import java.util.List;
  * cuando se realicen peticiones desde el cliente cogeremos esta ruta para acceder a los métodos.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/flights/{idCode}/passengers")
 public class PassengerController {
     /**
@@ -5,6 +5,7 @@ import org.educa.airline.dto.UserDTO;
 import org.educa.airline.mappers.UserMapper;
 import org.educa.airline.services.inservice.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -22,6 +23,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/user")
 public class UserController {
 
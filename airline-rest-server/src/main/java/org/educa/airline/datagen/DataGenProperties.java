@@ -0,0 +1,70 @@
+package org.educa.airline.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parámetros del generador de datos sintéticos. Con la misma semilla y los mismos parámetros se generan
+ * siempre exactamente los mismos datos, independientemente del número de hilos de carga.
+ * En el servidor se configuran con las propiedades airline.datagen.* (perfil "datagen").
+ */
+@Component
+@Profile("datagen")
+@ConfigurationProperties(prefix = "airline.datagen")
+@Getter
+@Setter
+public class DataGenProperties {
+
+    /**
+     * Semilla de la generación.
+     */
+    private long seed = 42;
+
+    /**
+     * Número de vuelos.
+     */
+    private int flights = 10_000;
+
+    /**
+     * Número de aeropuertos y de rutas (pares origen-destino) entre ellos.
+     */
+    private int airports = 60;
+    private int routes = 300;
+
+    /**
+     * Días entre los que se reparten las fechas de los vuelos, a partir del 1 de enero de 2024.
+     */
+    private int days = 365;
+
+    /**
+     * Exponente de la distribución Zipf de los vuelos por ruta: 0 reparte los vuelos por igual entre las rutas,
+     * valores mayores concentran los vuelos en unas pocas rutas calientes.
+     */
+    private double routeSkew = 1.0;
+
+    /**
+     * Plazas por vuelo y proporción de vuelos llenos y vacíos; el resto tiene una ocupación aleatoria.
+     */
+    private int seatsPerFlight = 180;
+    private double fullFlightRatio = 0.2;
+    private double emptyFlightRatio = 0.1;
+
+    /**
+     * Número máximo de maletas por pasajero.
+     */
+    private int maxLuggagePerPassenger = 2;
+
+    /**
+     * Número de usuarios.
+     */
+    private int users = 1000;
+
+    /**
+     * Hilos de carga y vuelos que genera e inserta cada tarea.
+     */
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int batchSize = 1000;
+}
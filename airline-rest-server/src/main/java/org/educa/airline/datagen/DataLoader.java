@@ -0,0 +1,121 @@
+package org.educa.airline.datagen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Luggage;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.repository.inmemory.InMemoryFlightRepository;
+import org.educa.airline.repository.inmemory.InMemoryLuggageRepository;
+import org.educa.airline.repository.inmemory.InMemoryPassengerRepository;
+import org.educa.airline.services.inservice.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga los datos sintéticos directamente en los repositorios al arrancar el servidor con el perfil "datagen".
+ * Los vuelos se reparten en lotes entre varios hilos; cada hilo genera su lote e inserta vuelos y pasajeros
+ * con una sola toma del cerrojo del repositorio por lote.
+ */
+@Component
+@Profile("datagen")
+@Slf4j
+public class DataLoader implements ApplicationRunner {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final InMemoryFlightRepository flightRepository;
+    private final InMemoryPassengerRepository passengerRepository;
+    private final InMemoryLuggageRepository luggageRepository;
+    private final UserService userService;
+    private final DataGenProperties properties;
+
+    /**
+     * Se inyectan los repositorios en los que se cargan los datos y el servicio de usuarios, que cifra
+     * los datos y calcula el hash de la contraseña igual que en el alta por la API.
+     *
+     * @param flightRepository    repositorio de vuelos.
+     * @param passengerRepository repositorio de pasajeros.
+     * @param luggageRepository   repositorio de maletas.
+     * @param userService         servicio de usuarios.
+     * @param properties          parámetros de la generación.
+     */
+    @Autowired
+    public DataLoader(InMemoryFlightRepository flightRepository, InMemoryPassengerRepository passengerRepository,
+                      InMemoryLuggageRepository luggageRepository, UserService userService,
+                      DataGenProperties properties) {
+        this.flightRepository = flightRepository;
+        this.passengerRepository = passengerRepository;
+        this.luggageRepository = luggageRepository;
+        this.userService = userService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(this.properties);
+        AtomicLong passengers = new AtomicLong();
+        AtomicLong luggage = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(this.properties.getWorkers())) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int first = 0; first < this.properties.getFlights(); first += this.properties.getBatchSize()) {
+                int from = first;
+                int to = Math.min(first + this.properties.getBatchSize(), this.properties.getFlights());
+                tasks.add(executor.submit(() -> loadFlights(generator, from, to, passengers, luggage)));
+            }
+            for (int first = 0; first < this.properties.getUsers(); first += this.properties.getBatchSize()) {
+                int from = first;
+                int to = Math.min(first + this.properties.getBatchSize(), this.properties.getUsers());
+                tasks.add(executor.submit(() -> {
+                    loadUsers(generator, from, to);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Datos sintéticos cargados en {} ms con {} hilos: {} vuelos, {} pasajeros, {} maletas, {} usuarios (semilla {})",
+                elapsedMs, this.properties.getWorkers(), this.properties.getFlights(), passengers.get(), luggage.get(),
+                this.properties.getUsers(), this.properties.getSeed());
+    }
+
+    private void loadFlights(SyntheticDataGenerator generator, int from, int to, AtomicLong passengerCount, AtomicLong luggageCount) {
+        List<Flight> flights = new ArrayList<>(to - from);
+        List<Passenger> passengers = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Flight flight = generator.flight(i);
+            flights.add(flight);
+            for (Passenger passenger : generator.passengers(i)) {
+                passengers.add(passenger);
+                for (Luggage bag : generator.luggage(i, passenger)) {
+                    this.luggageRepository.addLuggage(flight.getIdCode(), passenger.getNif(), bag);
+                    luggageCount.incrementAndGet();
+                }
+            }
+        }
+        this.flightRepository.addAll(flights);
+        passengerCount.addAndGet(this.passengerRepository.addPassengers(passengers));
+    }
+
+    private void loadUsers(SyntheticDataGenerator generator, int from, int to) throws Exception {
+        for (int u = from; u < to; u++) {
+            this.userService.createUser(generator.user(u));
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.educa.airline.datagen;
+
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Luggage;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.entity.Role;
+import org.educa.airline.entity.User;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generador determinista de vuelos, pasajeros, maletas y usuarios. Cada elemento se genera con su propio
+ * generador aleatorio, derivado de la semilla y de su índice, por lo que el vuelo i es siempre el mismo
+ * aunque se genere desde cualquier hilo y en cualquier orden.
+ * <p>
+ * Los vuelos se reparten entre las rutas con una distribución Zipf (rutas calientes) y su ocupación puede
+ * ser completa, vacía o aleatoria según las proporciones configuradas.
+ */
+public class SyntheticDataGenerator {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final String[] NAMES = {"Ana", "Luis", "María", "Javier", "Lucía", "Carlos", "Elena", "Pablo",
+            "Sofía", "Diego", "Laura", "Miguel", "Carmen", "Jorge", "Marta", "Raúl"};
+    private static final String[] SURNAMES = {"García", "Rodríguez", "González", "Fernández", "López", "Martínez",
+            "Sánchez", "Pérez", "Gómez", "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz"};
+    private static final String[] LUGGAGE = {"Maleta de cabina", "Maleta facturada", "Mochila", "Bolsa de deporte",
+            "Equipaje especial"};
+    private static final String NIF_LETTERS = "TRWAGMYFPDXBNJZSQVHLCKE";
+
+    /**
+     * Flujos independientes de números aleatorios para cada tipo de dato.
+     */
+    private static final long FLIGHT_STREAM = 1;
+    private static final long PASSENGER_STREAM = 2;
+    private static final long LUGGAGE_STREAM = 3;
+    private static final long USER_STREAM = 4;
+
+    private final DataGenProperties properties;
+
+    /**
+     * Probabilidad acumulada de cada ruta, de la más caliente a la más fría.
+     */
+    private final double[] routeCdf;
+
+    public SyntheticDataGenerator(DataGenProperties properties) {
+        if (properties.getRoutes() > properties.getAirports() * (properties.getAirports() - 1)) {
+            throw new IllegalArgumentException("No hay suficientes aeropuertos para " + properties.getRoutes() + " rutas");
+        }
+        this.properties = properties;
+        this.routeCdf = new double[properties.getRoutes()];
+        double total = 0;
+        for (int r = 0; r < this.routeCdf.length; r++) {
+            total += 1.0 / Math.pow(r + 1, properties.getRouteSkew());
+            this.routeCdf[r] = total;
+        }
+        for (int r = 0; r < this.routeCdf.length; r++) {
+            this.routeCdf[r] /= total;
+        }
+    }
+
+    /**
+     * Genera el vuelo número i.
+     *
+     * @param i índice del vuelo.
+     * @return el vuelo.
+     */
+    public Flight flight(int i) {
+        SplittableRandom random = random(FLIGHT_STREAM, i);
+        int route = route(random);
+        LocalDate date = FIRST_DATE.plusDays(random.nextInt(this.properties.getDays()));
+        return new Flight(idCode(i), "F" + i, airport(origin(route)), airport(destination(route)),
+                Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+    }
+
+    /**
+     * Número de pasajeros del vuelo número i: lleno, vacío u ocupación aleatoria. Usa el índice del asiento 0
+     * del vuelo, que no tiene pasajero, para no repetir los números de ningún pasajero.
+     *
+     * @param i índice del vuelo.
+     * @return número de pasajeros.
+     */
+    public int occupancy(int i) {
+        int seats = this.properties.getSeatsPerFlight();
+        SplittableRandom random = random(PASSENGER_STREAM, (long) i * (seats + 1));
+        double value = random.nextDouble();
+        if (value < this.properties.getFullFlightRatio()) {
+            return seats;
+        } else if (value < this.properties.getFullFlightRatio() + this.properties.getEmptyFlightRatio()) {
+            return 0;
+        }
+        return random.nextInt(seats + 1);
+    }
+
+    /**
+     * Genera los pasajeros del vuelo número i, uno por asiento ocupado.
+     *
+     * @param i índice del vuelo.
+     * @return los pasajeros.
+     */
+    public List<Passenger> passengers(int i) {
+        int occupancy = occupancy(i);
+        List<Passenger> passengers = new ArrayList<>(occupancy);
+        for (int seat = 1; seat <= occupancy; seat++) {
+            passengers.add(passenger(i, seat));
+        }
+        return passengers;
+    }
+
+    /**
+     * Genera el pasajero que ocupa el asiento indicado del vuelo número i.
+     *
+     * @param i    índice del vuelo.
+     * @param seat asiento (de 1 al número de plazas).
+     * @return el pasajero.
+     */
+    public Passenger passenger(int i, int seat) {
+        long index = (long) i * (this.properties.getSeatsPerFlight() + 1) + seat;
+        SplittableRandom random = random(PASSENGER_STREAM, index);
+        String name = NAMES[random.nextInt(NAMES.length)];
+        String surname = SURNAMES[random.nextInt(SURNAMES.length)];
+        // El NIF sale del índice del asiento para que no se repita dentro del vuelo.
+        String nif = nif((int) (index % 100_000_000));
+        return new Passenger(nif, idCode(i), name, surname, email(name, surname, nif), seat);
+    }
+
+    /**
+     * Genera las maletas de un pasajero (de 0 al máximo configurado).
+     *
+     * @param i         índice del vuelo.
+     * @param passenger pasajero generado con passenger(i, seat).
+     * @return las maletas.
+     */
+    public List<Luggage> luggage(int i, Passenger passenger) {
+        SplittableRandom random = random(LUGGAGE_STREAM, (long) i * (this.properties.getSeatsPerFlight() + 1) + passenger.getSeatNumber());
+        int count = random.nextInt(this.properties.getMaxLuggagePerPassenger() + 1);
+        List<Luggage> luggage = new ArrayList<>(count);
+        for (int l = 0; l < count; l++) {
+            luggage.add(new Luggage(l, passenger.getNif(), passenger.getFlightIdCode(), LUGGAGE[random.nextInt(LUGGAGE.length)]));
+        }
+        return luggage;
+    }
+
+    /**
+     * Genera el usuario número u con su contraseña en claro: 10% administradores, 30% personal de vuelo
+     * y el resto usuarios sin permisos especiales. El nombre de usuario es dg-user-u y la contraseña dg-pw-u.
+     *
+     * @param u índice del usuario.
+     * @return el usuario.
+     */
+    public User user(int u) {
+        SplittableRandom random = random(USER_STREAM, u);
+        String name = NAMES[random.nextInt(NAMES.length)];
+        String surname = SURNAMES[random.nextInt(SURNAMES.length)];
+        String nif = nif(random.nextInt(100_000_000));
+        List<Role> roles = switch (u % 10) {
+            case 0 -> Arrays.asList(new Role("ROLE_admin", "admin", "Administrador"),
+                    new Role("ROLE_personal", "personal", "Personal de vuelo"));
+            case 1, 2, 3 -> Arrays.asList(new Role("ROLE_personal", "personal", "Personal de vuelo"));
+            default -> Arrays.asList(new Role("ROLE_user", "user", "Usuario"));
+        };
+        return new User("dg-user-" + u, "dg-pw-" + u, nif, name, surname, email(name, surname, nif), roles);
+    }
+
+    /**
+     * Código de vuelo del vuelo número i.
+     *
+     * @param i índice del vuelo.
+     * @return el idCode.
+     */
+    public static String idCode(int i) {
+        return "DG" + i;
+    }
+
+    private int route(SplittableRandom random) {
+        int route = Arrays.binarySearch(this.routeCdf, random.nextDouble());
+        return Math.min(route < 0 ? -route - 1 : route, this.routeCdf.length - 1);
+    }
+
+    private int origin(int route) {
+        return route % this.properties.getAirports();
+    }
+
+    private int destination(int route) {
+        int airports = this.properties.getAirports();
+        return (origin(route) + 1 + (route / airports) % (airports - 1)) % airports;
+    }
+
+    /**
+     * Código IATA ficticio de tres letras del aeropuerto a.
+     */
+    private static String airport(int a) {
+        return new String(new char[]{(char) ('A' + a / 676 % 26), (char) ('A' + a / 26 % 26), (char) ('A' + a % 26)});
+    }
+
+    private static String nif(int number) {
+        return String.format("%08d%c", number, NIF_LETTERS.charAt(number % NIF_LETTERS.length()));
+    }
+
+    private static String email(String name, String surname, String nif) {
+        String local = Normalizer.normalize(name.charAt(0) + surname, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return (local + "." + nif).toLowerCase() + "@airline.com";
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(this.properties.getSeed() * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+}
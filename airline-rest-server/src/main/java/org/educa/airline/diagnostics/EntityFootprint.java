@@ -0,0 +1,30 @@
+package org.educa.airline.diagnostics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Número de objetos de un tipo de entidad y bytes que ocupan, incluidos sus String, fechas y listas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityFootprint {
+    private long count;
+    private long bytes;
+
+    /**
+     * Bytes medios por entidad.
+     *
+     * @return bytes por entidad o 0 si no hay ninguna.
+     */
+    public long getBytesPerEntity() {
+        return this.count == 0 ? 0 : this.bytes / this.count;
+    }
+
+    void add(long count, long bytes) {
+        this.count += count;
+        this.bytes += bytes;
+    }
+}
@@ -0,0 +1,240 @@
+package org.educa.airline.diagnostics;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Estima el tamaño retenido por un repositorio recorriendo su grafo de objetos y sumando el tamaño
+ * de cada objeto según ObjectLayout. Cada objeto se cuenta una sola vez, aunque esté referenciado desde
+ * varios sitios. Los bytes se atribuyen a la entidad (clases de org.educa.airline.entity) que contiene
+ * el objeto, o a las estructuras del repositorio (mapas, nodos, tablas y claves) si no está dentro de ninguna.
+ * No se entra en las clases de org.educa.airline.changes ni de org.educa.airline.diagnostics: el registro de cambios
+ * y los cerrojos monitorizados se comparten entre repositorios y no forman parte de sus datos.
+ * <p>
+ * Si el mapa principal de un repositorio tiene más de maxSamples elementos, solo se recorre una muestra
+ * repartida por todo el mapa y el resultado se extrapola al tamaño total. La capacidad de las tablas de los
+ * mapas y listas no es accesible, así que se supone la que tendrían tras crecer desde la capacidad por defecto.
+ */
+public class FootprintEstimator {
+
+    /**
+     * Nombre con el que se agrupan los bytes que no pertenecen a ninguna entidad.
+     */
+    public static final String STRUCTURES = "estructuras";
+
+    private static final String APPLICATION_PACKAGE = "org.educa.airline.";
+    private static final String ENTITY_PACKAGE = "org.educa.airline.entity";
+    private static final List<String> EXCLUDED_PACKAGES = List.of("org.educa.airline.changes", "org.educa.airline.diagnostics");
+    private static final int MAX_COPY_ATTEMPTS = 5;
+
+    private final ObjectLayout layout;
+    private final int maxSamples;
+    private final Map<Class<?>, List<Field>> referenceFields = new ConcurrentHashMap<>();
+
+    /**
+     * @param layout     disposición de los objetos en el heap.
+     * @param maxSamples número máximo de elementos del mapa principal de cada repositorio que se recorren.
+     */
+    public FootprintEstimator(ObjectLayout layout, int maxSamples) {
+        this.layout = layout;
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Estima el tamaño de un repositorio.
+     *
+     * @param name       nombre del repositorio en el informe.
+     * @param repository repositorio a medir.
+     * @return el tamaño estimado.
+     */
+    public RepositoryFootprint estimate(String name, Object repository) {
+        Walk walk = new Walk(Collections.newSetFromMap(new IdentityHashMap<>()));
+        walk.visited.add(repository);
+        walk.add(null, this.layout.shallowSize(repository.getClass()));
+        for (Field field : referenceFields(repository.getClass())) {
+            Object value = read(field, repository);
+            if (value instanceof Map<?, ?> map) {
+                walkMap(map, walk, null, true);
+            } else {
+                walk(value, walk, null);
+            }
+        }
+
+        long structureBytes = walk.buckets.getOrDefault(STRUCTURES, new EntityFootprint()).getBytes();
+        Map<String, EntityFootprint> entities = new TreeMap<>(walk.buckets);
+        entities.remove(STRUCTURES);
+        long total = walk.buckets.values().stream().mapToLong(EntityFootprint::getBytes).sum();
+        return new RepositoryFootprint(name, total, structureBytes, walk.sampleRatio, entities);
+    }
+
+    private void walk(Object object, Walk walk, String owner) {
+        if (object == null || !walk.visited.add(object)) {
+            return;
+        }
+        Class<?> type = object.getClass();
+        if (type.isEnum() || object instanceof Class<?> || excluded(type)) {
+            return;
+        }
+        if (type.getPackageName().equals(ENTITY_PACKAGE)) {
+            owner = type.getSimpleName();
+            walk.count(owner);
+        }
+
+        if (object instanceof String value) {
+            walk.add(owner, this.layout.stringSize(value));
+        } else if (object instanceof Map<?, ?> map) {
+            walkMap(map, walk, owner, false);
+        } else if (object instanceof Collection<?> collection) {
+            List<?> elements = copy(() -> new ArrayList<>(collection));
+            walk.add(owner, this.layout.shallowSize(type) + this.layout.arraySize(Object.class, elements.size()));
+            for (Object element : elements) {
+                walk(element, walk, owner);
+            }
+        } else if (type.isArray()) {
+            int length = Array.getLength(object);
+            walk.add(owner, this.layout.arraySize(type.getComponentType(), length));
+            if (!type.getComponentType().isPrimitive()) {
+                for (int i = 0; i < length; i++) {
+                    walk(Array.get(object, i), walk, owner);
+                }
+            }
+        } else {
+            walk.add(owner, this.layout.shallowSize(type));
+            // De las clases del JDK (Date, Integer, cerrojos...) solo se cuenta el propio objeto.
+            if (type.getName().startsWith(APPLICATION_PACKAGE)) {
+                for (Field field : referenceFields(type)) {
+                    walk(read(field, object), walk, owner);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recorre un mapa: el objeto del mapa, su tabla y un nodo por elemento, más las claves y valores.
+     * Si se permite muestrear y el mapa es grande, solo se recorre una muestra de los elementos.
+     */
+    private void walkMap(Map<?, ?> map, Walk walk, String owner, boolean sampled) {
+        List<Map.Entry<?, ?>> entries = copy(() -> new ArrayList<>(map.entrySet()));
+        walk.add(owner, this.layout.shallowSize(map.getClass())
+                + this.layout.hashTableSize(entries.size())
+                + this.layout.shallowSize(nodeType(map)) * entries.size());
+
+        if (!sampled || entries.size() <= this.maxSamples) {
+            for (Map.Entry<?, ?> entry : entries) {
+                walk(entry.getKey(), walk, owner);
+                walk(entry.getValue(), walk, owner);
+            }
+            return;
+        }
+
+        int stride = (entries.size() + this.maxSamples - 1) / this.maxSamples;
+        Walk sample = new Walk(walk.visited);
+        int walked = 0;
+        for (int i = 0; i < entries.size(); i += stride) {
+            walk(entries.get(i).getKey(), sample, owner);
+            walk(entries.get(i).getValue(), sample, owner);
+            walked++;
+        }
+        double ratio = walked / (double) entries.size();
+        walk.merge(sample, 1 / ratio);
+        walk.sampleRatio = Math.min(walk.sampleRatio, ratio);
+    }
+
+    private static boolean excluded(Class<?> type) {
+        String name = type.getName();
+        return EXCLUDED_PACKAGES.stream().anyMatch(name::startsWith);
+    }
+
+    private static Class<?> nodeType(Map<?, ?> map) {
+        String name = map instanceof ConcurrentHashMap<?, ?> ? "java.util.concurrent.ConcurrentHashMap$Node"
+                : map instanceof LinkedHashMap<?, ?> ? "java.util.LinkedHashMap$Entry"
+                : map instanceof TreeMap<?, ?> ? "java.util.TreeMap$Entry"
+                : "java.util.HashMap$Node";
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return Object.class;
+        }
+    }
+
+    /**
+     * Copia los elementos de una colección que puede estar modificándose en otro hilo.
+     */
+    private static <T> List<T> copy(Supplier<List<T>> copier) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return copier.get();
+            } catch (ConcurrentModificationException e) {
+                if (attempt == MAX_COPY_ATTEMPTS) {
+                    return List.of();
+                }
+            }
+        }
+    }
+
+    private List<Field> referenceFields(Class<?> type) {
+        return this.referenceFields.computeIfAbsent(type, t -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = t; c != null && c.getName().startsWith(APPLICATION_PACKAGE); c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        });
+    }
+
+    private static Object read(Field field, Object target) {
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Estado de un recorrido: objetos ya contados y bytes acumulados por entidad o estructura.
+     */
+    private static final class Walk {
+        private final Set<Object> visited;
+        private final Map<String, EntityFootprint> buckets = new TreeMap<>();
+        private double sampleRatio = 1;
+
+        private Walk(Set<Object> visited) {
+            this.visited = visited;
+        }
+
+        private void add(String owner, long bytes) {
+            bucket(owner).add(0, bytes);
+        }
+
+        private void count(String owner) {
+            bucket(owner).add(1, 0);
+        }
+
+        private void merge(Walk sample, double factor) {
+            sample.buckets.forEach((owner, footprint) -> bucket(owner)
+                    .add(Math.round(footprint.getCount() * factor), Math.round(footprint.getBytes() * factor)));
+        }
+
+        private EntityFootprint bucket(String owner) {
+            return this.buckets.computeIfAbsent(owner == null ? STRUCTURES : owner, o -> new EntityFootprint());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.educa.airline.diagnostics;
+
+import org.educa.airline.repository.inmemory.InMemoryFlightRepository;
+import org.educa.airline.repository.inmemory.InMemoryLuggageRepository;
+import org.educa.airline.repository.inmemory.InMemoryPassengerRepository;
+import org.educa.airline.repository.inmemory.InMemoryUserRepository;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estimación del tamaño en memoria de los repositorios, por repositorio y por tipo de entidad.
+ * Cada estimación se guarda en un histórico para ver la evolución a medida que crecen los datos
+ * (airline.diagnostics.footprint.history estimaciones como máximo).
+ */
+@Service
+public class FootprintService {
+
+    /**
+     * Repositorios a medir, por nombre.
+     */
+    private final Map<String, Object> repositories = new LinkedHashMap<>();
+    private final FootprintEstimator estimator;
+    private final int historySize;
+    private final Deque<FootprintSnapshot> history = new ArrayDeque<>();
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Se inyectan los repositorios en memoria a medir.
+     *
+     * @param flightRepository    repositorio de vuelos.
+     * @param passengerRepository repositorio de pasajeros.
+     * @param luggageRepository   repositorio de maletas.
+     * @param userRepository      repositorio de usuarios.
+     * @param maxSamples          elementos del mapa principal de cada repositorio que se recorren como máximo.
+     * @param historySize         número de estimaciones que se guardan en el histórico.
+     */
+    @Autowired
+    public FootprintService(InMemoryFlightRepository flightRepository, InMemoryPassengerRepository passengerRepository,
+                            InMemoryLuggageRepository luggageRepository, InMemoryUserRepository userRepository,
+                            @Value("${airline.diagnostics.footprint.samples:10000}") int maxSamples,
+                            @Value("${airline.diagnostics.footprint.history:100}") int historySize) {
+        this.repositories.put("flights", flightRepository);
+        this.repositories.put("passengers", passengerRepository);
+        this.repositories.put("luggage", luggageRepository);
+        this.repositories.put("users", userRepository);
+        this.estimator = new FootprintEstimator(ObjectLayout.current(), maxSamples);
+        this.historySize = historySize;
+    }
+
+    /**
+     * Estima el tamaño actual de los repositorios y lo añade al histórico.
+     *
+     * @return la estimación.
+     */
+    public FootprintSnapshot snapshot() {
+        List<RepositoryFootprint> footprints = new ArrayList<>();
+        Map<String, EntityFootprint> entities = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<String, Object> repository : this.repositories.entrySet()) {
+            // Si el repositorio está envuelto en un proxy de Spring se mide el objeto real.
+            Object target = AopProxyUtils.getSingletonTarget(repository.getValue());
+            RepositoryFootprint footprint = this.estimator.estimate(repository.getKey(),
+                    target != null ? target : repository.getValue());
+            footprints.add(footprint);
+            total += footprint.getTotalBytes();
+            footprint.getEntities().forEach((type, entity) -> entities.computeIfAbsent(type, t -> new EntityFootprint())
+                    .add(entity.getCount(), entity.getBytes()));
+        }
+        FootprintSnapshot snapshot = new FootprintSnapshot(Instant.now(), total,
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), entities, footprints);
+
+        this.lock.lock();
+        try {
+            this.history.addLast(snapshot);
+            while (this.history.size() > this.historySize) {
+                this.history.removeFirst();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Estimaciones anteriores, de la más antigua a la más reciente.
+     *
+     * @return el histórico.
+     */
+    public List<FootprintSnapshot> history() {
+        this.lock.lock();
+        try {
+            return new ArrayList<>(this.history);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.educa.airline.diagnostics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimación del tamaño de todos los repositorios en un instante, con el total por tipo de entidad
+ * y el heap usado por la JVM en ese momento como referencia.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FootprintSnapshot {
+    private Instant timestamp;
+    private long totalBytes;
+    private long heapUsedBytes;
+    private Map<String, EntityFootprint> entities;
+    private List<RepositoryFootprint> repositories;
+}
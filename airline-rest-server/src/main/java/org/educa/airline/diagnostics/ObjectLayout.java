@@ -0,0 +1,131 @@
+package org.educa.airline.diagnostics;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cálculo aproximado del tamaño de los objetos en el heap de HotSpot a partir de sus campos:
+ * cabecera del objeto, tamaño de cada campo y alineación. Los parámetros (punteros comprimidos
+ * y alineación) se leen de la JVM en ejecución.
+ */
+public class ObjectLayout {
+
+    private final int headerSize;
+    private final int arrayHeaderSize;
+    private final int referenceSize;
+    private final int alignment;
+
+    /**
+     * Tamaño de los objetos de cada clase ya calculado.
+     */
+    private final Map<Class<?>, Long> shallowSizes = new ConcurrentHashMap<>();
+
+    public ObjectLayout(boolean compressedOops, boolean compressedClassPointers, int alignment) {
+        this.headerSize = compressedClassPointers ? 12 : 16;
+        this.arrayHeaderSize = compressedClassPointers ? 16 : 24;
+        this.referenceSize = compressedOops ? 4 : 8;
+        this.alignment = alignment;
+    }
+
+    /**
+     * Disposición de la JVM en ejecución.
+     *
+     * @return la disposición de los objetos.
+     */
+    public static ObjectLayout current() {
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        return new ObjectLayout(
+                Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue()),
+                Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedClassPointers").getValue()),
+                Integer.parseInt(hotSpot.getVMOption("ObjectAlignmentInBytes").getValue()));
+    }
+
+    /**
+     * Tamaño de un objeto de la clase sin contar los objetos a los que referencia.
+     *
+     * @param type clase del objeto.
+     * @return tamaño en bytes.
+     */
+    public long shallowSize(Class<?> type) {
+        return this.shallowSizes.computeIfAbsent(type, t -> {
+            long size = this.headerSize;
+            for (Class<?> c = t; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+            return align(size);
+        });
+    }
+
+    /**
+     * Tamaño de un array.
+     *
+     * @param componentType tipo de los elementos.
+     * @param length        número de elementos.
+     * @return tamaño en bytes.
+     */
+    public long arraySize(Class<?> componentType, long length) {
+        return align(this.arrayHeaderSize + length * fieldSize(componentType));
+    }
+
+    /**
+     * Tamaño de un String con su array de bytes (un byte por carácter si todos son Latin-1, dos si no).
+     *
+     * @param value cadena.
+     * @return tamaño en bytes.
+     */
+    public long stringSize(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        return shallowSize(String.class) + arraySize(byte.class, (long) value.length() * (latin1 ? 1 : 2));
+    }
+
+    /**
+     * Tamaño de la tabla de un HashMap o ConcurrentHashMap con el número de elementos indicado, suponiendo
+     * que ha crecido desde la capacidad por defecto con factor de carga 0,75.
+     *
+     * @param size número de elementos.
+     * @return tamaño en bytes de la tabla (0 si está vacía).
+     */
+    public long hashTableSize(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        int capacity = 16;
+        while (capacity * 3L / 4 < size) {
+            capacity <<= 1;
+        }
+        return arraySize(Object.class, capacity);
+    }
+
+    public int getReferenceSize() {
+        return this.referenceSize;
+    }
+
+    private long fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return this.referenceSize;
+    }
+
+    private long align(long size) {
+        return (size + this.alignment - 1) / this.alignment * this.alignment;
+    }
+}
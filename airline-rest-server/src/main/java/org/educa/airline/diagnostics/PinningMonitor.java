@@ -0,0 +1,103 @@
+package org.educa.airline.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Comprobación de pinning de hilos virtuales mediante JFR. Escucha el evento jdk.VirtualThreadPinned,
+ * que la JVM emite cuando un hilo virtual se bloquea sin poder liberar su hilo portador
+ * (por ejemplo, esperando dentro de un bloque synchronized), y lo escribe en el log con la pila
+ * donde se ha producido.
+ * Se activa con airline.diagnostics.pinning.enabled=true (perfil "virtual").
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "airline.diagnostics.pinning.enabled", havingValue = "true")
+public class PinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Número de frames de la pila que se escriben por evento.
+     */
+    private static final int MAX_FRAMES = 8;
+
+    /**
+     * Duración mínima del bloqueo para que se registre el evento.
+     */
+    private final Duration threshold;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private RecordingStream recordingStream;
+
+    /**
+     * @param thresholdMs duración mínima en milisegundos del bloqueo a registrar.
+     */
+    public PinningMonitor(@Value("${airline.diagnostics.pinning.threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    /**
+     * Arranca la grabación JFR en segundo plano.
+     */
+    @PostConstruct
+    public void start() {
+        this.recordingStream = new RecordingStream();
+        this.recordingStream.enable(PINNED_EVENT).withThreshold(this.threshold).withStackTrace();
+        this.recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        this.recordingStream.startAsync();
+        log.info("Comprobación de pinning activa (umbral {} ms)", this.threshold.toMillis());
+    }
+
+    /**
+     * Detiene la grabación JFR.
+     */
+    @PreDestroy
+    public void stop() {
+        if (this.recordingStream != null) {
+            this.recordingStream.close();
+        }
+        log.info("Eventos de pinning registrados: {}", this.pinnedEvents.get());
+    }
+
+    /**
+     * Número de eventos de pinning detectados desde el arranque.
+     *
+     * @return número de eventos.
+     */
+    public long getPinnedEvents() {
+        return this.pinnedEvents.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        this.pinnedEvents.incrementAndGet();
+        StringBuilder stack = new StringBuilder();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            int frames = 0;
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (frames++ == MAX_FRAMES) {
+                    break;
+                }
+                stack.append("\n\tat ")
+                        .append(frame.getMethod().getType().getName())
+                        .append('.')
+                        .append(frame.getMethod().getName())
+                        .append(':')
+                        .append(frame.getLineNumber());
+            }
+        }
+        log.warn("Hilo virtual bloqueado sobre su portador durante {} ms{}", event.getDuration().toMillis(), stack);
+    }
+}
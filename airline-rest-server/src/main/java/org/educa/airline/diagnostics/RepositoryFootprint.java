@@ -0,0 +1,26 @@
+package org.educa.airline.diagnostics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Tamaño estimado de un repositorio: total, parte de las estructuras (mapas, nodos, tablas y claves)
+ * y parte de cada tipo de entidad.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryFootprint {
+    private String name;
+    private long totalBytes;
+    private long structureBytes;
+
+    /**
+     * Proporción de elementos recorridos del mapa principal (1 si se ha recorrido entero).
+     */
+    private double sampleRatio;
+    private Map<String, EntityFootprint> entities;
+}
@@ -0,0 +1,30 @@
+package org.educa.airline.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de la comprobación de una contraseña (SecurityService.matches), que en cada petición
+ * autenticada calcula el hash de la contraseña recibida.
+ */
+@Name("org.educa.airline.PasswordCheck")
+@Label("Comprobación de contraseña")
+@Category({"Airline", "Seguridad"})
+@Description("Hash y comparación de la contraseña de una petición con autenticación Basic")
+@StackTrace(false)
+public class AuthEvent extends Event {
+
+    @Label("Correcta")
+    boolean matched;
+
+    /**
+     * @param matched si la contraseña es correcta.
+     */
+    public void setMatched(boolean matched) {
+        this.matched = matched;
+    }
+}
@@ -0,0 +1,25 @@
+package org.educa.airline.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de la espera por el cerrojo de escritura de un repositorio. Solo se emite cuando el cerrojo
+ * está ocupado; la pila indica la operación que ha tenido que esperar.
+ */
+@Name("org.educa.airline.LockWait")
+@Label("Espera de cerrojo de repositorio")
+@Category({"Airline", "Repositorios"})
+@Description("Tiempo que un hilo ha esperado el cerrojo de escritura de un repositorio")
+public class LockWaitEvent extends Event {
+
+    @Label("Repositorio")
+    String repository;
+
+    @Label("Hilos en cola")
+    @Description("Hilos esperando el cerrojo cuando este hilo empezó a esperar")
+    int queueLength;
+}
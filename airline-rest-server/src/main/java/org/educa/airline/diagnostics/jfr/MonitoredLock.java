@@ -0,0 +1,40 @@
+package org.educa.airline.diagnostics.jfr;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ReentrantLock que emite un LockWaitEvent cuando un hilo tiene que esperar. Si el cerrojo está libre se
+ * toma con tryLock, igual que haría lock() en un cerrojo no equitativo, sin crear el evento.
+ */
+public class MonitoredLock extends ReentrantLock {
+
+    private final String repository;
+
+    /**
+     * @param repository nombre del repositorio que protege el cerrojo.
+     */
+    public MonitoredLock(String repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void lock() {
+        if (tryLock()) {
+            return;
+        }
+        LockWaitEvent event = new LockWaitEvent();
+        if (!event.isEnabled()) {
+            super.lock();
+            return;
+        }
+        event.begin();
+        int queueLength = getQueueLength();
+        super.lock();
+        event.end();
+        if (event.shouldCommit()) {
+            event.repository = this.repository;
+            event.queueLength = queueLength;
+            event.commit();
+        }
+    }
+}
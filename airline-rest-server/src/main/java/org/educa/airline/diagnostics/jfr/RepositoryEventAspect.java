@@ -0,0 +1,66 @@
+package org.educa.airline.diagnostics.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Emite un RepositoryOperationEvent por cada llamada a un método público de los repositorios en memoria.
+ * Si el evento no está activo en la grabación JFR solo se comprueba isEnabled.
+ */
+@Aspect
+@Component
+public class RepositoryEventAspect {
+
+    @Around("within(org.educa.airline.repository.inmemory..*) && execution(public * *(..)) && !execution(int size())")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = joinPoint.proceed();
+        event.end();
+        if (event.shouldCommit()) {
+            event.repository = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            event.operation = joinPoint.getSignature().getName();
+            event.key = key(joinPoint.getArgs());
+            event.resultSize = size(result);
+            event.commit();
+        }
+        return result;
+    }
+
+    private static String key(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof String key) {
+                return key;
+            } else if (arg instanceof Flight flight) {
+                return flight.getIdCode();
+            } else if (arg instanceof Passenger passenger) {
+                return passenger.getFlightIdCode() + "/" + passenger.getNif();
+            } else if (arg instanceof User user) {
+                return user.getUsername();
+            }
+        }
+        return null;
+    }
+
+    private static int size(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Map<?, ?> map) {
+            return map.size();
+        } else if (result instanceof Boolean found) {
+            return found ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+}
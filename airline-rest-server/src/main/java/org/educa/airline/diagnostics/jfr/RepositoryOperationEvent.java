@@ -0,0 +1,33 @@
+package org.educa.airline.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una operación de un repositorio en memoria. La duración del evento es la de la operación.
+ */
+@Name("org.educa.airline.RepositoryOperation")
+@Label("Operación de repositorio")
+@Category({"Airline", "Repositorios"})
+@Description("Llamada a un método de un repositorio en memoria")
+@StackTrace(false)
+public class RepositoryOperationEvent extends Event {
+
+    @Label("Repositorio")
+    String repository;
+
+    @Label("Operación")
+    String operation;
+
+    @Label("Clave")
+    @Description("Primer argumento de texto de la llamada (idCode, nif, usuario...)")
+    String key;
+
+    @Label("Tamaño del resultado")
+    @Description("Elementos devueltos: tamaño de la lista, 1 si devuelve un objeto o true, 0 si devuelve null o false")
+    int resultSize;
+}
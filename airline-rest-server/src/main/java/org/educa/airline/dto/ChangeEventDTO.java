@@ -0,0 +1,27 @@
+package org.educa.airline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Escritura enviada por /changes/stream.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDTO {
+    private long sequence;
+    /**
+     * CREATE, UPDATE o DELETE.
+     */
+    private String type;
+    /**
+     * idCode del vuelo o idCode/nif del pasajero.
+     */
+    private String key;
+    /**
+     * FlightDTO o PassengerDTO después del cambio; null en los borrados.
+     */
+    private Object value;
+}
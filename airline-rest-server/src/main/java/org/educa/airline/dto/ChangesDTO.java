@@ -0,0 +1,36 @@
+package org.educa.airline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cambios de vuelos o pasajeros desde una secuencia. Cada clave aparece una sola vez, con su último estado:
+ * en upserts si existe y en deletes si se ha borrado, así que el orden de aplicación no importa.
+ *
+ * @param <T> FlightDTO o PassengerDTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangesDTO<T> {
+    /**
+     * Época del servidor; las secuencias solo valen dentro de la misma época.
+     */
+    private String epoch;
+    /**
+     * Secuencia hasta la que llegan estos cambios, para pedir los siguientes.
+     */
+    private long sequence;
+    /**
+     * true si hay más cambios que los devueltos.
+     */
+    private boolean more;
+    private List<T> upserts;
+    /**
+     * Claves borradas: idCode del vuelo o idCode/nif del pasajero.
+     */
+    private List<String> deletes;
+}
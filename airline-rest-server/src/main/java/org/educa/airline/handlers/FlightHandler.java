@@ -0,0 +1,157 @@
+package org.educa.airline.handlers;
+
+import org.educa.airline.dto.FlightDTO;
+import org.educa.airline.entity.Flight;
+import org.educa.airline.mappers.FlightMapper;
+import org.educa.airline.services.reactive.ReactiveFlightService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Handler reactivo de la ruta /flights. Mantiene los mismos códigos de respuesta que FlightController.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class FlightHandler {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final ReactiveFlightService serviceFlight;
+    private final FlightMapper flightMapper;
+    private final RequestValidator requestValidator;
+
+    /**
+     * Se inyectan las clases en el constructor para poder acceder a ellas.
+     *
+     * @param flightService    capa reactiva del servicio de vuelos.
+     * @param flightMapper     para transformar DTO a entity y viceversa.
+     * @param requestValidator validación de los cuerpos de las peticiones.
+     */
+    @Autowired
+    public FlightHandler(ReactiveFlightService flightService, FlightMapper flightMapper, RequestValidator requestValidator) {
+        this.serviceFlight = flightService;
+        this.flightMapper = flightMapper;
+        this.requestValidator = requestValidator;
+    }
+
+    /**
+     * Busca vuelos por los parámetros ori y des. Los vuelos se envían en streaming según la demanda
+     * del cliente; si el cliente acepta application/x-ndjson se envía un vuelo por línea.
+     *
+     * @param request petición con los parámetros ori y des.
+     * @return httpStatus 200 con los vuelosDTO.
+     * httpStatus 400 si falta algún parámetro.
+     * httpStatus 404 notFound.
+     */
+    public Mono<ServerResponse> getFlights(ServerRequest request) {
+        Optional<String> origin = request.queryParam("ori");
+        Optional<String> destination = request.queryParam("des");
+        if (origin.isEmpty() || destination.isEmpty()) {
+            return ServerResponse.badRequest().build();
+        }
+
+        Flux<FlightDTO> flights = this.serviceFlight.list(origin.get(), destination.get())
+                .map(this.flightMapper::flightToDTO);
+        return flights.hasElements().flatMap(found -> found
+                ? ServerResponse.ok().contentType(HandlerSupport.listMediaType(request)).body(flights, FlightDTO.class)
+                : ServerResponse.notFound().build());
+    }
+
+    /**
+     * Busca un vuelo por idCode y fecha (parámetro date en formato yyyy-MM-dd).
+     *
+     * @param request petición con la variable idCode y el parámetro date.
+     * @return httpStatus 200 y el vueloDTO.
+     * httpStatus 400 si la fecha falta o es incorrecta.
+     * httpStatus 404 notFound.
+     */
+    public Mono<ServerResponse> getFlightByIdDate(ServerRequest request) {
+        String idCode = request.pathVariable("idCode");
+        LocalDate date;
+        try {
+            date = request.queryParam("date").map(LocalDate::parse).orElse(null);
+        } catch (DateTimeParseException e) {
+            date = null;
+        }
+        if (date == null) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return this.serviceFlight.getFlightByIdCodeDate(idCode, java.sql.Date.valueOf(date))
+                .flatMap(flight -> ServerResponse.ok().bodyValue(this.flightMapper.flightToDTO(flight)))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Crea un vuelo.
+     *
+     * @param request petición con el vueloDTO en el cuerpo.
+     * @return httpStatus 201 si se crea el vuelo.
+     * httpStatus 400 badRequest si hay algún campo vacío.
+     * httpStatus 409 vuelo ya existe.
+     */
+    public Mono<ServerResponse> addFlight(ServerRequest request) {
+        return request.bodyToMono(FlightDTO.class)
+                .flatMap(flightDTO -> {
+                    String errorMessage = this.requestValidator.validate(flightDTO);
+                    if (errorMessage != null) {
+                        return ServerResponse.badRequest().bodyValue(errorMessage);
+                    }
+                    Flight flight = this.flightMapper.flightDTOtoEntity(flightDTO);
+                    return this.serviceFlight.addFlight(flight).flatMap(insert -> insert
+                            ? ServerResponse.status(HttpStatus.CREATED).bodyValue("Vuelo creado correctamente")
+                            : ServerResponse.status(HttpStatus.CONFLICT).build());
+                })
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    /**
+     * Borra un vuelo por idCode.
+     *
+     * @param request petición con la variable flightIdCode.
+     * @return httpStatus 200 y mensaje ok.
+     * httpStatus 404 con notFound.
+     */
+    public Mono<ServerResponse> deleteFlight(ServerRequest request) {
+        String flightIdCode = request.pathVariable("flightIdCode");
+        return this.serviceFlight.deleteFlight(flightIdCode).flatMap(delete -> delete
+                ? ServerResponse.ok().bodyValue("Vuelo " + flightIdCode + " borrado correctamente")
+                : ServerResponse.notFound().build());
+    }
+
+    /**
+     * Modifica un vuelo por idCode.
+     *
+     * @param request petición con la variable flightIdCode y el vueloDTO en el cuerpo.
+     * @return httpStatus 200 si se modifica el vuelo.
+     * httpStatus 400 badRequest si hay algún campo vacío.
+     * httpStatus 404 vuelo no existe.
+     */
+    public Mono<ServerResponse> updateFlight(ServerRequest request) {
+        String flightIdCode = request.pathVariable("flightIdCode");
+        return request.bodyToMono(FlightDTO.class)
+                .flatMap(flightDTO -> {
+                    String errorMessage = this.requestValidator.validate(flightDTO);
+                    if (errorMessage != null) {
+                        return ServerResponse.badRequest().bodyValue(errorMessage);
+                    }
+                    Flight flight = this.flightMapper.flightDTOtoEntity(flightDTO);
+                    return this.serviceFlight.updateFlight(flightIdCode, flight).flatMap(update -> update
+                            ? ServerResponse.ok().bodyValue("Vuelo actualizado correctamente")
+                            : ServerResponse.notFound().build());
+                })
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+}
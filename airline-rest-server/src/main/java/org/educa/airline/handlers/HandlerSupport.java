@@ -0,0 +1,27 @@
+package org.educa.airline.handlers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+/**
+ * Utilidades comunes de los handlers reactivos.
+ */
+final class HandlerSupport {
+
+    private HandlerSupport() {
+    }
+
+    /**
+     * Elige el formato de las respuestas con listas. Si el cliente acepta application/x-ndjson
+     * cada elemento se escribe en una línea según se emite, sin acumular la lista completa;
+     * en otro caso se envía un array JSON, igual que en los controladores.
+     *
+     * @param request petición del cliente.
+     * @return el tipo de contenido de la respuesta.
+     */
+    static MediaType listMediaType(ServerRequest request) {
+        return request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,167 @@
+package org.educa.airline.handlers;
+
+import org.educa.airline.dto.PassengerDTO;
+import org.educa.airline.mappers.PassengerMapper;
+import org.educa.airline.services.reactive.ReactivePassengerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler reactivo de la ruta /flights/{idCode}/passengers. Mantiene los mismos códigos de respuesta
+ * que PassengerController: si el vuelo no existe se borran sus pasajeros y se devuelve 404.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class PassengerHandler {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final ReactivePassengerService passengerService;
+    private final PassengerMapper passengerMapper;
+    private final RequestValidator requestValidator;
+
+    /**
+     * Se inyectan las clases en el constructor para poder acceder a ellas.
+     *
+     * @param passengerService capa reactiva de servicio de pasajeros.
+     * @param passengerMapper  para convertir DTO a entity y viceversa.
+     * @param requestValidator validación de los cuerpos de las peticiones.
+     */
+    @Autowired
+    public PassengerHandler(ReactivePassengerService passengerService, PassengerMapper passengerMapper,
+                            RequestValidator requestValidator) {
+        this.passengerService = passengerService;
+        this.passengerMapper = passengerMapper;
+        this.requestValidator = requestValidator;
+    }
+
+    /**
+     * Asocia un pasajero a un vuelo.
+     *
+     * @param request petición con el pasajeroDTO en el cuerpo.
+     * @return httpStatus 201 (creado).
+     * httpStatus 400 (BadRequest).
+     * httpStatus 404 (NotFound).
+     * httpStatus 409 (Conflict).
+     */
+    public Mono<ServerResponse> addPassenger(ServerRequest request) {
+        return request.bodyToMono(PassengerDTO.class)
+                .flatMap(passengerDTO -> {
+                    String errorMessage = this.requestValidator.validate(passengerDTO);
+                    if (errorMessage != null) {
+                        return ServerResponse.badRequest().bodyValue(errorMessage);
+                    }
+                    return ifFlightExists(passengerDTO.getFlightIdCode(), this.passengerService
+                            .addPassenger(this.passengerMapper.passengerToEntity(passengerDTO))
+                            .flatMap(insert -> insert
+                                    ? ServerResponse.status(HttpStatus.CREATED).bodyValue("Pasajero:" + passengerDTO.getName() +
+                                    ", nif:" + passengerDTO.getNif() + " insertado correctamente")
+                                    : ServerResponse.status(HttpStatus.CONFLICT).build()));
+                })
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    /**
+     * Consulta un pasajero de un vuelo.
+     *
+     * @param request petición con las variables idCode y nif.
+     * @return httpStatus 404 (NotFound).
+     * httpStatus 409 (Conflict).
+     * httpStatus 200 (Ok).
+     */
+    public Mono<ServerResponse> getPassenger(ServerRequest request) {
+        String idCode = request.pathVariable("idCode");
+        String nif = request.pathVariable("nif");
+        return ifFlightExists(idCode, this.passengerService.getPassenger(idCode, nif)
+                .flatMap(passenger -> ServerResponse.ok().bodyValue(this.passengerMapper.passengerToDTO(passenger)))
+                .switchIfEmpty(ServerResponse.status(HttpStatus.CONFLICT).build()));
+    }
+
+    /**
+     * Envía todos los pasajeros de un vuelo en streaming según la demanda del cliente. Si el cliente
+     * acepta application/x-ndjson se envía un pasajero por línea.
+     *
+     * @param request petición con la variable idCode.
+     * @return httpStatus 404 (NotFound).
+     * httpStatus 409 (Conflict).
+     * httpStatus 200 (Ok).
+     */
+    public Mono<ServerResponse> getPassengersFlight(ServerRequest request) {
+        String idCode = request.pathVariable("idCode");
+        return ifFlightExists(idCode, Mono.defer(() -> {
+            Flux<PassengerDTO> passengers = this.passengerService.getPassengers(idCode)
+                    .map(this.passengerMapper::passengerToDTO);
+            return passengers.hasElements().flatMap(found -> found
+                    ? ServerResponse.ok().contentType(HandlerSupport.listMediaType(request)).body(passengers, PassengerDTO.class)
+                    : ServerResponse.status(HttpStatus.CONFLICT).build());
+        }));
+    }
+
+    /**
+     * Elimina un pasajero de un vuelo.
+     *
+     * @param request petición con las variables idCode y nif.
+     * @return httpStatus 404 (NotFound).
+     * httpStatus 409 (Conflict).
+     * httpStatus 200 (Ok).
+     */
+    public Mono<ServerResponse> deletePassenger(ServerRequest request) {
+        String idCode = request.pathVariable("idCode");
+        String nif = request.pathVariable("nif");
+        return ifFlightExists(idCode, this.passengerService.deletePassenger(idCode, nif)
+                .flatMap(delete -> delete
+                        ? ServerResponse.ok().bodyValue("Pasajero:" + nif + " borrado correctamente")
+                        : ServerResponse.status(HttpStatus.CONFLICT).build()));
+    }
+
+    /**
+     * Modifica un pasajero de un vuelo.
+     *
+     * @param request petición con la variable nif y el pasajeroDTO en el cuerpo.
+     * @return httpStatus 404 (NotFound).
+     * httpStatus 400 (BadRequest).
+     * httpsStatus 409(Conflict).
+     * httpsStatus 200 (Ok).
+     */
+    public Mono<ServerResponse> updatePassenger(ServerRequest request) {
+        String nif = request.pathVariable("nif");
+        return request.bodyToMono(PassengerDTO.class)
+                .flatMap(passengerDTO -> {
+                    String errorMessage = this.requestValidator.validate(passengerDTO);
+                    if (errorMessage != null) {
+                        return ServerResponse.badRequest().bodyValue(errorMessage);
+                    }
+                    String flightIdCode = passengerDTO.getFlightIdCode();
+                    return ifFlightExists(flightIdCode, this.passengerService.existsPassenger(flightIdCode, nif)
+                            .flatMap(exists -> exists
+                                    ? this.passengerService.updatePassenger(nif, this.passengerMapper.passengerToEntity(passengerDTO))
+                                    .then(ServerResponse.ok().bodyValue("Pasajero:" + nif +
+                                            " modificado correctamente en vuelo:" + flightIdCode))
+                                    : ServerResponse.status(HttpStatus.CONFLICT).build()));
+                })
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    /**
+     * Ejecuta la respuesta solo si el vuelo existe. Si no existe, se borran sus pasajeros del repositorio
+     * (el vuelo se ha eliminado) y se responde 404.
+     *
+     * @param flightIdCode idCode del vuelo.
+     * @param response     respuesta a devolver si el vuelo existe.
+     * @return la respuesta o httpStatus 404.
+     */
+    private Mono<ServerResponse> ifFlightExists(String flightIdCode, Mono<ServerResponse> response) {
+        return this.passengerService.getFlightIdCode(flightIdCode)
+                .flatMap(flight -> response)
+                .switchIfEmpty(Mono.defer(() -> this.passengerService.deleteFlight(flightIdCode)
+                        .then(ServerResponse.notFound().build())));
+    }
+
+}
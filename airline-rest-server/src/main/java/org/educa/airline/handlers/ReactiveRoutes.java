@@ -0,0 +1,63 @@
+package org.educa.airline.handlers;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Rutas de la pila reactiva. Son las mismas que las de FlightController y PassengerController,
+ * además del alta de usuarios.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRoutes {
+
+    /**
+     * Rutas de vuelos.
+     *
+     * @param flightHandler handler de vuelos.
+     * @return las rutas de /flights.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> flightRoutes(FlightHandler flightHandler) {
+        return route(GET("/flights"), flightHandler::getFlights)
+                .andRoute(GET("/flights/{idCode}"), flightHandler::getFlightByIdDate)
+                .andRoute(POST("/flights"), flightHandler::addFlight)
+                .andRoute(DELETE("/flights/{flightIdCode}"), flightHandler::deleteFlight)
+                .andRoute(PUT("/flights/{flightIdCode}"), flightHandler::updateFlight);
+    }
+
+    /**
+     * Rutas de pasajeros.
+     *
+     * @param passengerHandler handler de pasajeros.
+     * @return las rutas de /flights/{idCode}/passengers.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> passengerRoutes(PassengerHandler passengerHandler) {
+        return route(POST("/flights/{idCode}/passengers"), passengerHandler::addPassenger)
+                .andRoute(GET("/flights/{idCode}/passengers/{nif}"), passengerHandler::getPassenger)
+                .andRoute(GET("/flights/{idCode}/passengers"), passengerHandler::getPassengersFlight)
+                .andRoute(DELETE("/flights/{idCode}/passengers/{nif}"), passengerHandler::deletePassenger)
+                .andRoute(PUT("/flights/{idCode}/passengers/{nif}"), passengerHandler::updatePassenger);
+    }
+
+    /**
+     * Ruta de alta de usuarios.
+     *
+     * @param userHandler handler de usuarios.
+     * @return la ruta POST /user.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(UserHandler userHandler) {
+        return route(POST("/user"), userHandler::createUser);
+    }
+}
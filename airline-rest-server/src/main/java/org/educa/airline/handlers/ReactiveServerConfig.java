@@ -0,0 +1,24 @@
+package org.educa.airline.handlers;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Servidor de la pila reactiva. Tomcat también está en el classpath (pila servlet) y Spring Boot
+ * lo elegiría por defecto, por eso se fija Netty: un event loop con tantos hilos como núcleos
+ * que atiende miles de conexiones lentas sin un hilo por conexión.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    /**
+     * @return la factoría del servidor Netty.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
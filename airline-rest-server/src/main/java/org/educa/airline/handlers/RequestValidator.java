@@ -0,0 +1,46 @@
+package org.educa.airline.handlers;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validación de los cuerpos de las peticiones en la pila reactiva. Equivale al BindingResult
+ * de los controladores: devuelve el mismo mensaje con los errores de las anotaciones del DTO.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class RequestValidator {
+
+    private final Validator validator;
+
+    /**
+     * @param validator validador de Bean Validation configurado por Spring.
+     */
+    @Autowired
+    public RequestValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Valida un DTO.
+     *
+     * @param dto objeto recibido en el cuerpo de la petición.
+     * @return el mensaje de error, o null si el DTO es válido.
+     */
+    public String validate(Object dto) {
+        Set<ConstraintViolation<Object>> violations = this.validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        List<String> errors = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+        return "Los datos de la solicitud son inválidos:\n" + String.join("\n", errors);
+    }
+}
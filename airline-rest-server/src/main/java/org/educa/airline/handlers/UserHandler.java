@@ -0,0 +1,69 @@
+package org.educa.airline.handlers;
+
+import org.educa.airline.dto.UserDTO;
+import org.educa.airline.mappers.UserMapper;
+import org.educa.airline.services.inservice.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler reactivo del alta de usuarios (POST /user), necesario para poder autenticarse en la pila reactiva.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserHandler {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final RequestValidator requestValidator;
+
+    /**
+     * Se inyectan las clases para hacer uso de las mismas en esta capa.
+     *
+     * @param userService      servicio de usuarios.
+     * @param userMapper       para convertir los usuarios de DTO a Entity.
+     * @param requestValidator validación de los cuerpos de las peticiones.
+     */
+    @Autowired
+    public UserHandler(UserService userService, UserMapper userMapper, RequestValidator requestValidator) {
+        this.userService = userService;
+        this.userMapper = userMapper;
+        this.requestValidator = requestValidator;
+    }
+
+    /**
+     * Crea un usuario sin ningún tipo de autenticación o permiso.
+     *
+     * @param request petición con el usuarioDTO en el cuerpo.
+     * @return httpStatus 201 (creado).
+     * httpStatus 400 (BadRequest).
+     * httpStatus 409 (Conflict).
+     */
+    public Mono<ServerResponse> createUser(ServerRequest request) {
+        return request.bodyToMono(UserDTO.class)
+                .flatMap(userDTO -> {
+                    String errorMessage = this.requestValidator.validate(userDTO);
+                    if (errorMessage != null) {
+                        return ServerResponse.badRequest().bodyValue(errorMessage);
+                    }
+                    if (this.userService.existsUser(userDTO.getUsername())) {
+                        return ServerResponse.status(HttpStatus.CONFLICT).build();
+                    }
+                    return Mono.fromCallable(() -> {
+                                this.userService.createUser(this.userMapper.userDTOtoEntity(userDTO));
+                                return userDTO;
+                            })
+                            .flatMap(created -> ServerResponse.status(HttpStatus.CREATED)
+                                    .bodyValue("Usuario:" + created.getName() + " creado correctamente"));
+                })
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+}
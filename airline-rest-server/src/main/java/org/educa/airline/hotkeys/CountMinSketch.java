@@ -0,0 +1,78 @@
+package org.educa.airline.hotkeys;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch: cuenta aproximada de las apariciones de cada clave en memoria constante (depth filas
+ * de width contadores). Cada clave incrementa un contador por fila y su cuenta es el mínimo de ellos, que
+ * nunca es menor que la real. Los contadores son atómicos, así que se puede actualizar desde varios hilos
+ * sin cerrojos.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth número de filas (funciones hash); más filas, menos error por colisiones.
+     * @param width contadores por fila; se redondea a la siguiente potencia de 2.
+     */
+    public CountMinSketch(int depth, int width) {
+        int size = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = size - 1;
+        this.counters = new AtomicLongArray(depth * size);
+    }
+
+    /**
+     * Suma una aparición de la clave.
+     *
+     * @param key clave.
+     * @return la cuenta estimada de la clave después de sumarla.
+     */
+    public long add(String key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < this.depth; row++) {
+            min = Math.min(min, this.counters.incrementAndGet(index(row, hash)));
+        }
+        return min;
+    }
+
+    /**
+     * Cuenta estimada de la clave.
+     *
+     * @param key clave.
+     * @return la cuenta estimada.
+     */
+    public long estimate(String key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < this.depth; row++) {
+            min = Math.min(min, this.counters.get(index(row, hash)));
+        }
+        return min;
+    }
+
+    /**
+     * Divide todos los contadores entre dos, para que las cuentas antiguas pesen menos que las recientes.
+     * Los incrementos concurrentes se pueden perder en parte, lo que no afecta a una cuenta aproximada.
+     */
+    public void halve() {
+        for (int i = 0; i < this.counters.length(); i++) {
+            this.counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    private int index(int row, int hash) {
+        // Una función hash distinta por fila a partir del hash de la clave (mezcla de MurmurHash3).
+        int h = hash + row * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return row * (this.mask + 1) + (h & this.mask);
+    }
+}
@@ -0,0 +1,14 @@
+package org.educa.airline.hotkeys;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Clave frecuente y su cuenta estimada en la ventana actual.
+ */
+@Data
+@AllArgsConstructor
+public class HotKey {
+    private String key;
+    private long count;
+}
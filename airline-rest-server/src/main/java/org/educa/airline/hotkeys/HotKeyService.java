@@ -0,0 +1,78 @@
+package org.educa.airline.hotkeys;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Vuelos, rutas y usuarios más consultados. Se alimenta desde las búsquedas de FlightService (que también
+ * usa PassengerService para comprobar el vuelo de cada operación con pasajeros) y desde la carga del
+ * usuario de cada petición autenticada.
+ */
+@Service
+public class HotKeyService {
+
+    private final HotKeyTracker flights;
+    private final HotKeyTracker routes;
+    private final HotKeyTracker users;
+
+    /**
+     * @param depth       filas de cada count-min sketch.
+     * @param width       contadores por fila de cada count-min sketch.
+     * @param top         claves frecuentes que se guardan de cada tipo.
+     * @param decayMillis cada cuántos milisegundos se dividen las cuentas entre dos.
+     */
+    @Autowired
+    public HotKeyService(@Value("${airline.hotkeys.depth:4}") int depth,
+                         @Value("${airline.hotkeys.width:4096}") int width,
+                         @Value("${airline.hotkeys.top:20}") int top,
+                         @Value("${airline.hotkeys.decay-ms:60000}") long decayMillis) {
+        this.flights = new HotKeyTracker(depth, width, top, decayMillis);
+        this.routes = new HotKeyTracker(depth, width, top, decayMillis);
+        this.users = new HotKeyTracker(depth, width, top, decayMillis);
+    }
+
+    /**
+     * Registra una consulta de un vuelo.
+     *
+     * @param idCode idCode del vuelo.
+     */
+    public void flight(String idCode) {
+        this.flights.record(idCode);
+    }
+
+    /**
+     * Registra una búsqueda de vuelos por ruta.
+     *
+     * @param origin      origen.
+     * @param destination destino.
+     */
+    public void route(String origin, String destination) {
+        this.routes.record(origin + "-" + destination);
+    }
+
+    /**
+     * Registra la carga de un usuario.
+     *
+     * @param username nombre de usuario.
+     */
+    public void user(String username) {
+        this.users.record(username);
+    }
+
+    /**
+     * Claves más frecuentes de cada tipo y el total de consultas registradas.
+     *
+     * @return vuelos, rutas y usuarios más consultados.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("flights", Map.of("total", this.flights.total(), "top", this.flights.top()));
+        snapshot.put("routes", Map.of("total", this.routes.total(), "top", this.routes.top()));
+        snapshot.put("users", Map.of("total", this.users.total(), "top", this.users.top()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,130 @@
+package org.educa.airline.hotkeys;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Claves más frecuentes de un flujo (heavy hitters). Las cuentas se llevan en un CountMinSketch y las
+ * candidatas a estar entre las más frecuentes en un array fijo de huecos; al consultar se ordenan con un
+ * montículo. Todo el registro es sin cerrojos (contadores atómicos y compareAndSet sobre los huecos) y la
+ * memoria no depende del número de claves distintas. Cada periodo de decaimiento las cuentas se dividen
+ * entre dos, de forma que la lista refleja el tráfico reciente.
+ */
+public class HotKeyTracker {
+
+    private final CountMinSketch sketch;
+    private final AtomicReferenceArray<HotKey> candidates;
+    private final long decayNanos;
+    private final AtomicLong nextDecay;
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * @param depth       filas del sketch.
+     * @param width       contadores por fila del sketch.
+     * @param top         número de claves frecuentes que se guardan.
+     * @param decayMillis cada cuántos milisegundos se dividen las cuentas entre dos.
+     */
+    public HotKeyTracker(int depth, int width, int top, long decayMillis) {
+        this.sketch = new CountMinSketch(depth, width);
+        this.candidates = new AtomicReferenceArray<>(top);
+        this.decayNanos = decayMillis * 1_000_000L;
+        this.nextDecay = new AtomicLong(System.nanoTime() + this.decayNanos);
+    }
+
+    /**
+     * Registra una aparición de la clave.
+     *
+     * @param key clave; las claves null se ignoran.
+     */
+    public void record(String key) {
+        if (key == null) {
+            return;
+        }
+        decayIfDue();
+        this.total.increment();
+        long count = this.sketch.add(key);
+
+        // Si ya es candidata se actualiza su cuenta; si no, sustituye a la candidata con menos cuenta si la supera.
+        int weakest = -1;
+        long weakestCount = Long.MAX_VALUE;
+        for (int i = 0; i < this.candidates.length(); i++) {
+            HotKey candidate = this.candidates.get(i);
+            if (candidate == null) {
+                if (weakestCount > 0) {
+                    weakest = i;
+                    weakestCount = 0;
+                }
+            } else if (candidate.getKey().equals(key)) {
+                if (count > candidate.getCount()) {
+                    this.candidates.compareAndSet(i, candidate, new HotKey(key, count));
+                }
+                return;
+            } else if (candidate.getCount() < weakestCount) {
+                weakest = i;
+                weakestCount = candidate.getCount();
+            }
+        }
+        if (weakest >= 0 && count > weakestCount) {
+            HotKey replaced = this.candidates.get(weakest);
+            long replacedCount = replaced == null ? 0 : replaced.getCount();
+            if (replacedCount == weakestCount) {
+                // Si otro hilo ha cambiado el hueco mientras tanto no se reintenta: la clave volverá a intentarlo
+                // en su siguiente aparición.
+                this.candidates.compareAndSet(weakest, replaced, new HotKey(key, count));
+            }
+        }
+    }
+
+    /**
+     * Claves más frecuentes ordenadas de mayor a menor cuenta.
+     *
+     * @return las claves frecuentes.
+     */
+    public List<HotKey> top() {
+        PriorityQueue<HotKey> heap = new PriorityQueue<>(Comparator.comparingLong(HotKey::getCount).reversed());
+        // Dos hilos pueden haber guardado la misma clave en huecos distintos a la vez.
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < this.candidates.length(); i++) {
+            HotKey candidate = this.candidates.get(i);
+            if (candidate != null && keys.add(candidate.getKey())) {
+                heap.add(new HotKey(candidate.getKey(), this.sketch.estimate(candidate.getKey())));
+            }
+        }
+        List<HotKey> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            top.add(heap.poll());
+        }
+        return top;
+    }
+
+    /**
+     * Apariciones registradas desde el arranque.
+     *
+     * @return el total.
+     */
+    public long total() {
+        return this.total.sum();
+    }
+
+    private void decayIfDue() {
+        long due = this.nextDecay.get();
+        long now = System.nanoTime();
+        // Solo el hilo que consigue avanzar el plazo divide las cuentas.
+        if (now - due >= 0 && this.nextDecay.compareAndSet(due, now + this.decayNanos)) {
+            this.sketch.halve();
+            for (int i = 0; i < this.candidates.length(); i++) {
+                HotKey candidate = this.candidates.get(i);
+                if (candidate != null) {
+                    this.candidates.compareAndSet(i, candidate, new HotKey(candidate.getKey(), candidate.getCount() >>> 1));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.educa.airline.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Muestreo de trazas por categoría. Los eventos de alta frecuencia (autenticación, cifrado...)
+ * solo se escriben una de cada N veces, de forma que el log no se convierta en un cuello de botella
+ * aunque el nivel DEBUG esté activo.
+ * Se configura con airline.logging.sampling.every (valor por defecto) y
+ * airline.logging.sampling.categories.[categoria] (valor por categoría).
+ */
+@Component
+@ConfigurationProperties(prefix = "airline.logging.sampling")
+@Getter
+@Setter
+public class LogSampler {
+
+    /**
+     * Se escribe 1 de cada "every" eventos en las categorías sin configuración propia.
+     */
+    private long every = 100;
+
+    /**
+     * Frecuencia de muestreo por categoría.
+     */
+    private Map<String, Long> categories = new HashMap<>();
+
+    /**
+     * Contadores de eventos por categoría.
+     */
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Indica si el evento actual de la categoría debe escribirse en el log.
+     *
+     * @param category categoría del evento.
+     * @return true si el evento entra en la muestra.
+     */
+    public boolean sample(String category) {
+        long rate = this.categories.getOrDefault(category, this.every);
+        if (rate <= 1) {
+            return true;
+        }
+        AtomicLong counter = this.counters.computeIfAbsent(category, c -> new AtomicLong());
+        return counter.getAndIncrement() % rate == 0;
+    }
+}
@@ -0,0 +1,65 @@
+package org.educa.airline.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bytes reservados en el heap por los métodos que copian datos en cada petición: los mappers y
+ * UserService.getUser, que copia y descifra el usuario (airline.method.allocated, con las etiquetas
+ * class y method). Permite comparar qué parte de lo que reserva una petición corresponde a cada uno.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "airline.metrics.allocation.enabled", havingValue = "true", matchIfMissing = true)
+public class AllocationAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry registro de métricas.
+     */
+    @Autowired
+    public AllocationAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(org.educa.airline.mappers..*) && execution(public * *(..))"
+            + " || execution(* org.educa.airline.services.inservice.UserService.getUser(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        long before = ThreadAllocation.current();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long after = ThreadAllocation.current();
+            if (before >= 0 && after >= 0) {
+                Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+                DistributionSummary summary = this.summaries.get(method);
+                if (summary == null) {
+                    summary = this.summaries.computeIfAbsent(method, this::summary);
+                }
+                summary.record(after - before);
+            }
+        }
+    }
+
+    private DistributionSummary summary(Method method) {
+        return DistributionSummary.builder("airline.method.allocated")
+                .description("Bytes reservados en el heap por llamada")
+                .baseUnit("bytes")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .register(this.registry);
+    }
+}
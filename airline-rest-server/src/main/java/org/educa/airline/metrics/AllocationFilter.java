@@ -0,0 +1,78 @@
+package org.educa.airline.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bytes reservados en el heap por cada petición (airline.request.allocated, con las etiquetas method y uri
+ * igual que http.server.requests). Incluye la autenticación, el controlador y la escritura de la respuesta.
+ * Las peticiones atendidas en hilos virtuales no se miden.
+ * Se desactiva con airline.metrics.allocation.enabled=false.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "airline.metrics.allocation.enabled", havingValue = "true", matchIfMissing = true)
+public class AllocationFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    /**
+     * Métrica de cada método HTTP y ruta, para no buscarla en el registro en cada petición.
+     */
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry registro de métricas.
+     */
+    @Autowired
+    public AllocationFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long before = ThreadAllocation.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long after = ThreadAllocation.current();
+            if (before >= 0 && after >= 0) {
+                summary(request).record(after - before);
+            }
+        }
+    }
+
+    private DistributionSummary summary(HttpServletRequest request) {
+        // Ruta del controlador con variables (/flights/{idCode}), para no crear una métrica por cada valor.
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        String method = request.getMethod();
+        return this.summaries.computeIfAbsent(method + " " + uri, k -> DistributionSummary
+                .builder("airline.request.allocated")
+                .description("Bytes reservados en el heap por petición")
+                .baseUnit("bytes")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(this.registry));
+    }
+}
@@ -0,0 +1,62 @@
+package org.educa.airline.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.educa.airline.repository.inmemory.InMemoryFlightRepository;
+import org.educa.airline.repository.inmemory.InMemoryLuggageRepository;
+import org.educa.airline.repository.inmemory.InMemoryPassengerRepository;
+import org.educa.airline.repository.inmemory.InMemoryUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Métricas de tamaño de los repositorios en memoria (airline.repository.size). Los valores se calculan
+ * solo cuando se leen las métricas, no en cada operación.
+ */
+@Component
+public class RepositoryMetrics implements MeterBinder {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final InMemoryFlightRepository flightRepository;
+    private final InMemoryPassengerRepository passengerRepository;
+    private final InMemoryLuggageRepository luggageRepository;
+    private final InMemoryUserRepository userRepository;
+
+    /**
+     * Se inyectan los repositorios en memoria a medir.
+     *
+     * @param flightRepository    repositorio de vuelos.
+     * @param passengerRepository repositorio de pasajeros.
+     * @param luggageRepository   repositorio de maletas.
+     * @param userRepository      repositorio de usuarios.
+     */
+    @Autowired
+    public RepositoryMetrics(InMemoryFlightRepository flightRepository, InMemoryPassengerRepository passengerRepository,
+                             InMemoryLuggageRepository luggageRepository, InMemoryUserRepository userRepository) {
+        this.flightRepository = flightRepository;
+        this.passengerRepository = passengerRepository;
+        this.luggageRepository = luggageRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        size(registry, "flight", this.flightRepository, InMemoryFlightRepository::size);
+        size(registry, "passenger", this.passengerRepository, InMemoryPassengerRepository::size);
+        size(registry, "luggage", this.luggageRepository, InMemoryLuggageRepository::size);
+        size(registry, "user", this.userRepository, InMemoryUserRepository::size);
+    }
+
+    private static <T> void size(MeterRegistry registry, String name, T repository,
+                                 ToIntFunction<T> size) {
+        Gauge.builder("airline.repository.size", repository, r -> size.applyAsInt(r))
+                .description("Elementos guardados en el repositorio")
+                .tag("repository", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package org.educa.airline.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la duración de cada método público de los repositorios en memoria (airline.repository, con las
+ * etiquetas repository y method). Cada Timer se crea una sola vez por método y se guarda, de forma que
+ * en cada llamada solo se lee el reloj dos veces y se registra el valor, sin buscar el Timer en el registro.
+ * size() queda fuera: lo llaman los gauges de RepositoryMetrics en cada lectura de las métricas.
+ * Se desactiva con airline.metrics.repository.enabled=false.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "airline.metrics.repository.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry registro de métricas.
+     */
+    @Autowired
+    public RepositoryMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Ejecuta el método del repositorio y registra su duración, también si lanza una excepción.
+     *
+     * @param joinPoint llamada al método.
+     * @return el resultado del método.
+     * @throws Throwable la excepción del método.
+     */
+    @Around("within(org.educa.airline.repository.inmemory..*) && execution(public * *(..)) && !execution(int size())")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = this.timers.get(method);
+        if (timer == null) {
+            timer = this.timers.computeIfAbsent(method, this::timer);
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Method method) {
+        String repository = method.getDeclaringClass().getSimpleName().replace("InMemory", "").replace("Repository", "");
+        return Timer.builder("airline.repository")
+                .description("Duración de las operaciones de los repositorios en memoria")
+                .tag("repository", repository.toLowerCase())
+                .tag("method", method.getName())
+                .register(this.registry);
+    }
+}
@@ -0,0 +1,33 @@
+package org.educa.airline.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bytes reservados en el heap por el hilo actual (com.sun.management.ThreadMXBean). La JVM no lo admite
+ * en los hilos virtuales: en ese caso devuelve -1 y la medida se descarta.
+ */
+final class ThreadAllocation {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private ThreadAllocation() {
+    }
+
+    /**
+     * Bytes reservados por el hilo actual desde que empezó.
+     *
+     * @return los bytes, o -1 si no se pueden medir en este hilo.
+     */
+    static long current() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
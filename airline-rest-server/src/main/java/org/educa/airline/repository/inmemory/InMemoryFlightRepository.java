@@ -1,18 +1,54 @@
 package org.educa.airline.repository.inmemory;
 
+import org.educa.airline.changes.ChangeFeed;
+import org.educa.airline.changes.ChangeLog;
+import org.educa.airline.diagnostics.jfr.MonitoredLock;
 import org.educa.airline.entity.Flight;
 import org.educa.airline.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 @Repository
 public class InMemoryFlightRepository implements FlightRepository {
-    private final Map<String, Flight> flights = new HashMap<>();
+    /**
+     * Mapa concurrente: las lecturas no toman el cerrojo y pueden coincidir con las escrituras.
+     */
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Cerrojo de las escrituras, que hacen varias operaciones seguidas. Se usa ReentrantLock en lugar de
+     * synchronized para que los hilos virtuales que esperan no bloqueen su hilo portador (pinning). Las esperas
+     * se registran en JFR.
+     */
+    private final Lock lock = new MonitoredLock("flights");
+
+    /**
+     * Registro de cambios que se alimenta desde las escrituras, con el cerrojo tomado.
+     */
+    private final ChangeLog<Flight> changeLog;
+
+    /**
+     * Repositorio sin registro de cambios, para usarlo fuera de Spring.
+     */
+    public InMemoryFlightRepository() {
+        this.changeLog = ChangeLog.disabled();
+    }
+
+    /**
+     * @param changeFeed registros de cambios de los repositorios.
+     */
+    @Autowired
+    public InMemoryFlightRepository(ChangeFeed changeFeed) {
+        this.changeLog = changeFeed.getFlights();
+    }
 
     /**
      * Busca vuelos mediante una ciudad de origen y una de llegada.
@@ -77,25 +113,73 @@ public class InMemoryFlightRepository implements FlightRepository {
      * @return true si se ha insertado, false si no se ha insertado.
      */
     @Override
-    public synchronized boolean add(Flight flight) {
-        if (!flights.containsKey(flight.getIdCode())) {
-            flights.put(flight.getIdCode(), flight);
-            return true;
-        } else {
-            return false;
+    public boolean add(Flight flight) {
+        lock.lock();
+        try {
+            if (!flights.containsKey(flight.getIdCode())) {
+                flights.put(flight.getIdCode(), flight);
+                changeLog.create(flight.getIdCode(), flight);
+                return true;
+            } else {
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Añade varios vuelos tomando el cerrojo una sola vez. Los vuelos cuyo idCode ya existe no se insertan.
+     *
+     * @param flights vuelos a insertar.
+     * @return número de vuelos insertados.
+     */
+    public int addAll(Collection<Flight> flights) {
+        lock.lock();
+        try {
+            int inserted = 0;
+            for (Flight flight : flights) {
+                if (this.flights.putIfAbsent(flight.getIdCode(), flight) == null) {
+                    this.changeLog.create(flight.getIdCode(), flight);
+                    inserted++;
+                }
+            }
+            return inserted;
+        } finally {
+            lock.unlock();
         }
     }
 
+    /**
+     * Número de vuelos guardados.
+     *
+     * @return el número de vuelos.
+     */
+    public int size() {
+        return flights.size();
+    }
+
     @Override
-    public synchronized boolean updateFlight(String flightIdCode, Flight flight) {
-        // 3 -> Madrid - Londres
-        // 4 -> 1 Madrid - Berlin
-        if (flights.containsKey(flightIdCode)) {
-            flights.remove(flightIdCode);
-            flights.put(flight.getIdCode(), flight);
-            return true;
-        } else {
-            return false;
+    public boolean updateFlight(String flightIdCode, Flight flight) {
+        lock.lock();
+        try {
+            // 3 -> Madrid - Londres
+            // 4 -> 1 Madrid - Berlin
+            if (flights.containsKey(flightIdCode)) {
+                flights.remove(flightIdCode);
+                flights.put(flight.getIdCode(), flight);
+                if (flightIdCode.equals(flight.getIdCode())) {
+                    changeLog.update(flightIdCode, flight);
+                } else {
+                    changeLog.delete(flightIdCode);
+                    changeLog.create(flight.getIdCode(), flight);
+                }
+                return true;
+            } else {
+                return false;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -106,12 +190,18 @@ public class InMemoryFlightRepository implements FlightRepository {
      * @return true si se ha borrado, false si no se ha borrado.
      */
     @Override
-    public synchronized boolean delete(String flightIdCode) {
-        if (flights.containsKey(flightIdCode)) {
-            flights.remove(flightIdCode);
-            return true;
-        } else {
-            return false;
+    public boolean delete(String flightIdCode) {
+        lock.lock();
+        try {
+            if (flights.containsKey(flightIdCode)) {
+                flights.remove(flightIdCode);
+                changeLog.delete(flightIdCode);
+                return true;
+            } else {
+                return false;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
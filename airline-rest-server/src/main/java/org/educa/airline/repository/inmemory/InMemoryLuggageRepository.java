@@ -5,13 +5,22 @@ import org.educa.airline.repository.LuggageRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Repository
 public class InMemoryLuggageRepository implements LuggageRepository {
-    private final Map<String, Map<String, Map<Integer, Luggage>>> luggage = new HashMap<>();
+    /**
+     * Mapas concurrentes: las maletas se pueden dar de alta desde varios hilos a la vez (peticiones y carga de datos).
+     */
+    private final Map<String, Map<String, Map<Integer, Luggage>>> luggage = new ConcurrentHashMap<>();
+
+    /**
+     * Número de maletas entre todos los vuelos y pasajeros, para que size() no tenga que recorrer los mapas.
+     */
+    private final AtomicInteger count = new AtomicInteger();
 
 
     @Override
@@ -28,12 +37,11 @@ public class InMemoryLuggageRepository implements LuggageRepository {
 
     @Override
     public boolean addLuggage(String flightId, String nif, Luggage luggage) {
-        if (existLuggage(flightId, nif, luggage.getId())) {
+        if (getLuggage(flightId, nif).putIfAbsent(luggage.getId(), luggage) != null) {
             return false;
-        } else {
-            getLuggage(flightId, nif).put(luggage.getId(), luggage);
-            return true;
         }
+        count.incrementAndGet();
+        return true;
     }
 
     @Override
@@ -44,17 +52,20 @@ public class InMemoryLuggageRepository implements LuggageRepository {
 
     @Override
     public boolean updateLuggage(String flightNumber, String nif, Luggage luggage) {
-        if (existLuggage(flightNumber, nif, luggage.getId())) {
-            getLuggage(flightNumber, nif).put(luggage.getId(), luggage);
-            return true;
-        } else {
-            return false;
-        }
+        return getLuggage(flightNumber, nif).replace(luggage.getId(), luggage) != null;
+    }
+
+    /**
+     * Número de maletas guardadas entre todos los vuelos y pasajeros.
+     *
+     * @return el número de maletas.
+     */
+    public int size() {
+        return count.get();
     }
 
     private Map<Integer, Luggage> getLuggage(String flightId, String nif) {
-        luggage.putIfAbsent(flightId, new HashMap<>());
-        luggage.get(flightId).putIfAbsent(nif, new HashMap<>());
-        return luggage.get(flightId).get(nif);
+        return luggage.computeIfAbsent(flightId, f -> new ConcurrentHashMap<>())
+                .computeIfAbsent(nif, n -> new ConcurrentHashMap<>());
     }
 }
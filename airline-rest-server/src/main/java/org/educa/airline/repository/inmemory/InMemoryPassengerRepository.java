@@ -1,19 +1,63 @@
 package org.educa.airline.repository.inmemory;
 
+import org.educa.airline.changes.ChangeFeed;
+import org.educa.airline.changes.ChangeLog;
+import org.educa.airline.diagnostics.jfr.MonitoredLock;
 import org.educa.airline.entity.Passenger;
 import org.educa.airline.repository.PassengerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 @Repository
 public class InMemoryPassengerRepository implements PassengerRepository {
-    // Por cada vuelo, habrá un mapa de pasajeros
-    private final Map<String, Map<String, Passenger>> passengers = new HashMap<>();
+    /**
+     * Por cada vuelo, habrá un mapa de pasajeros. Mapas concurrentes: las lecturas no toman el cerrojo y
+     * pueden coincidir con las escrituras.
+     */
+    private final Map<String, Map<String, Passenger>> passengers = new ConcurrentHashMap<>();
+
+    /**
+     * Cerrojo de las escrituras, que hacen varias operaciones seguidas. Se usa ReentrantLock en lugar de
+     * synchronized para que los hilos virtuales que esperan no bloqueen su hilo portador (pinning). Las esperas
+     * se registran en JFR.
+     */
+    private final Lock lock = new MonitoredLock("passengers");
+
+    /**
+     * Número de pasajeros entre todos los vuelos. Se actualiza en las escrituras, con el cerrojo tomado,
+     * para que size() no tenga que recorrer los mapas.
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Registro de cambios que se alimenta desde las escrituras, con el cerrojo tomado.
+     * La clave de cada pasajero es idCode/nif.
+     */
+    private final ChangeLog<Passenger> changeLog;
+
+    /**
+     * Repositorio sin registro de cambios, para usarlo fuera de Spring.
+     */
+    public InMemoryPassengerRepository() {
+        this.changeLog = ChangeLog.disabled();
+    }
+
+    /**
+     * @param changeFeed registros de cambios de los repositorios.
+     */
+    @Autowired
+    public InMemoryPassengerRepository(ChangeFeed changeFeed) {
+        this.changeLog = changeFeed.getPassengers();
+    }
 
     @Override
     public List<Passenger> listPassengers() {
@@ -63,8 +107,19 @@ public class InMemoryPassengerRepository implements PassengerRepository {
      * @return true si se ha eliminado y
      */
     @Override
-    public synchronized boolean deletePassenger(String flightId, String nif) {
-        return getFlightPassengers(flightId).remove(nif) != null;
+    public boolean deletePassenger(String flightId, String nif) {
+        lock.lock();
+        try {
+            Map<String, Passenger> flightPassengers = passengers.get(flightId);
+            if (flightPassengers == null || flightPassengers.remove(nif) == null) {
+                return false;
+            }
+            count.decrementAndGet();
+            changeLog.delete(changeKey(flightId, nif));
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -75,12 +130,43 @@ public class InMemoryPassengerRepository implements PassengerRepository {
      * @return true si se ha insertado, false si no se ha insertado.
      */
     @Override
-    public synchronized boolean addPassenger(Passenger passenger) {
-        if (existPassenger(passenger.getFlightIdCode(), passenger.getNif())) {
-            return false;
-        } else {
-            getFlightPassengers(passenger.getFlightIdCode()).put(passenger.getNif(), passenger);
-            return true;
+    public boolean addPassenger(Passenger passenger) {
+        lock.lock();
+        try {
+            if (existPassenger(passenger.getFlightIdCode(), passenger.getNif())) {
+                return false;
+            } else {
+                flightPassengersToWrite(passenger.getFlightIdCode()).put(passenger.getNif(), passenger);
+                count.incrementAndGet();
+                changeLog.create(changeKey(passenger.getFlightIdCode(), passenger.getNif()), passenger);
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Añade varios pasajeros tomando el cerrojo una sola vez. Los pasajeros que ya existen en su vuelo
+     * no se insertan.
+     *
+     * @param passengers pasajeros a insertar.
+     * @return número de pasajeros insertados.
+     */
+    public int addPassengers(Collection<Passenger> passengers) {
+        lock.lock();
+        try {
+            int inserted = 0;
+            for (Passenger passenger : passengers) {
+                if (flightPassengersToWrite(passenger.getFlightIdCode()).putIfAbsent(passenger.getNif(), passenger) == null) {
+                    changeLog.create(changeKey(passenger.getFlightIdCode(), passenger.getNif()), passenger);
+                    inserted++;
+                }
+            }
+            count.addAndGet(inserted);
+            return inserted;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -91,21 +177,74 @@ public class InMemoryPassengerRepository implements PassengerRepository {
      * @param passenger pasajero a modificar.
      */
     @Override
-    public synchronized void updatePassenger(String nif, Passenger passenger) {
-        getFlightPassengers(passenger.getFlightIdCode()).remove(nif);
-        getFlightPassengers(passenger.getFlightIdCode()).put(passenger.getNif(), passenger);
+    public void updatePassenger(String nif, Passenger passenger) {
+        lock.lock();
+        try {
+            Map<String, Passenger> flightPassengers = flightPassengersToWrite(passenger.getFlightIdCode());
+            Passenger previous = flightPassengers.remove(nif);
+            Passenger replaced = flightPassengers.put(passenger.getNif(), passenger);
+            if (previous != null) {
+                count.decrementAndGet();
+            }
+            if (replaced == null) {
+                count.incrementAndGet();
+            }
+            // Los cambios dependen de lo que había: UPDATE si la clave nueva ya existía, CREATE si no, y el
+            // borrado de la clave antigua solo si existía y es distinta.
+            boolean sameNif = nif.equals(passenger.getNif());
+            if (previous != null && !sameNif) {
+                changeLog.delete(changeKey(passenger.getFlightIdCode(), nif));
+            }
+            String key = changeKey(passenger.getFlightIdCode(), passenger.getNif());
+            if (replaced != null || previous != null && sameNif) {
+                changeLog.update(key, passenger);
+            } else {
+                changeLog.create(key, passenger);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Se utiliza para obtener los pasajeros de un vuelo específico.
+     * Número de pasajeros guardados entre todos los vuelos. No toma el cerrojo, así que no espera a las escrituras.
      *
-     * @param flightId clave del vuelo a buscar en el HashMap.
-     * @return un mapa de pasajeros encontrados.
+     * @return el número de pasajeros.
      */
+    public int size() {
+        return count.get();
+    }
 
+    /**
+     * Se utiliza para obtener los pasajeros de un vuelo específico. No añade nada al mapa, así que
+     * se puede usar sin el cerrojo.
+     *
+     * @param flightId clave del vuelo a buscar en el HashMap.
+     * @return un mapa de pasajeros encontrados, vacío y de solo lectura si el vuelo no tiene pasajeros.
+     */
     private Map<String, Passenger> getFlightPassengers(String flightId) {
-        passengers.putIfAbsent(flightId, new HashMap<>());
-        return passengers.get(flightId);
+        return passengers.getOrDefault(flightId, Map.of());
+    }
+
+    /**
+     * Pasajeros de un vuelo para modificarlos, creando su mapa si no existe. Se usa con el cerrojo tomado.
+     *
+     * @param flightId clave del vuelo.
+     * @return el mapa de pasajeros del vuelo.
+     */
+    private Map<String, Passenger> flightPassengersToWrite(String flightId) {
+        return passengers.computeIfAbsent(flightId, f -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Clave de un pasajero en el registro de cambios.
+     *
+     * @param flightId idCode del vuelo.
+     * @param nif      nif del pasajero.
+     * @return idCode/nif.
+     */
+    private static String changeKey(String flightId, String nif) {
+        return flightId + "/" + nif;
     }
 
     /**
@@ -113,9 +252,18 @@ public class InMemoryPassengerRepository implements PassengerRepository {
      *
      * @param flightId clave a buscar en el HashMap.
      */
-    public synchronized void deleteFlight(String flightId) {
-        // Elimina el vuelo del mapa de pasajeros
-        passengers.remove(flightId);
-        // Devuelve true si el vuelo existía y fue eliminado correctamente
+    public void deleteFlight(String flightId) {
+        lock.lock();
+        try {
+            // Elimina el vuelo del mapa de pasajeros
+            Map<String, Passenger> removed = passengers.remove(flightId);
+            if (removed != null) {
+                count.addAndGet(-removed.size());
+                removed.keySet().forEach(nif -> changeLog.delete(changeKey(flightId, nif)));
+            }
+            // Devuelve true si el vuelo existía y fue eliminado correctamente
+        } finally {
+            lock.unlock();
+        }
     }
 }
@@ -5,14 +5,17 @@ import org.educa.airline.repository.UserRepository;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class InMemoryUserRepository implements UserRepository {
 
-    private final Map<String, User> users = new HashMap<>();
+    /**
+     * Mapa concurrente: los usuarios se pueden dar de alta desde varios hilos a la vez (peticiones y carga de datos).
+     */
+    private final Map<String, User> users = new ConcurrentHashMap<>();
 
     @Override
     public User getUser(String username) {
@@ -39,6 +42,15 @@ public class InMemoryUserRepository implements UserRepository {
         users.replace(user.getUsername(), user);
     }
 
+    /**
+     * Número de usuarios guardados.
+     *
+     * @return el número de usuarios.
+     */
+    public int size() {
+        return users.size();
+    }
+
     @Override
     public boolean existUser(String username) {
         return users.containsKey(username);
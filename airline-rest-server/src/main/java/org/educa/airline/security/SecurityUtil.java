@@ -1,5 +1,6 @@
 package org.educa.airline.security;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.BadPaddingException;
@@ -14,6 +15,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
 @Component
+@Slf4j
 public class SecurityUtil {
 
     /**
@@ -33,18 +35,16 @@ public class SecurityUtil {
      */
     public String crypt(String message) throws IllegalBlockSizeException, BadPaddingException, NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException {
         SecretKeySpec skeySpec = new SecretKeySpec(SEED.getBytes(), CRYPT);
-        System.out.println("Obteniendo objeto Cipher con cifrado AES");
         Cipher aesCipher = Cipher.getInstance(CRYPT);
-        System.out.println("Configurando Cipher para encriptar");
         aesCipher.init(Cipher.ENCRYPT_MODE, skeySpec);
 
-        System.out.println("Preparando mensaje");
-        System.out.println("Mensaje original: " + message);
-        System.out.println("Cifrando mensaje");
+        // Ni el mensaje original ni el cifrado se escriben en el log, solo su tamaño.
         byte[] mensajeByteCifrado = aesCipher.doFinal(message.getBytes());
         byte[] mensajeByteCifradoBase64 = Base64.getEncoder().encode(mensajeByteCifrado);
         String mensajeCifrado = new String(mensajeByteCifradoBase64);
-        System.out.println("Mensaje cifrado: " + mensajeCifrado);
+        if (log.isTraceEnabled()) {
+            log.trace("Mensaje cifrado con {} ({} bytes)", CRYPT, mensajeByteCifrado.length);
+        }
         return mensajeCifrado;
 
     }
@@ -57,15 +57,14 @@ public class SecurityUtil {
      */
     public String decrypt(String mensajeCifrado) throws InvalidKeyException, IllegalBlockSizeException, BadPaddingException, NoSuchPaddingException, NoSuchAlgorithmException, IllegalArgumentException {
         SecretKeySpec skeySpec = new SecretKeySpec(SEED.getBytes(), CRYPT);
-        System.out.println("Obteniendo objeto Cipher con cifrado AES");
         Cipher aesCipher = Cipher.getInstance(CRYPT);
-        System.out.println("Configurando Cipher para desencriptar");
         aesCipher.init(Cipher.DECRYPT_MODE, skeySpec);
 
-        System.out.println("Descifrando mensaje");
         byte[] mensajeByte = Base64.getDecoder().decode(mensajeCifrado.getBytes());
         String mensajeDescifrado = new String(aesCipher.doFinal(mensajeByte));
-        System.out.println("Mensaje descifrado: " + mensajeDescifrado);
+        if (log.isTraceEnabled()) {
+            log.trace("Mensaje descifrado con {} ({} bytes)", CRYPT, mensajeByte.length);
+        }
         return mensajeDescifrado;
     }
 
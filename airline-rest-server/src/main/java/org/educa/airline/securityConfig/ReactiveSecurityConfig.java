@@ -0,0 +1,106 @@
+package org.educa.airline.securityConfig;
+
+import org.educa.airline.services.inservice.SecurityService;
+import org.educa.airline.services.inservice.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.security.config.Customizer.withDefaults;
+
+/**
+ * Seguridad de la pila reactiva. Aplica las mismas reglas que SpringSecurityConfig sobre una cadena
+ * de filtros reactiva (WebFilter), sin bloquear los hilos del event loop.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final UserService userService;
+    private final SecurityService securityService;
+
+    /**
+     * @param userService     UserService uso de UserDetails.
+     * @param securityService SecurityService uso de PasswordEncode.
+     */
+    @Autowired
+    public ReactiveSecurityConfig(UserService userService, SecurityService securityService) {
+        this.userService = userService;
+        this.securityService = securityService;
+    }
+
+    /**
+     * Carga los usuarios del repositorio en memoria. La consulta no bloquea, por lo que se ejecuta
+     * en el mismo hilo que atiende la petición.
+     *
+     * @return el servicio reactivo de usuarios.
+     */
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService() {
+        return username -> Mono.fromCallable(() -> this.userService.loadUserByUsername(username))
+                .onErrorResume(UsernameNotFoundException.class, e -> Mono.empty());
+    }
+
+    /**
+     * Autenticación Basic comparando contraseñas con SecurityService, igual que en la pila servlet.
+     *
+     * @param reactiveUserDetailsService servicio reactivo de usuarios.
+     * @return el gestor de autenticación reactivo.
+     */
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService reactiveUserDetailsService) {
+        UserDetailsRepositoryReactiveAuthenticationManager manager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(reactiveUserDetailsService);
+        manager.setPasswordEncoder(this.securityService);
+        return manager;
+    }
+
+    /**
+     * Seguriza los endpoint con las mismas restricciones de autenticación y de roles que la pila servlet.
+     *
+     * @param http asegurar los intercambios http.
+     * @return la cadena de filtros de seguridad.
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http.cors(ServerHttpSecurity.CorsSpec::disable).csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(withDefaults())
+                // Sin sesión: cada petición trae sus credenciales Basic, como en la pila servlet.
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        /// VUELOS
+                        .pathMatchers(HttpMethod.POST, "/flights").hasRole("admin")
+                        .pathMatchers(HttpMethod.DELETE, "/flights/*").hasRole("admin")
+                        .pathMatchers(HttpMethod.PUT, "/flights/*").hasRole("admin")
+                        .pathMatchers(HttpMethod.GET, "/flights/*").authenticated()
+                        .pathMatchers(HttpMethod.GET, "/flights").authenticated()
+
+                        // PASAJEROS
+                        .pathMatchers("/flights/*/passengers", "/flights/*/passengers/*").hasRole("personal")
+
+                        // USUARIOS
+                        .pathMatchers(HttpMethod.POST, "/user").permitAll()
+
+                        // MÉTRICAS
+                        .pathMatchers("/actuator/health").permitAll()
+                        .pathMatchers("/actuator/**").hasRole("admin")
+                        .anyExchange().authenticated()
+                )
+                .build();
+    }
+}
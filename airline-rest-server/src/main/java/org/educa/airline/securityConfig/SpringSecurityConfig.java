@@ -4,6 +4,7 @@ import lombok.Getter;
 import org.educa.airline.services.inservice.SecurityService;
 import org.educa.airline.services.inservice.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -19,6 +20,7 @@ import static org.springframework.security.config.Customizer.withDefaults;
 @Getter
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SpringSecurityConfig {
 
     /**
@@ -82,8 +84,16 @@ public class SpringSecurityConfig {
                                 // Búsqueda de todos los pasajeros de un vuelo
                                 .requestMatchers(HttpMethod.GET, "/flights/*/passengers").hasRole("personal")
 
+                                // CAMBIOS: los de vuelos solo requieren autenticación
+                                .requestMatchers(HttpMethod.GET, "/changes/passengers").hasRole("personal")
+
                                 // USUARIOS
                                 .requestMatchers(HttpMethod.POST, "/user").anonymous()
+
+                                // ADMINISTRACIÓN Y MÉTRICAS
+                                .requestMatchers("/admin/**").hasRole("admin")
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("admin")
                                 .anyRequest().authenticated()
                 );
 
@@ -1,6 +1,7 @@
 package org.educa.airline.services.inservice;
 
 import org.educa.airline.entity.Flight;
+import org.educa.airline.hotkeys.HotKeyService;
 import org.educa.airline.repository.inmemory.InMemoryFlightRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -12,18 +13,21 @@ import java.util.List;
 public class FlightService {
 
     /**
-     * Clase a inyectar en el constructor.
+     * Clases a inyectar en el constructor.
      */
     private final InMemoryFlightRepository flightRepository;
+    private final HotKeyService hotKeyService;
 
     /**
      * Se inyecta la clase InMemoryFlightRepository para hacer uso del mismo.
      *
-     * @param flightRepo RepositorioFlight.
+     * @param flightRepo    RepositorioFlight.
+     * @param hotKeyService registro de los vuelos y rutas más consultados.
      */
     @Autowired
-    public FlightService(InMemoryFlightRepository flightRepo) {
+    public FlightService(InMemoryFlightRepository flightRepo, HotKeyService hotKeyService) {
         this.flightRepository = flightRepo;
+        this.hotKeyService = hotKeyService;
     }
 
     /**
@@ -34,6 +38,7 @@ public class FlightService {
      * @return el vuelo o null.
      */
     public Flight getFlightByIdCodeDate(String flightIdCode, Date date) {
+        this.hotKeyService.flight(flightIdCode);
         return this.flightRepository.getFlightByIdCodeDate(flightIdCode, date);
     }
 
@@ -45,6 +50,7 @@ public class FlightService {
      * @return los vuelos, vuelo o null.
      */
     public List<Flight> list(String origin, String destination) {
+        this.hotKeyService.route(origin, destination);
         return this.flightRepository.list(origin, destination);
     }
 
@@ -76,6 +82,7 @@ public class FlightService {
      * @return vuelo encontrado o null.
      */
     public Flight getFlightIdCode(String flightIdCode) {
+        this.hotKeyService.flight(flightIdCode);
         return this.flightRepository.getFlightIdCode(flightIdCode);
     }
 
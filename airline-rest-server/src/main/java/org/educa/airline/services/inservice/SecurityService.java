@@ -2,6 +2,8 @@ package org.educa.airline.services.inservice;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.educa.airline.diagnostics.jfr.AuthEvent;
+import org.educa.airline.logging.LogSampler;
 import org.educa.airline.security.SecurityUtil;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -22,14 +24,17 @@ public class SecurityService implements PasswordEncoder {
      */
 
     private final SecurityUtil securityUtil;
+    private final LogSampler logSampler;
 
     /**
      * Se inyectan ambas clases para hacer uso de las mismas en esta capa.
      *
      * @param securityUtil SecurityUtil para hacer uso de cifrado, descifrado y hash.
+     * @param logSampler   muestreo de trazas de alta frecuencia.
      */
-    public SecurityService(SecurityUtil securityUtil) {
+    public SecurityService(SecurityUtil securityUtil, LogSampler logSampler) {
         this.securityUtil = securityUtil;
+        this.logSampler = logSampler;
     }
 
     /**
@@ -70,7 +75,10 @@ public class SecurityService implements PasswordEncoder {
      */
     @Override
     public String encode(CharSequence rawPassword) {
-        System.out.println("LLega al encode");
+        // Nunca se formatea la contraseña, solo se deja constancia de la llamada.
+        if (log.isDebugEnabled() && this.logSampler.sample("auth.encode")) {
+            log.debug("Codificando contraseña");
+        }
         try {
             return hash(rawPassword.toString());
         } catch (Exception e) {
@@ -88,7 +96,8 @@ public class SecurityService implements PasswordEncoder {
      */
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
-        System.out.println("LLega a matches");
+        AuthEvent event = new AuthEvent();
+        event.begin();
         boolean find = false;
         try {
             if (encode(rawPassword).equals(encodedPassword)) {
@@ -97,6 +106,13 @@ public class SecurityService implements PasswordEncoder {
         } catch (Exception e) {
             log.error("Exception encode: ", e);
         }
+        if (log.isDebugEnabled() && this.logSampler.sample("auth.matches")) {
+            log.debug("Comprobación de contraseña: {}", find ? "correcta" : "incorrecta");
+        }
+        if (event.shouldCommit()) {
+            event.setMatched(find);
+            event.commit();
+        }
         return find;
     }
 
@@ -1,6 +1,9 @@
 package org.educa.airline.services.inservice;
 
+import lombok.extern.slf4j.Slf4j;
 import org.educa.airline.entity.User;
+import org.educa.airline.hotkeys.HotKeyService;
+import org.educa.airline.logging.LogSampler;
 import org.educa.airline.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +19,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
 @Service
+@Slf4j
 public class UserService implements UserDetailsService {
 
     /**
@@ -23,17 +27,24 @@ public class UserService implements UserDetailsService {
      */
     private final UserRepository userRepository;
     private final SecurityService securityService;
+    private final LogSampler logSampler;
+    private final HotKeyService hotKeyService;
 
     /**
-     * Se inyectan ambas clases para hacer uso de las mismas en esta capa.
+     * Se inyectan las clases para hacer uso de las mismas en esta capa.
      *
      * @param userRepository  Repositorio de usuarios.
      * @param securityService servicio de seguridad.
+     * @param logSampler      muestreo de trazas de alta frecuencia.
+     * @param hotKeyService   registro de los usuarios más activos.
      */
     @Autowired
-    public UserService(UserRepository userRepository, SecurityService securityService) {
+    public UserService(UserRepository userRepository, SecurityService securityService, LogSampler logSampler,
+                       HotKeyService hotKeyService) {
         this.userRepository = userRepository;
         this.securityService = securityService;
+        this.logSampler = logSampler;
+        this.hotKeyService = hotKeyService;
     }
 
     /**
@@ -45,8 +56,17 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // También se cuentan los usuarios que no existen: un nombre muy repetido puede ser un ataque.
+        this.hotKeyService.user(username);
         User user = this.userRepository.getUser(username);
-        System.out.println("Usuario encontrado:" + user.getPassword());
+        if (user == null) {
+            log.debug("Usuario no encontrado: {}", username);
+            throw new UsernameNotFoundException(username);
+        }
+        // No se escribe la contraseña (ni su hash), solo el nombre de usuario.
+        if (log.isDebugEnabled() && this.logSampler.sample("auth.loadUser")) {
+            log.debug("Usuario encontrado: {}", username);
+        }
         return user;
     }
 
@@ -0,0 +1,112 @@
+package org.educa.airline.services.reactive;
+
+import org.educa.airline.entity.Flight;
+import org.educa.airline.hotkeys.HotKeyService;
+import org.educa.airline.repository.inmemory.InMemoryFlightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+/**
+ * Versión reactiva de FlightService. Los repositorios en memoria no bloquean, por lo que las
+ * operaciones se ejecutan directamente en el hilo del event loop sin cambiar de scheduler.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveFlightService {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final InMemoryFlightRepository flightRepository;
+    private final HotKeyService hotKeyService;
+
+    /**
+     * Se inyecta la clase InMemoryFlightRepository para hacer uso del mismo.
+     *
+     * @param flightRepo    RepositorioFlight.
+     * @param hotKeyService registro de los vuelos y rutas más consultados.
+     */
+    @Autowired
+    public ReactiveFlightService(InMemoryFlightRepository flightRepo, HotKeyService hotKeyService) {
+        this.flightRepository = flightRepo;
+        this.hotKeyService = hotKeyService;
+    }
+
+    /**
+     * Busca un vuelo por idCode y fecha en el repositorio de vuelos.
+     *
+     * @param flightIdCode idCode único.
+     * @param date         fecha del vuelo.
+     * @return el vuelo o vacío.
+     */
+    public Mono<Flight> getFlightByIdCodeDate(String flightIdCode, Date date) {
+        return Mono.fromSupplier(() -> {
+            this.hotKeyService.flight(flightIdCode);
+            return this.flightRepository.getFlightByIdCodeDate(flightIdCode, date);
+        });
+    }
+
+    /**
+     * Busca los vuelos que coincidan con el origen y destino. La instantánea del repositorio se toma
+     * al invocar el método y se emite elemento a elemento según la demanda del suscriptor (backpressure),
+     * de forma que se puede consultar si hay resultados y después enviarlos sin recorrer el repositorio dos veces.
+     *
+     * @param origin      origen del vuelo.
+     * @param destination destino del vuelo.
+     * @return los vuelos encontrados.
+     */
+    public Flux<Flight> list(String origin, String destination) {
+        this.hotKeyService.route(origin, destination);
+        return Flux.fromIterable(this.flightRepository.list(origin, destination));
+    }
+
+    /**
+     * Añade un vuelo al repositorio.
+     *
+     * @param flight vuelo a insertar.
+     * @return true si ha sido insertado o false si no lo ha sido.
+     */
+    public Mono<Boolean> addFlight(Flight flight) {
+        return Mono.fromSupplier(() -> this.flightRepository.add(flight));
+    }
+
+    /**
+     * Borra un vuelo por idCode único.
+     *
+     * @param flightIdCode idCode del vuelo a borrar.
+     * @return true si ha sido borrado o false si no lo ha sido.
+     */
+    public Mono<Boolean> deleteFlight(String flightIdCode) {
+        return Mono.fromSupplier(() -> this.flightRepository.delete(flightIdCode));
+    }
+
+    /**
+     * Busca que exista un vuelo por idCode único.
+     *
+     * @param flightIdCode idCode del vuelo a buscar.
+     * @return vuelo encontrado o vacío.
+     */
+    public Mono<Flight> getFlightIdCode(String flightIdCode) {
+        return Mono.fromSupplier(() -> {
+            this.hotKeyService.flight(flightIdCode);
+            return this.flightRepository.getFlightIdCode(flightIdCode);
+        });
+    }
+
+    /**
+     * Modifica el vuelo con idCode si existe.
+     *
+     * @param idCode idCode único a buscar del vuelo.
+     * @param flight datos del nuevo vuelo.
+     * @return true si lo ha encontrado y modificado y false si no lo ha encontrado.
+     */
+    public Mono<Boolean> updateFlight(String idCode, Flight flight) {
+        return Mono.fromSupplier(() -> this.flightRepository.updateFlight(idCode, flight));
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.educa.airline.services.reactive;
+
+import org.educa.airline.entity.Flight;
+import org.educa.airline.entity.Passenger;
+import org.educa.airline.repository.inmemory.InMemoryPassengerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de PassengerService.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePassengerService {
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final InMemoryPassengerRepository repositoryPassenger;
+    private final ReactiveFlightService flightService;
+
+    /**
+     * Se inyectan ambas clases para hacer uso de las mismas en esta capa.
+     *
+     * @param repositoryPassenger repositorio de pasajeros.
+     * @param flightService       servicio reactivo de vuelos.
+     */
+    @Autowired
+    public ReactivePassengerService(InMemoryPassengerRepository repositoryPassenger, ReactiveFlightService flightService) {
+        this.repositoryPassenger = repositoryPassenger;
+        this.flightService = flightService;
+    }
+
+    /**
+     * Añade un pasajero.
+     *
+     * @param passenger pasajero a insertar.
+     * @return true si ha sido insertado, false si no ha sido insertado.
+     */
+    public Mono<Boolean> addPassenger(Passenger passenger) {
+        return Mono.fromSupplier(() -> this.repositoryPassenger.addPassenger(passenger));
+    }
+
+    /**
+     * Consigue un pasajero del repositorio de pasajeros.
+     *
+     * @param idCode clave del 1 HashMap.
+     * @param nif    clave del 2 HashMap que está dentro del 1.
+     * @return el pasajero o vacío.
+     */
+    public Mono<Passenger> getPassenger(String idCode, String nif) {
+        return Mono.fromSupplier(() -> this.repositoryPassenger.getPassenger(idCode, nif));
+    }
+
+    /**
+     * Consigue un vuelo por idCode para comprobar su existencia antes de operar con pasajeros.
+     *
+     * @param flightIdCode clave del HashMap de repositorio de vuelos.
+     * @return el vuelo o vacío.
+     */
+    public Mono<Flight> getFlightIdCode(String flightIdCode) {
+        return this.flightService.getFlightIdCode(flightIdCode);
+    }
+
+    /**
+     * Elimina un pasajero por clave de vuelo y nif del pasajero.
+     *
+     * @param idCode clave del vuelo  a buscar en el 1 HasMap.
+     * @param nif    clave del 2 HashMap
+     * @return true si lo ha borrado, false si no lo ha borrado o no existía.
+     */
+    public Mono<Boolean> deletePassenger(String idCode, String nif) {
+        return Mono.fromSupplier(() -> this.repositoryPassenger.deletePassenger(idCode, nif));
+    }
+
+    /**
+     * Comprueba que un pasajero exista en un vuelo.
+     *
+     * @param flightId clave del vuelo.
+     * @param nif      clave del pasajero.
+     * @return true si existe, false si no existe.
+     */
+    public Mono<Boolean> existsPassenger(String flightId, String nif) {
+        return Mono.fromSupplier(() -> this.repositoryPassenger.existPassenger(flightId, nif));
+    }
+
+    /**
+     * Modifica un pasajero en un vuelo.
+     *
+     * @param nif       clave a buscar del pasajero.
+     * @param passenger pasajero modificado.
+     * @return señal de finalización.
+     */
+    public Mono<Void> updatePassenger(String nif, Passenger passenger) {
+        return Mono.fromRunnable(() -> this.repositoryPassenger.updatePassenger(nif, passenger));
+    }
+
+    /**
+     * Elimina un vuelo con todos sus pasajeros.
+     *
+     * @param idCode clave del vuelo a eliminar.
+     * @return señal de finalización.
+     */
+    public Mono<Void> deleteFlight(String idCode) {
+        return Mono.fromRunnable(() -> this.repositoryPassenger.deleteFlight(idCode));
+    }
+
+    /**
+     * Consigue todos los pasajeros de un vuelo. La instantánea se toma al invocar el método
+     * y se emite según la demanda del suscriptor.
+     *
+     * @param flightId clave del vuelo a buscar en el HashMap.
+     * @return los pasajeros del vuelo.
+     */
+    public Flux<Passenger> getPassengers(String flightId) {
+        return Flux.fromIterable(this.repositoryPassenger.listPassengers(flightId));
+    }
+
+}
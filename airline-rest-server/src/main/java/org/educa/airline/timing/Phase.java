@@ -0,0 +1,24 @@
+package org.educa.airline.timing;
+
+import lombok.Getter;
+
+/**
+ * Fases de una petición que se miden por separado. Su nombre es el que aparece en la cabecera Server-Timing.
+ */
+@Getter
+public enum Phase {
+    AUTH("auth", "Autenticación Basic (carga del usuario y hash de la contraseña)"),
+    READ("read", "Lectura del JSON de la petición"),
+    VALIDATION("validation", "Validación del DTO"),
+    REPOSITORY("repository", "Llamadas a los repositorios"),
+    MAPPER("mapper", "Conversión entre DTO y entidad"),
+    WRITE("write", "Escritura del JSON de la respuesta");
+
+    private final String metric;
+    private final String description;
+
+    Phase(String metric, String description) {
+        this.metric = metric;
+        this.description = description;
+    }
+}
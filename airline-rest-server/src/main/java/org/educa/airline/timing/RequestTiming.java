@@ -0,0 +1,152 @@
+package org.educa.airline.timing;
+
+import java.util.Locale;
+
+/**
+ * Tiempos de las fases de la petición que atiende el hilo actual. Los tiempos son exclusivos: si una fase
+ * empieza dentro de otra (por ejemplo, la consulta al repositorio de usuarios durante la autenticación),
+ * la de fuera se detiene hasta que termina la de dentro, de forma que la suma de las fases nunca supera
+ * el total de la petición. Solo la usa el hilo de la petición, por lo que no necesita sincronización.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long start = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private Phase active;
+    private long since;
+
+    private RequestTiming() {
+    }
+
+    /**
+     * Empieza a medir la petición del hilo actual.
+     *
+     * @return los tiempos de la petición.
+     */
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Tiempos de la petición del hilo actual.
+     *
+     * @return los tiempos o null si el hilo no está atendiendo una petición medida.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Deja de medir en el hilo actual.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Ejecuta un paso de la petición del hilo actual anotando su tiempo en la fase indicada. Si el hilo
+     * no está atendiendo una petición medida, solo ejecuta el paso.
+     *
+     * @param phase fase a la que pertenece el paso.
+     * @param step  paso a ejecutar.
+     * @param <T>   resultado del paso.
+     * @param <E>   excepción del paso.
+     * @return el resultado del paso.
+     * @throws E la excepción del paso.
+     */
+    public static <T, E extends Throwable> T time(Phase phase, Step<T, E> step) throws E {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return step.run();
+        }
+        Phase previous = timing.begin(phase);
+        try {
+            return step.run();
+        } finally {
+            timing.end(previous);
+        }
+    }
+
+    /**
+     * Empieza una fase y detiene la que estuviera activa.
+     *
+     * @param phase fase que empieza.
+     * @return la fase que estaba activa, que hay que pasar a end.
+     */
+    public Phase begin(Phase phase) {
+        long now = System.nanoTime();
+        Phase previous = this.active;
+        if (previous != null) {
+            this.nanos[previous.ordinal()] += now - this.since;
+        }
+        this.counts[phase.ordinal()]++;
+        this.active = phase;
+        this.since = now;
+        return previous;
+    }
+
+    /**
+     * Termina la fase activa y reanuda la anterior.
+     *
+     * @param previous fase devuelta por begin.
+     */
+    public void end(Phase previous) {
+        long now = System.nanoTime();
+        this.nanos[this.active.ordinal()] += now - this.since;
+        this.active = previous;
+        this.since = now;
+    }
+
+    /**
+     * Tiempo transcurrido desde el inicio de la petición.
+     *
+     * @return nanosegundos.
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - this.start;
+    }
+
+    /**
+     * Valor de la cabecera Server-Timing: la duración en milisegundos de cada fase que ha ocurrido, el resto
+     * del tiempo (app: filtros, controlador y servicios) y el total.
+     *
+     * @param totalNanos duración total de la petición.
+     * @return el valor de la cabecera.
+     */
+    public String toServerTiming(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        long phases = 0;
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            if (this.counts[i] > 0) {
+                phases += this.nanos[i];
+                header.append(String.format(Locale.ROOT, "%s;dur=%.3f;desc=\"%d\", ",
+                        phase.getMetric(), millis(this.nanos[i]), this.counts[i]));
+            }
+        }
+        header.append(String.format(Locale.ROOT, "app;dur=%.3f, total;dur=%.3f",
+                millis(Math.max(0, totalNanos - phases)), millis(totalNanos)));
+        return header.toString();
+    }
+
+    /**
+     * Paso de una petición que puede lanzar una excepción.
+     *
+     * @param <T> resultado del paso.
+     * @param <E> excepción del paso.
+     */
+    @FunctionalInterface
+    public interface Step<T, E extends Throwable> {
+        T run() throws E;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
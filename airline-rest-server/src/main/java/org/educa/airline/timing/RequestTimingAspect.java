@@ -0,0 +1,33 @@
+package org.educa.airline.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Anota en RequestTiming el tiempo de la autenticación, los repositorios y los mappers. Fuera de una
+ * petición medida (arranque, carga de datos, pila reactiva) solo comprueba el ThreadLocal y continúa.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "airline.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestTimingAspect {
+
+    @Around("execution(* org.educa.airline.services.inservice.UserService.loadUserByUsername(..))"
+            + " || execution(* org.educa.airline.services.inservice.SecurityService.matches(..))")
+    public Object auth(ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTiming.time(Phase.AUTH, joinPoint::proceed);
+    }
+
+    @Around("within(org.educa.airline.repository.inmemory..*) && execution(public * *(..)) && !execution(int size())")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTiming.time(Phase.REPOSITORY, joinPoint::proceed);
+    }
+
+    @Around("within(org.educa.airline.mappers..*) && execution(public * *(..))")
+    public Object mapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTiming.time(Phase.MAPPER, joinPoint::proceed);
+    }
+}
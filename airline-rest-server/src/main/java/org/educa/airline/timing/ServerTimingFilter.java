@@ -0,0 +1,149 @@
+package org.educa.airline.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.educa.airline.logging.LogSampler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las fases de cada petición (autenticación, lectura, validación, repositorios, mappers y escritura).
+ * Se ejecuta antes que la cadena de Spring Security para incluir la autenticación Basic.
+ * <ul>
+ *     <li>Si la petición trae la cabecera airline.timing.header (X-Server-Timing), la respuesta incluye
+ *     el desglose en la cabecera Server-Timing. Como la respuesta se envía al escribir el JSON, en estas
+ *     peticiones el cuerpo se guarda en memoria hasta añadir la cabecera. Las respuestas text/event-stream y
+ *     las asíncronas no se guardan: la cabecera lleva el tiempo hasta que empiezan a escribirse.</li>
+ *     <li>Las peticiones que tardan más de airline.timing.slow-ms se escriben en el log con su desglose,
+ *     muestreadas con la categoría timing.slow de LogSampler.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "airline.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    /**
+     * Clases a inyectar en el constructor.
+     */
+    private final LogSampler logSampler;
+    private final String header;
+    private final long slowNanos;
+
+    /**
+     * @param logSampler muestreo de las trazas de peticiones lentas.
+     * @param header     cabecera de la petición que activa Server-Timing en la respuesta.
+     * @param slowMillis a partir de cuántos milisegundos una petición es lenta.
+     */
+    @Autowired
+    public ServerTimingFilter(LogSampler logSampler,
+                              @Value("${airline.timing.header:X-Server-Timing}") String header,
+                              @Value("${airline.timing.slow-ms:500}") long slowMillis) {
+        this.logSampler = logSampler;
+        this.header = header;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean serverTiming = request.getHeader(this.header) != null;
+        RequestTiming timing = RequestTiming.start();
+        TimingResponse buffered = serverTiming ? new TimingResponse(response, timing) : null;
+        try {
+            filterChain.doFilter(request, serverTiming ? buffered : response);
+        } finally {
+            RequestTiming.clear();
+            long total = timing.elapsedNanos();
+            if (serverTiming) {
+                if (request.isAsyncStarted()) {
+                    // El resto de la respuesta se escribe después, desde otro hilo.
+                    buffered.stream();
+                } else if (!buffered.streaming) {
+                    buffered.setHeader(SERVER_TIMING, timing.toServerTiming(total));
+                    buffered.copyBodyToResponse();
+                }
+            }
+            if (total >= this.slowNanos && this.logSampler.sample("timing.slow")) {
+                log.warn("Petición lenta {} {} -> {}: {}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timing.toServerTiming(total));
+            }
+        }
+    }
+
+    /**
+     * Guarda el cuerpo en memoria hasta que se añade Server-Timing, salvo en las respuestas que se envían por
+     * partes (text/event-stream o asíncronas), que pasan a escribirse directamente en la respuesta.
+     */
+    private static final class TimingResponse extends ContentCachingResponseWrapper {
+
+        private final RequestTiming timing;
+        private boolean streaming;
+
+        private TimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return passThrough() ? stream().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return passThrough() ? stream().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (passThrough()) {
+                stream().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        private boolean passThrough() {
+            String contentType = getContentType();
+            return this.streaming || contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        }
+
+        /**
+         * Añade Server-Timing con el tiempo hasta ahora, envía lo que haya guardado y deja de guardar.
+         *
+         * @return la respuesta original, en la que se escribe a partir de ahora.
+         */
+        private HttpServletResponse stream() throws IOException {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (!this.streaming) {
+                this.streaming = true;
+                if (!response.isCommitted()) {
+                    response.setHeader(SERVER_TIMING, this.timing.toServerTiming(this.timing.elapsedNanos()));
+                }
+                copyBodyToResponse(false);
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.educa.airline.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON de Spring MVC que anota en RequestTiming el tiempo de leer el cuerpo de la petición
+ * y de escribir el de la respuesta.
+ */
+public class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * @param objectMapper el ObjectMapper configurado por Spring Boot.
+     */
+    public TimedJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return RequestTiming.time(Phase.READ, () -> super.read(type, contextClass, inputMessage));
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return RequestTiming.time(Phase.READ, () -> super.readInternal(clazz, inputMessage));
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestTiming.time(Phase.WRITE, () -> {
+            super.writeInternal(object, type, outputMessage);
+            return null;
+        });
+    }
+}
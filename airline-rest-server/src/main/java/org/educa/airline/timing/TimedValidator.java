@@ -0,0 +1,40 @@
+package org.educa.airline.timing;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Validador de los DTO de los controladores que anota el tiempo de la validación en RequestTiming.
+ */
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    /**
+     * @param delegate validador que hace la validación.
+     */
+    public TimedValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return this.delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        RequestTiming.time(Phase.VALIDATION, () -> {
+            this.delegate.validate(target, errors);
+            return null;
+        });
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        RequestTiming.time(Phase.VALIDATION, () -> {
+            this.delegate.validate(target, errors, validationHints);
+            return null;
+        });
+    }
+}
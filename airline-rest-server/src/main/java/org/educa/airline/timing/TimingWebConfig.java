@@ -0,0 +1,51 @@
+package org.educa.airline.timing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Sustituye el validador y el conversor JSON de Spring MVC por versiones que anotan su tiempo en RequestTiming.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "airline.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class TimingWebConfig implements WebMvcConfigurer {
+
+    /**
+     * Validador de Bean Validation creado por Spring Boot.
+     */
+    private final ObjectProvider<jakarta.validation.Validator> validator;
+
+    /**
+     * @param validator validador de Bean Validation creado por Spring Boot.
+     */
+    @Autowired
+    public TimingWebConfig(ObjectProvider<jakarta.validation.Validator> validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new TimedValidator(new SpringValidatorAdapter(this.validator.getObject()));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJacksonConverter)) {
+                converters.set(i, new TimedJacksonConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
+}
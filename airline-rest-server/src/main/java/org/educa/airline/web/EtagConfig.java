@@ -0,0 +1,34 @@
+package org.educa.airline.web;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Añade la cabecera ETag a las respuestas GET de vuelos y pasajeros, calculada a partir del cuerpo. Si la petición
+ * trae If-None-Match con el mismo valor, el servidor contesta 304 sin cuerpo y el cliente reutiliza la respuesta
+ * que ya tenía. El servidor sigue atendiendo la petición completa; lo que se ahorra es el envío y la lectura del cuerpo.
+ * Se desactiva con airline.etag.enabled=false.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "airline.etag.enabled", havingValue = "true", matchIfMissing = true)
+public class EtagConfig {
+
+    /**
+     * Registra el filtro de ETag para /flights y todo lo que cuelga de él.
+     *
+     * @return el registro del filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/flights", "/flights/*");
+        registration.setName("etagFilter");
+        return registration;
+    }
+}